@@ -0,0 +1,101 @@
+package com.promptquest.service;
+
+import com.promptquest.dto.QuestionView;
+import com.promptquest.entity.Question;
+import com.promptquest.repository.QuestionBulkWriter;
+import com.promptquest.synthetic.SyntheticQuestionBank;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Inserting a batch of questions into a SQLite file through QuestionBulkWriter,
+ * by JDBC batch size, against one insert and one id reservation per row.
+ * Each invocation runs in a transaction that is rolled back, so the table stays empty.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class BulkInsertBenchmark {
+
+    @Param({"10000"})
+    public int rows;
+
+    @Param({"1", "100", "1000"})
+    public int batchSize;
+
+    private Path database;
+    private SingleConnectionDataSource dataSource;
+    private TransactionTemplate transaction;
+    private QuestionBulkWriter writer;
+    private List<Question> questions;
+
+    @Setup
+    public void setUp() throws IOException {
+        database = Files.createTempFile("promptquest-bulk", ".db");
+        dataSource = new SingleConnectionDataSource("jdbc:sqlite:" + database, true);
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE questions (id BIGINT PRIMARY KEY, question TEXT NOT NULL, "
+                + "option_a VARCHAR(255) NOT NULL, option_b VARCHAR(255) NOT NULL, option_c VARCHAR(255) NOT NULL, "
+                + "option_d VARCHAR(255) NOT NULL, correct_answer VARCHAR(1) NOT NULL, explanation TEXT, "
+                + "difficulty INTEGER, area VARCHAR(255), skill VARCHAR(255), degree VARCHAR(255), "
+                + "skill_key VARCHAR(255), area_key VARCHAR(255), degree_key VARCHAR(255), "
+                + "identity_hash VARCHAR(32), content_hash VARCHAR(32))");
+        jdbcTemplate.execute("CREATE TABLE " + Question.ID_BLOCKS_TABLE + " (" + Question.ID_BLOCKS_NAME_COLUMN
+                + " VARCHAR(255) PRIMARY KEY, " + Question.ID_BLOCKS_VALUE_COLUMN + " BIGINT)");
+
+        Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+        writer = new QuestionBulkWriter(jdbcTemplate, validator, batchSize);
+        transaction = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+
+        questions = new ArrayList<>(rows);
+        for (QuestionView view : SyntheticQuestionBank.views(rows)) {
+            questions.add(new Question(view.question(), view.optionA(), view.optionB(), view.optionC(),
+                    view.optionD(), view.correctAnswer(), view.explanation(), view.difficulty(), view.area(),
+                    view.skill(), view.degree()));
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        dataSource.destroy();
+        Files.deleteIfExists(database);
+    }
+
+    @Benchmark
+    public void bulkInsert() {
+        transaction.executeWithoutResult(status -> {
+            writer.insert(questions);
+            status.setRollbackOnly();
+        });
+    }
+
+    @Benchmark
+    public void rowByRow() {
+        transaction.executeWithoutResult(status -> {
+            for (Question question : questions) {
+                writer.insert(List.of(question));
+            }
+            status.setRollbackOnly();
+        });
+    }
+}
@@ -0,0 +1,61 @@
+package com.promptquest.service;
+
+import com.promptquest.synthetic.SyntheticQuestionBank;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cold-start restore of the catalog: reading the snapshot file (mapping, checksum,
+ * decoding every question) and building the in-memory catalog from it
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class CatalogSnapshotBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int bankSize;
+
+    private Path path;
+    private CatalogSnapshotStore store;
+
+    @Setup
+    public void setUp() throws IOException {
+        path = Files.createTempFile("promptquest-snapshot", ".snapshot");
+        store = new CatalogSnapshotStore();
+        ReflectionTestUtils.setField(store, "enabled", true);
+        ReflectionTestUtils.setField(store, "path", path);
+        store.write(new QuestionCatalog.Snapshot(1, 1, UUID.randomUUID(), SyntheticQuestionBank.views(bankSize)));
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        store.shutdown();
+        Files.deleteIfExists(path);
+    }
+
+    @Benchmark
+    public CatalogSnapshotStore.Contents read() {
+        return store.read();
+    }
+
+    @Benchmark
+    public QuestionCatalog.Snapshot restore() {
+        CatalogSnapshotStore.Contents contents = store.read();
+        return new QuestionCatalog.Snapshot(2, contents.dataVersion(), contents.databaseId(), contents.questions());
+    }
+}
@@ -0,0 +1,55 @@
+package com.promptquest.service;
+
+import com.promptquest.dto.QuizResult;
+import com.promptquest.synthetic.SyntheticQuestionBank;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Grading of one /api/quiz/check submission against the catalog answer key.
+ * Sample time mode reports the latency percentiles (p0.99 etc.) per quiz length.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.AverageTime, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class GradingBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int bankSize;
+
+    @Param({"10", "50", "200"})
+    public int quizLength;
+
+    private QuestionCatalog.Snapshot catalog;
+    private GradingService gradingService;
+    private Map<String, String> answers;
+
+    @Setup
+    public void setUp() {
+        catalog = new QuestionCatalog.Snapshot(1, SyntheticQuestionBank.views(bankSize));
+        gradingService = new GradingService();
+
+        SplittableRandom random = new SplittableRandom(42);
+        answers = new HashMap<>();
+        while (answers.size() < quizLength) {
+            long id = 1 + random.nextInt(bankSize);
+            answers.put(String.valueOf(id), SyntheticQuestionBank.ANSWERS[random.nextInt(4)]);
+        }
+    }
+
+    @Benchmark
+    public QuizResult grade() {
+        return gradingService.grade(catalog, answers);
+    }
+}
@@ -0,0 +1,42 @@
+package com.promptquest.service;
+
+import com.promptquest.synthetic.SyntheticQuestionBank;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Streaming parse + convertJsonToQuestion of a whole import file (no database writes)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ImportBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int bankSize;
+
+    private byte[] json;
+    private QuestionJsonReader reader;
+
+    @Setup
+    public void setUp() {
+        json = SyntheticQuestionBank.json(bankSize);
+        reader = new QuestionJsonReader();
+    }
+
+    @Benchmark
+    public int parseAndConvert(Blackhole blackhole) throws IOException {
+        return reader.read(new ByteArrayInputStream(json), blackhole::consume);
+    }
+}
@@ -0,0 +1,82 @@
+package com.promptquest.service;
+
+import com.promptquest.dto.MultiFileImportReport;
+import com.promptquest.entity.Question;
+import com.promptquest.synthetic.SyntheticQuestionBank;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Scaling of the multi-file import with the number of parser threads: eight
+ * files of {@code questionsPerFile} questions each, parsed in parallel and
+ * handed to a writer that discards them, so the result is the parse and
+ * hand-over throughput without SQLite
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class MultiFileImportBenchmark {
+
+    private static final int FILES = 8;
+
+    @Param({"1", "2", "4", "8"})
+    public int parallelism;
+
+    @Param({"10000"})
+    public int questionsPerFile;
+
+    private Path directory;
+    private MultiFileImportService service;
+
+    @Setup
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("promptquest-multi-import");
+        byte[] json = SyntheticQuestionBank.json(questionsPerFile);
+        for (int i = 0; i < FILES; i++) {
+            Files.write(directory.resolve("bank-" + i + ".json"), json);
+        }
+
+        service = new MultiFileImportService(new DefaultResourceLoader());
+        ReflectionTestUtils.setField(service, "jsonImportService", new JsonImportService() {
+            @Override
+            public void saveBatch(List<Question> questions, boolean clearExisting) {
+            }
+        });
+        ReflectionTestUtils.setField(service, "eventPublisher", (ApplicationEventPublisher) event -> {
+        });
+        ReflectionTestUtils.setField(service, "commitSize", 5000);
+        ReflectionTestUtils.setField(service, "queueCapacity", 4);
+        ReflectionTestUtils.setField(service, "parallelism", parallelism);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        try (var files = Files.list(directory)) {
+            for (Path file : files.toList()) {
+                Files.deleteIfExists(file);
+            }
+        }
+        Files.deleteIfExists(directory);
+    }
+
+    @Benchmark
+    public MultiFileImportReport importFiles() throws IOException {
+        return service.importFiles(directory.toString(), false);
+    }
+}
@@ -0,0 +1,81 @@
+package com.promptquest.service;
+
+import com.promptquest.PromptQuestApplication;
+import com.promptquest.dto.QuestionView;
+import com.promptquest.entity.Question;
+import com.promptquest.repository.QuestionBulkWriter;
+import com.promptquest.repository.QuestionRepository;
+import com.promptquest.synthetic.SyntheticQuestionBank;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Loading every question from SQLite: the constructor-expression projection
+ * {@code findAllViews()} vs {@code findAll()} into managed entities mapped to
+ * the same records afterwards. Runs the application context against a
+ * temporary database; use {@code -prof gc} to compare allocation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ProjectionBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int bankSize;
+
+    private Path directory;
+    private ConfigurableApplicationContext context;
+    private QuestionRepository questionRepository;
+
+    @Setup
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("promptquest-projection");
+        context = new SpringApplicationBuilder(PromptQuestApplication.class).run(
+                "--server.port=0",
+                "--spring.datasource.url=jdbc:sqlite:" + directory.resolve("bench.db"),
+                "--promptquest.import.job-dir=" + directory.resolve("import-jobs"),
+                "--promptquest.auto-initialize=false",
+                "--promptquest.catalog-snapshot.enabled=false",
+                "--promptquest.attempts.enabled=false",
+                "--logging.level.root=WARN");
+        questionRepository = context.getBean(QuestionRepository.class);
+
+        List<Question> questions = SyntheticQuestionBank.views(bankSize).stream()
+                .map(q -> new Question(q.question(), q.optionA(), q.optionB(), q.optionC(), q.optionD(),
+                        q.correctAnswer(), q.explanation(), q.difficulty(), q.area(), q.skill(), q.degree()))
+                .toList();
+        context.getBean(QuestionBulkWriter.class).insert(questions);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        context.close();
+        FileSystemUtils.deleteRecursively(directory);
+    }
+
+    @Benchmark
+    public List<QuestionView> projection() {
+        return questionRepository.findAllViews();
+    }
+
+    @Benchmark
+    public List<QuestionView> entitiesMapped() {
+        return questionRepository.findAll().stream().map(QuestionView::from).toList();
+    }
+}
@@ -0,0 +1,179 @@
+package com.promptquest.service;
+
+import com.promptquest.dto.QuestionView;
+import com.promptquest.synthetic.SyntheticQuestionBank;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Reader throughput of indexed question lookups while an import keeps
+ * committing batches, in rollback-journal mode (the default datasource) and
+ * in WAL mode with the pragmas of the sqlite-ht profile. With importing=false
+ * the same readers run without a writer as a baseline.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(4)
+public class ReadDuringImportBenchmark {
+
+    private static final String INSERT_SQL = "INSERT INTO questions (id, question, correct_answer, skill_key, "
+            + "difficulty) VALUES (?, ?, ?, ?, ?)";
+
+    private static final String READ_SQL = "SELECT id, correct_answer FROM questions "
+            + "WHERE skill_key = ? AND difficulty = ? LIMIT 50";
+
+    @Param({"DELETE", "WAL"})
+    public String journalMode;
+
+    @Param({"false", "true"})
+    public boolean importing;
+
+    @Param({"1000"})
+    public int importBatchSize;
+
+    private Path directory;
+    private String url;
+    private List<QuestionView> bank;
+    private final AtomicLong nextId = new AtomicLong(1);
+    private volatile boolean running;
+    private Thread importer;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException, SQLException {
+        directory = Files.createTempDirectory("promptquest-read-import");
+        url = "jdbc:sqlite:" + directory.resolve("bench.db");
+        bank = SyntheticQuestionBank.views(10_000);
+
+        try (Connection connection = connect(); Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE questions (id BIGINT PRIMARY KEY, question TEXT NOT NULL, "
+                    + "correct_answer VARCHAR(1) NOT NULL, skill_key VARCHAR(255), difficulty INTEGER)");
+            statement.execute("CREATE INDEX idx_questions_skill_key_difficulty ON questions (skill_key, difficulty)");
+            insertBatch(connection, bank.size());
+        }
+
+        if (importing) {
+            running = true;
+            importer = new Thread(this::runImport, "benchmark-import");
+            importer.start();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException, InterruptedException {
+        running = false;
+        if (importer != null) {
+            importer.join();
+        }
+        try (var files = Files.list(directory)) {
+            for (Path file : files.toList()) {
+                Files.deleteIfExists(file);
+            }
+        }
+        Files.deleteIfExists(directory);
+    }
+
+    @State(Scope.Thread)
+    public static class Reader {
+
+        private Connection connection;
+        private PreparedStatement statement;
+        private int next;
+
+        @Setup(Level.Trial)
+        public void open(ReadDuringImportBenchmark benchmark) throws SQLException {
+            connection = benchmark.connect();
+            statement = connection.prepareStatement(READ_SQL);
+        }
+
+        @TearDown(Level.Trial)
+        public void close() throws SQLException {
+            statement.close();
+            connection.close();
+        }
+    }
+
+    @Benchmark
+    public long read(Reader reader) throws SQLException {
+        int i = reader.next++;
+        reader.statement.setString(1, SyntheticQuestionBank.SKILLS[i % SyntheticQuestionBank.SKILLS.length]);
+        reader.statement.setInt(2, 1 + i % 5);
+        long sum = 0;
+        try (ResultSet rs = reader.statement.executeQuery()) {
+            while (rs.next()) {
+                sum += rs.getLong(1);
+            }
+        }
+        return sum;
+    }
+
+    /**
+     * Commit batches of questions back to back, like a running import job
+     */
+    private void runImport() {
+        try (Connection connection = connect()) {
+            while (running) {
+                insertBatch(connection, importBatchSize);
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void insertBatch(Connection connection, int count) throws SQLException {
+        connection.setAutoCommit(false);
+        try (PreparedStatement insert = connection.prepareStatement(INSERT_SQL)) {
+            for (int i = 0; i < count; i++) {
+                long id = nextId.getAndIncrement();
+                QuestionView q = bank.get((int) (id % bank.size()));
+                insert.setLong(1, id);
+                insert.setString(2, q.question());
+                insert.setString(3, q.correctAnswer());
+                insert.setString(4, q.skill());
+                insert.setInt(5, q.difficulty());
+                insert.addBatch();
+            }
+            insert.executeBatch();
+            connection.commit();
+        } finally {
+            connection.setAutoCommit(true);
+        }
+    }
+
+    private Connection connect() throws SQLException {
+        // Connection pragmas as set by SqliteHighThroughputConfig (journal mode per parameter)
+        Properties properties = new Properties();
+        properties.setProperty("journal_mode", journalMode);
+        properties.setProperty("busy_timeout", "5000");
+        if ("WAL".equals(journalMode)) {
+            properties.setProperty("synchronous", "NORMAL");
+            properties.setProperty("cache_size", "-65536");
+            properties.setProperty("mmap_size", "268435456");
+            properties.setProperty("temp_store", "MEMORY");
+        }
+        return DriverManager.getConnection(url, properties);
+    }
+}
@@ -0,0 +1,59 @@
+package com.promptquest.service;
+
+import com.promptquest.dto.QuestionView;
+import com.promptquest.synthetic.SyntheticQuestionBank;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Random question selection: bucketed Floyd sampling vs the former copy-and-shuffle of the whole bank
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SamplingBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int bankSize;
+
+    @Param({"10", "50", "200"})
+    public int quizLength;
+
+    private List<QuestionView> questions;
+    private QuestionSampler sampler;
+
+    @Setup
+    public void setUp() {
+        questions = SyntheticQuestionBank.views(bankSize);
+        sampler = QuestionSampler.build(questions);
+    }
+
+    @Benchmark
+    public int[] sampleAll() {
+        return sampler.sample(null, null, null, quizLength, ThreadLocalRandom.current());
+    }
+
+    @Benchmark
+    public int[] sampleBySkillAndDegree() {
+        return sampler.sample("java", null, "senior", quizLength, ThreadLocalRandom.current());
+    }
+
+    @Benchmark
+    public List<QuestionView> copyAndShuffle() {
+        List<QuestionView> copy = new ArrayList<>(questions);
+        Collections.shuffle(copy, ThreadLocalRandom.current());
+        return copy.subList(0, Math.min(quizLength, copy.size()));
+    }
+}
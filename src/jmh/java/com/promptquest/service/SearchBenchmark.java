@@ -0,0 +1,97 @@
+package com.promptquest.service;
+
+import com.promptquest.dto.QuestionSearchHit;
+import com.promptquest.dto.QuestionView;
+import com.promptquest.repository.QuestionSearchRepository;
+import com.promptquest.synthetic.SyntheticQuestionBank;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * First page (20 hits) of a full-text search through {@link QuestionSearchRepository},
+ * for a selective query, a query matching every question and a prefix query,
+ * with and without a skill filter
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SearchBenchmark {
+
+    @Param({"10000", "100000"})
+    public int bankSize;
+
+    @Param({"topic 42", "synthetic documentation", "behav*"})
+    public String query;
+
+    @Param({"false", "true"})
+    public boolean filtered;
+
+    private Path directory;
+    private SingleConnectionDataSource dataSource;
+    private QuestionSearchRepository repository;
+    private String matchExpression;
+
+    @Setup
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("promptquest-search");
+        dataSource = new SingleConnectionDataSource("jdbc:sqlite:" + directory.resolve("bench.db"), true);
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE questions (id BIGINT PRIMARY KEY, question TEXT NOT NULL, "
+                + "option_a TEXT, option_b TEXT, option_c TEXT, option_d TEXT, correct_answer VARCHAR(1), "
+                + "explanation TEXT, difficulty INTEGER, area VARCHAR(255), skill VARCHAR(255), degree VARCHAR(255), "
+                + "skill_key VARCHAR(255), degree_key VARCHAR(255))");
+        List<QuestionView> bank = SyntheticQuestionBank.views(bankSize);
+        jdbcTemplate.batchUpdate("INSERT INTO questions VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", bank, 1000,
+                (ps, q) -> {
+                    ps.setLong(1, q.id());
+                    ps.setString(2, q.question());
+                    ps.setString(3, q.optionA());
+                    ps.setString(4, q.optionB());
+                    ps.setString(5, q.optionC());
+                    ps.setString(6, q.optionD());
+                    ps.setString(7, q.correctAnswer());
+                    ps.setString(8, q.explanation());
+                    ps.setInt(9, q.difficulty());
+                    ps.setString(10, q.area());
+                    ps.setString(11, q.skill());
+                    ps.setString(12, q.degree());
+                    ps.setString(13, QuestionSampler.normalize(q.skill()));
+                    ps.setString(14, QuestionSampler.normalize(q.degree()));
+                });
+
+        repository = new QuestionSearchRepository(jdbcTemplate);
+        repository.createIndex();
+        matchExpression = QuestionSearchService.toMatchExpression(query);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        dataSource.destroy();
+        try (var files = Files.list(directory)) {
+            for (Path file : files.toList()) {
+                Files.deleteIfExists(file);
+            }
+        }
+        Files.deleteIfExists(directory);
+    }
+
+    @Benchmark
+    public List<QuestionSearchHit> search() {
+        return repository.search(matchExpression, filtered ? "java" : null, null, null, 21, 0);
+    }
+}
@@ -0,0 +1,74 @@
+package com.promptquest.service;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.promptquest.dto.QuestionView;
+import com.promptquest.synthetic.SyntheticQuestionBank;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON serialization of the question listing: immutable records vs the former
+ * per-question HashMap copies. Run with {@code -prof gc} to compare allocation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class SerializationBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int bankSize;
+
+    private List<QuestionView> questions;
+    private ObjectMapper objectMapper;
+
+    @Setup
+    public void setUp() {
+        questions = SyntheticQuestionBank.views(bankSize);
+        // Same settings as application.properties
+        objectMapper = new ObjectMapper()
+                .setPropertyNamingStrategy(PropertyNamingStrategies.SNAKE_CASE)
+                .setSerializationInclusion(JsonInclude.Include.NON_NULL);
+    }
+
+    @Benchmark
+    public byte[] records() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(questions);
+    }
+
+    @Benchmark
+    public byte[] hashMaps() throws JsonProcessingException {
+        List<Map<String, Object>> result = new ArrayList<>(questions.size());
+        for (QuestionView q : questions) {
+            Map<String, Object> questionData = new HashMap<>();
+            questionData.put("id", q.id());
+            questionData.put("question", q.question());
+            questionData.put("optionA", q.optionA());
+            questionData.put("optionB", q.optionB());
+            questionData.put("optionC", q.optionC());
+            questionData.put("optionD", q.optionD());
+            questionData.put("correctAnswer", q.correctAnswer());
+            questionData.put("explanation", q.explanation());
+            questionData.put("area", q.area());
+            questionData.put("skill", q.skill());
+            questionData.put("difficulty", q.difficulty());
+            questionData.put("degree", q.degree());
+            result.add(questionData);
+        }
+        return objectMapper.writeValueAsBytes(result);
+    }
+}
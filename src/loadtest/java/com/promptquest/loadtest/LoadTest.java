@@ -0,0 +1,373 @@
+package com.promptquest.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.promptquest.PromptQuestApplication;
+import com.promptquest.synthetic.SyntheticQuestionBank;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import javax.sql.DataSource;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * End-to-end load test against an embedded PromptQuest instance.
+ *
+ * Boots the application on a random port with a temporary SQLite file
+ * (and snapshot and job directory, checked before anything is written),
+ * seeds it with synthetic questions and then runs a fixed number of virtual
+ * users through the exam flow (index.html, question listing, a burst of
+ * answer submissions) while an admin user periodically imports more
+ * questions. Latencies are recorded per request type during the measurement
+ * window and written as a histogram report.
+ *
+ * Options are passed as {@code --name=value}; anything not listed below is
+ * handed to Spring Boot (e.g. {@code --spring.profiles.active=sqlite-ht}).
+ * <pre>
+ *   --users=50            concurrent exam users
+ *   --warmup=10s          run time before measuring
+ *   --duration=60s        measured run time
+ *   --bank-size=2000      questions imported before the run
+ *   --checks=5            /api/quiz/check submissions per exam
+ *   --answers=20          answers per submission
+ *   --import-interval=10s pause between admin imports (0 disables them)
+ *   --import-size=500     questions per admin import
+ *   --think-time=0ms      pause between requests of one user
+ *   --report-dir=target/loadtest
+ * </pre>
+ */
+public class LoadTest {
+
+    static final String INDEX = "GET /index.html";
+    static final String QUESTIONS = "GET /api/quiz/questions";
+    static final String CHECK = "POST /api/quiz/check";
+    static final String IMPORT = "POST /api/admin/import-json";
+
+    private static final List<String> OPTION_NAMES = List.of("users", "warmup", "duration", "bank-size", "checks",
+            "answers", "import-interval", "import-size", "think-time", "report-dir");
+
+    private final Map<String, String> options;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient client = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    private final Map<String, LatencyHistogram> histograms = new LinkedHashMap<>();
+    private final AtomicLong completedExams = new AtomicLong();
+
+    private volatile boolean measuring;
+    private volatile boolean running = true;
+    private String baseUrl;
+
+    LoadTest(Map<String, String> options) {
+        this.options = options;
+        for (String name : List.of(INDEX, QUESTIONS, CHECK, IMPORT)) {
+            histograms.put(name, new LatencyHistogram());
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        List<String> springArgs = new ArrayList<>();
+        for (String arg : args) {
+            String name = arg.startsWith("--") && arg.contains("=") ? arg.substring(2, arg.indexOf('=')) : null;
+            if (name != null && OPTION_NAMES.contains(name)) {
+                options.put(name, arg.substring(arg.indexOf('=') + 1));
+            } else {
+                springArgs.add(arg);
+            }
+        }
+        new LoadTest(options).run(springArgs.toArray(new String[0]));
+    }
+
+    void run(String[] springArgs) throws Exception {
+        Path workDir = Files.createTempDirectory("promptquest-loadtest");
+        String databaseUrl = "jdbc:sqlite:" + workDir.resolve("loadtest.db").toAbsolutePath();
+
+        // Passed as command line arguments: default properties (SpringApplicationBuilder.properties)
+        // rank below application.properties and would leave the real database, port and snapshot in place
+        Map<String, String> properties = new LinkedHashMap<>();
+        properties.put("server.port", "0");
+        properties.put("spring.datasource.url", databaseUrl);
+        properties.put("promptquest.catalog-snapshot.path", workDir.resolve("catalog.snapshot").toAbsolutePath().toString());
+        properties.put("promptquest.import.job-dir", workDir.resolve("import-jobs").toAbsolutePath().toString());
+        properties.put("promptquest.auto-initialize", "false");
+        properties.put("spring.jpa.show-sql", "false");
+        properties.put("logging.level.com.promptquest", "INFO");
+        properties.put("logging.level.org.hibernate.SQL", "WARN");
+        properties.put("logging.level.org.hibernate.orm.jdbc.bind", "WARN");
+        List<String> args = new ArrayList<>();
+        properties.forEach((name, value) -> {
+            if (!hasArgument(springArgs, name)) {
+                args.add("--" + name + "=" + value);
+            }
+        });
+        args.addAll(List.of(springArgs));
+
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(PromptQuestApplication.class)
+                .run(args.toArray(new String[0]));
+
+        try {
+            String actualUrl;
+            try (Connection connection = context.getBean(DataSource.class).getConnection()) {
+                actualUrl = connection.getMetaData().getURL();
+            }
+            if (!hasArgument(springArgs, "spring.datasource.url") && !databaseUrl.equals(actualUrl)) {
+                throw new IllegalStateException("Embedded instance uses " + actualUrl + " instead of " + databaseUrl);
+            }
+
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            baseUrl = "http://localhost:" + port;
+
+            int bankSize = intOption("bank-size", 2000);
+            importQuestions(SyntheticQuestionBank.json(bankSize, 0), false);
+            System.out.printf("Embedded instance on port %d seeded with %d questions (%s)%n", port, bankSize, actualUrl);
+
+            runScenario(context);
+        } finally {
+            context.close();
+            deleteRecursively(workDir);
+        }
+    }
+
+    private static boolean hasArgument(String[] args, String name) {
+        for (String arg : args) {
+            if (arg.startsWith("--" + name + "=")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void deleteRecursively(Path directory) throws IOException {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+
+    private void runScenario(ConfigurableApplicationContext context) throws Exception {
+        int users = intOption("users", 50);
+        Duration warmup = durationOption("warmup", Duration.ofSeconds(10));
+        Duration duration = durationOption("duration", Duration.ofSeconds(60));
+        Duration importInterval = durationOption("import-interval", Duration.ofSeconds(10));
+
+        ExecutorService executor = Executors.newFixedThreadPool(users + 1);
+        for (int i = 0; i < users; i++) {
+            long seed = i;
+            executor.submit(() -> examUser(seed));
+        }
+        if (!importInterval.isZero()) {
+            executor.submit(() -> adminUser(importInterval));
+        }
+
+        System.out.printf("Running %d users: %s warmup, %s measured%n", users, warmup, duration);
+        Thread.sleep(warmup.toMillis());
+        measuring = true;
+        long start = System.nanoTime();
+        Thread.sleep(duration.toMillis());
+        measuring = false;
+        double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+
+        running = false;
+        executor.shutdown();
+        if (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
+            executor.shutdownNow();
+        }
+
+        Map<String, Object> settings = new LinkedHashMap<>();
+        settings.put("users", users);
+        settings.put("warmup", warmup.toString());
+        settings.put("duration", duration.toString());
+        settings.put("bankSize", intOption("bank-size", 2000));
+        settings.put("checksPerExam", intOption("checks", 5));
+        settings.put("answersPerCheck", intOption("answers", 20));
+        settings.put("importInterval", importInterval.toString());
+        settings.put("importSize", intOption("import-size", 500));
+        settings.put("profiles", String.join(",", context.getEnvironment().getActiveProfiles()));
+
+        LoadTestReport report = new LoadTestReport(settings, histograms, completedExams.get(), elapsedSeconds);
+        System.out.println(report.toText());
+        Path reportFile = report.write(Path.of(options.getOrDefault("report-dir", "target/loadtest")));
+        System.out.println("Report written to " + reportFile.toAbsolutePath());
+    }
+
+    /**
+     * Exam flow: load the page, fetch the questions, then submit answers repeatedly
+     */
+    private void examUser(long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        int checks = intOption("checks", 5);
+        int answersPerCheck = intOption("answers", 20);
+        long thinkTime = durationOption("think-time", Duration.ZERO).toMillis();
+
+        while (running) {
+            try {
+                send(INDEX, HttpRequest.newBuilder(uri("/index.html")).GET());
+                pause(thinkTime);
+
+                HttpResponse<byte[]> listing = send(QUESTIONS, HttpRequest.newBuilder(uri("/api/quiz/questions")).GET());
+                List<Long> ids = listing != null ? questionIds(listing.body()) : List.of();
+                if (ids.isEmpty()) {
+                    // Failed listing: back off briefly instead of spinning
+                    pause(100);
+                    continue;
+                }
+
+                for (int c = 0; c < checks && running; c++) {
+                    pause(thinkTime);
+                    Map<String, String> answers = new HashMap<>();
+                    for (int a = 0; a < answersPerCheck; a++) {
+                        answers.put(String.valueOf(ids.get(random.nextInt(ids.size()))),
+                                String.valueOf((char) ('A' + random.nextInt(4))));
+                    }
+                    send(CHECK, HttpRequest.newBuilder(uri("/api/quiz/check"))
+                            .header("Content-Type", "application/json")
+                            .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(answers))));
+                }
+                if (measuring) {
+                    completedExams.incrementAndGet();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (IOException e) {
+                // Counted by send(); keep the user going
+            }
+        }
+    }
+
+    /**
+     * Admin flow: multipart imports of fresh synthetic questions at a fixed interval
+     */
+    private void adminUser(Duration interval) {
+        int importSize = intOption("import-size", 500);
+        long batch = 1;
+        while (running) {
+            try {
+                pause(interval.toMillis());
+                if (running) {
+                    importQuestions(SyntheticQuestionBank.json(importSize, batch++), true);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (IOException e) {
+                // Counted by send()
+            }
+        }
+    }
+
+    private void importQuestions(byte[] json, boolean record) throws IOException, InterruptedException {
+        String boundary = "----promptquest-loadtest-" + System.nanoTime();
+        byte[] head = ("--" + boundary + "\r\n"
+                + "Content-Disposition: form-data; name=\"file\"; filename=\"loadtest.json\"\r\n"
+                + "Content-Type: application/json\r\n\r\n").getBytes();
+        byte[] tail = ("\r\n--" + boundary + "--\r\n").getBytes();
+
+        HttpRequest.Builder request = HttpRequest.newBuilder(uri("/api/admin/import-json"))
+                .header("Content-Type", "multipart/form-data; boundary=" + boundary)
+                .POST(HttpRequest.BodyPublishers.ofByteArrays(List.of(head, json, tail)));
+        if (record) {
+            send(IMPORT, request);
+        } else {
+            HttpResponse<byte[]> response = client.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException("Seeding import failed: HTTP " + response.statusCode());
+            }
+        }
+    }
+
+    /**
+     * Send a request and record its latency (or an error) while measuring
+     */
+    private HttpResponse<byte[]> send(String name, HttpRequest.Builder request) throws IOException, InterruptedException {
+        LatencyHistogram histogram = histograms.get(name);
+        boolean record = measuring;
+        long start = System.nanoTime();
+        try {
+            HttpResponse<byte[]> response = client.send(request.timeout(Duration.ofSeconds(30)).build(),
+                    HttpResponse.BodyHandlers.ofByteArray());
+            if (record) {
+                if (response.statusCode() >= 400) {
+                    histogram.recordError();
+                } else {
+                    histogram.record((System.nanoTime() - start) / 1000);
+                }
+            }
+            return response.statusCode() < 400 ? response : null;
+        } catch (IOException e) {
+            if (record) {
+                histogram.recordError();
+            }
+            throw e;
+        }
+    }
+
+    private List<Long> questionIds(byte[] body) throws IOException {
+        JsonNode root = objectMapper.readTree(body);
+        List<Long> ids = new ArrayList<>(root.size());
+        for (JsonNode question : root) {
+            ids.add(question.path("id").asLong());
+        }
+        return ids;
+    }
+
+    private URI uri(String path) {
+        return URI.create(baseUrl + path);
+    }
+
+    private static void pause(long millis) throws InterruptedException {
+        if (millis > 0) {
+            Thread.sleep(millis);
+        }
+    }
+
+    private int intOption(String name, int defaultValue) {
+        String value = options.get(name);
+        return value != null ? Integer.parseInt(value) : defaultValue;
+    }
+
+    /**
+     * Durations as plain seconds or with an ms/s/m suffix
+     */
+    private Duration durationOption(String name, Duration defaultValue) {
+        String value = options.get(name);
+        if (value == null) {
+            return defaultValue;
+        }
+        if (value.endsWith("ms")) {
+            return Duration.ofMillis(Long.parseLong(value.substring(0, value.length() - 2)));
+        }
+        if (value.endsWith("m")) {
+            return Duration.ofMinutes(Long.parseLong(value.substring(0, value.length() - 1)));
+        }
+        if (value.endsWith("s")) {
+            value = value.substring(0, value.length() - 1);
+        }
+        return Duration.ofSeconds(Long.parseLong(value));
+    }
+}
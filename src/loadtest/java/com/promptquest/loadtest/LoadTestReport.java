@@ -0,0 +1,93 @@
+package com.promptquest.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Summary and latency histograms of one load test run, as text and JSON
+ */
+class LoadTestReport {
+
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+
+    private final Map<String, Object> settings;
+    private final Map<String, LatencyHistogram> histograms;
+    private final long completedExams;
+    private final double elapsedSeconds;
+
+    LoadTestReport(Map<String, Object> settings, Map<String, LatencyHistogram> histograms,
+                   long completedExams, double elapsedSeconds) {
+        this.settings = settings;
+        this.histograms = histograms;
+        this.completedExams = completedExams;
+        this.elapsedSeconds = elapsedSeconds;
+    }
+
+    String toText() {
+        StringBuilder text = new StringBuilder();
+        text.append(String.format("%n%-28s %9s %7s %9s %9s %9s %9s %9s %9s%n",
+                "request", "count", "errors", "req/s", "mean ms", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms"));
+        long totalRequests = 0;
+        for (Map.Entry<String, LatencyHistogram> entry : histograms.entrySet()) {
+            LatencyHistogram histogram = entry.getValue();
+            totalRequests += histogram.count();
+            text.append(String.format("%-28s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                    entry.getKey(), histogram.count(), histogram.errors(), histogram.count() / elapsedSeconds,
+                    histogram.mean() / 1000, millis(histogram, 50), millis(histogram, 90),
+                    millis(histogram, 99), millis(histogram, 99.9)));
+        }
+        text.append(String.format("%ntotal: %.1f req/s, %d completed exams (%.1f/s) over %.1f s%n",
+                totalRequests / elapsedSeconds, completedExams, completedExams / elapsedSeconds, elapsedSeconds));
+        return text.toString();
+    }
+
+    /**
+     * Write the JSON report into the given directory and return its path
+     */
+    Path write(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        Path file = directory.resolve("loadtest-"
+                + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")) + ".json");
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file.toFile(), toMap());
+        return file;
+    }
+
+    private Map<String, Object> toMap() {
+        Map<String, Object> requests = new LinkedHashMap<>();
+        for (Map.Entry<String, LatencyHistogram> entry : histograms.entrySet()) {
+            LatencyHistogram histogram = entry.getValue();
+            Map<String, Object> percentiles = new LinkedHashMap<>();
+            for (double percentile : PERCENTILES) {
+                percentiles.put("p" + percentile, histogram.percentile(percentile));
+            }
+
+            Map<String, Object> data = new LinkedHashMap<>();
+            data.put("count", histogram.count());
+            data.put("errors", histogram.errors());
+            data.put("requestsPerSecond", histogram.count() / elapsedSeconds);
+            data.put("meanMicros", histogram.mean());
+            data.put("percentileMicros", percentiles);
+            data.put("histogramMicros", histogram.buckets());
+            requests.put(entry.getKey(), data);
+        }
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("settings", settings);
+        report.put("elapsedSeconds", elapsedSeconds);
+        report.put("completedExams", completedExams);
+        report.put("requests", requests);
+        return report;
+    }
+
+    private static double millis(LatencyHistogram histogram, double percentile) {
+        return histogram.percentile(percentile) / 1000.0;
+    }
+}
@@ -1,6 +1,12 @@
 package com.promptquest.config;
 
+import com.promptquest.repository.QuestionBulkWriter;
+import com.promptquest.service.AttemptLogService;
+import com.promptquest.service.CatalogSnapshotStore;
 import com.promptquest.service.JsonImportService;
+import com.promptquest.service.MultiFileImportService;
+import com.promptquest.service.QuestionCatalog;
+import com.promptquest.service.QuestionSearchService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -10,6 +16,8 @@ import org.springframework.boot.ApplicationRunner;
 import org.springframework.stereotype.Component;
 
 import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
 
 /**
  * Database initialization component that runs on application startup.
@@ -23,6 +31,24 @@ public class DatabaseInitializer implements ApplicationRunner {
     @Autowired
     private JsonImportService jsonImportService;
 
+    @Autowired
+    private MultiFileImportService multiFileImportService;
+
+    @Autowired
+    private QuestionBulkWriter questionBulkWriter;
+
+    @Autowired
+    private QuestionSearchService questionSearchService;
+
+    @Autowired
+    private AttemptLogService attemptLogService;
+
+    @Autowired
+    private QuestionCatalog questionCatalog;
+
+    @Autowired
+    private CatalogSnapshotStore catalogSnapshotStore;
+
     @Value("${promptquest.auto-initialize:true}")
     private boolean autoInitialize;
 
@@ -34,11 +60,42 @@ public class DatabaseInitializer implements ApplicationRunner {
 
     @Override
     public void run(ApplicationArguments args) throws Exception {
+        // Schema maintenance runs regardless of auto-initialization
+        try {
+            questionBulkWriter.synchronizeIdBlocks();
+            jsonImportService.backfillLookupKeys();
+        } catch (Exception e) {
+            logger.warn("Could not backfill question lookup keys: {}", e.getMessage());
+        }
+
+        // Search index triggers must exist before the initial import writes any rows
+        questionSearchService.initialize();
+
+        try {
+            attemptLogService.loadStatistics();
+        } catch (Exception e) {
+            logger.warn("Could not load answer statistics: {}", e.getMessage());
+        }
+
+        // A current catalog snapshot serves reads right away, without loading the questions from SQLite
+        boolean restored = false;
+        try {
+            restored = questionCatalog.restoreSnapshot();
+        } catch (Exception e) {
+            logger.warn("Could not restore question catalog snapshot: {}", e.getMessage());
+        }
+
         if (!autoInitialize) {
             logger.info("Database auto-initialization is disabled");
             return;
         }
 
+        // The JSON import is only needed when the snapshot is stale or the source changed after it was taken
+        if (restored && !isSourceNewerThanSnapshot()) {
+            logger.info("Catalog snapshot is current, skipping JSON import of {}", jsonFilePath);
+            return;
+        }
+
         logger.info("Starting database initialization...");
 
         try {
@@ -70,7 +127,19 @@ public class DatabaseInitializer implements ApplicationRunner {
             File jsonFile = new File(jsonFilePath.replace("file:", ""));
             int questionsImported = 0;
 
-            if (!jsonFile.exists()) {
+            if (multiFileImportService.isMultiFileLocation(jsonFilePath)) {
+                // Directory or pattern: import all matching files in parallel
+                logger.info("Loading JSON files from: {}", jsonFilePath);
+                try {
+                    var report = multiFileImportService.importFiles(jsonFilePath, false);
+                    questionsImported = (int) report.written();
+                    if (report.failedFiles() > 0) {
+                        logger.warn("{} of {} files could not be imported completely", report.failedFiles(), report.files());
+                    }
+                } catch (IllegalArgumentException e) {
+                    logger.info("{}. Database will be created empty.", e.getMessage());
+                }
+            } else if (!jsonFile.exists()) {
                 logger.info("JSON file not found at: {} (absolute: {})", jsonFilePath, jsonFile.getAbsolutePath());
                 logger.info("No initial data will be imported. Database will be created empty.");
                 logger.info("You can import questions later using the admin panel at /admin.html");
@@ -115,4 +184,15 @@ public class DatabaseInitializer implements ApplicationRunner {
             // Just log the error and continue
         }
     }
+
+    private boolean isSourceNewerThanSnapshot() {
+        try {
+            long sourceModified = multiFileImportService.isMultiFileLocation(jsonFilePath)
+                    ? multiFileImportService.lastModified(jsonFilePath)
+                    : new File(jsonFilePath.replace("file:", "")).lastModified();
+            return sourceModified > Files.getLastModifiedTime(catalogSnapshotStore.getPath()).toMillis();
+        } catch (IOException e) {
+            return true;
+        }
+    }
 }
\ No newline at end of file
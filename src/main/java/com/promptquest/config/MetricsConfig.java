@@ -0,0 +1,101 @@
+package com.promptquest.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.promptquest.metrics.ServerTiming;
+import com.promptquest.metrics.ServerTimingFilter;
+import com.promptquest.metrics.ServerTimingJacksonConverter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+
+/**
+ * Metrics and per-request timing.
+ *
+ * Spring Boot Actuator already times every HTTP endpoint
+ * ({@code http.server.requests}), every repository method
+ * ({@code spring.data.repository.invocations}) and the Hikari pools; the
+ * service-level timers live in the services themselves. This configuration
+ * adds the {@code Server-Timing} header and gauges for the virtual-thread
+ * database access limiter.
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "promptquest.server-timing.enabled", havingValue = "true", matchIfMissing = true)
+    public FilterRegistrationBean<ServerTimingFilter> serverTimingFilter() {
+        FilterRegistrationBean<ServerTimingFilter> registration = new FilterRegistrationBean<>(new ServerTimingFilter());
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+
+    /**
+     * JSON converter that reports serialization time (Spring Boot backs off its own)
+     */
+    @Bean
+    public MappingJackson2HttpMessageConverter mappingJackson2HttpMessageConverter(
+            ObjectMapper objectMapper,
+            @Value("${promptquest.server-timing.buffer-limit:65536}") int bufferLimit) {
+        return new ServerTimingJacksonConverter(objectMapper, bufferLimit);
+    }
+
+    /**
+     * Time repository and JdbcTemplate calls for the "db" entry of the Server-Timing header.
+     * The JDBC-based repositories (search, bulk writer, attempt log, catalog state) all go
+     * through the shared JdbcTemplate, which is proxied with the same interceptor.
+     */
+    @Bean
+    public static BeanPostProcessor databaseServerTiming() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+                    factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+                            (proxyFactory, repositoryInformation) ->
+                                    proxyFactory.addAdvice(ServerTiming.databaseInterceptor())));
+                }
+                return bean;
+            }
+
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof JdbcTemplate) {
+                    ProxyFactory proxyFactory = new ProxyFactory(bean);
+                    proxyFactory.setProxyTargetClass(true);
+                    proxyFactory.addAdvice(ServerTiming.databaseInterceptor());
+                    return proxyFactory.getProxy();
+                }
+                return bean;
+            }
+        };
+    }
+
+    /**
+     * Saturation of the database access limiter used in virtual-thread mode
+     */
+    @Bean
+    public MeterBinder databaseAccessMetrics(DataSource dataSource) {
+        return registry -> {
+            if (dataSource instanceof ConcurrencyLimitedDataSource limited) {
+                Gauge.builder("promptquest.db.access.available", limited, ConcurrencyLimitedDataSource::getAvailablePermits)
+                        .description("Free database access permits")
+                        .register(registry);
+                Gauge.builder("promptquest.db.access.waiting", limited, ConcurrencyLimitedDataSource::getQueueLength)
+                        .description("Threads waiting for database access")
+                        .register(registry);
+            }
+        };
+    }
+}
@@ -0,0 +1,112 @@
+package com.promptquest.config;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * "SQLite high-throughput" profile (activate with {@code --spring.profiles.active=sqlite-ht}).
+ *
+ * Opens the database in WAL mode with tuned pragmas and splits connections
+ * into two pools: a multi-connection read pool used by read-only
+ * transactions (all Spring Data finders) and a single-connection write pool
+ * for everything else. With WAL, readers keep working while an import holds
+ * the write lock, and funnelling writes through one connection avoids
+ * SQLITE_BUSY between concurrent writers.
+ */
+@Configuration
+@Profile("sqlite-ht")
+public class SqliteHighThroughputConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(SqliteHighThroughputConfig.class);
+
+    private static final String READ = "read";
+    private static final String WRITE = "write";
+
+    @Value("${spring.datasource.url}")
+    private String url;
+
+    @Value("${promptquest.sqlite.read-pool-size:8}")
+    private int readPoolSize;
+
+    @Value("${promptquest.sqlite.synchronous:NORMAL}")
+    private String synchronous;
+
+    @Value("${promptquest.sqlite.cache-size:-65536}")
+    private int cacheSize;
+
+    @Value("${promptquest.sqlite.mmap-size:268435456}")
+    private long mmapSize;
+
+    @Value("${promptquest.sqlite.busy-timeout:5000}")
+    private int busyTimeout;
+
+    @Bean
+    public HikariDataSource sqliteReadPool() {
+        HikariConfig config = baseConfig("sqlite-read", readPoolSize);
+        // Reject writes on reader connections at the SQLite level
+        config.setConnectionInitSql("PRAGMA query_only = true");
+        return new HikariDataSource(config);
+    }
+
+    @Bean
+    public HikariDataSource sqliteWritePool() {
+        return new HikariDataSource(baseConfig("sqlite-write", 1));
+    }
+
+    /**
+     * Routes each transaction to the read or write pool. The lazy proxy defers
+     * fetching the physical connection until the first statement, by which
+     * time the transaction's read-only flag is known.
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("sqliteReadPool") DataSource readPool,
+                                 @Qualifier("sqliteWritePool") DataSource writePool) {
+        AbstractRoutingDataSource routing = new AbstractRoutingDataSource() {
+            @Override
+            protected Object determineCurrentLookupKey() {
+                return TransactionSynchronizationManager.isCurrentTransactionReadOnly() ? READ : WRITE;
+            }
+        };
+        routing.setTargetDataSources(Map.of(READ, readPool, WRITE, writePool));
+        routing.setDefaultTargetDataSource(writePool);
+        routing.afterPropertiesSet();
+
+        logger.info("SQLite high-throughput profile: WAL, synchronous={}, {} reader connection(s), 1 writer connection",
+                synchronous, readPoolSize);
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+
+    private HikariConfig baseConfig(String poolName, int poolSize) {
+        HikariConfig config = new HikariConfig();
+        config.setPoolName(poolName);
+        config.setJdbcUrl(url);
+        config.setDriverClassName("org.sqlite.JDBC");
+        config.setMaximumPoolSize(poolSize);
+        config.setMinimumIdle(1);
+        config.setConnectionTimeout(busyTimeout + 5000L);
+
+        // Connection pragmas understood by the sqlite-jdbc driver
+        config.addDataSourceProperty("journal_mode", "WAL");
+        config.addDataSourceProperty("synchronous", synchronous);
+        config.addDataSourceProperty("cache_size", String.valueOf(cacheSize));
+        config.addDataSourceProperty("mmap_size", String.valueOf(mmapSize));
+        config.addDataSourceProperty("busy_timeout", String.valueOf(busyTimeout));
+        config.addDataSourceProperty("temp_store", "MEMORY");
+        return config;
+    }
+}
@@ -0,0 +1,49 @@
+package com.promptquest.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+
+/**
+ * Virtual-thread execution mode, enabled with {@code spring.threads.virtual.enabled=true}
+ * (see the {@code virtual-threads} profile). Requires Java 21.
+ *
+ * Spring Boot then runs Tomcat request handling and its task executors on
+ * virtual threads. Since thousands of virtual threads can block on the
+ * database at once, the primary DataSource is wrapped so that only a bounded
+ * number of them use a connection at a time.
+ */
+@Configuration
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreadConfig.class);
+
+    @Bean
+    public static BeanPostProcessor databaseConcurrencyLimiter(Environment environment) {
+        int maxConcurrent = environment.getProperty("promptquest.db.max-concurrent-access", Integer.class, 8);
+        long timeoutMillis = environment.getProperty("promptquest.db.access-timeout-ms", Long.class, 10000L);
+
+        if (Runtime.version().feature() < 21) {
+            logger.warn("spring.threads.virtual.enabled is set but Java {} has no virtual threads; "
+                    + "requests keep running on platform threads", Runtime.version().feature());
+        }
+
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && "dataSource".equals(beanName)) {
+                    logger.info("Limiting concurrent database access to {} connection(s)", maxConcurrent);
+                    return new ConcurrencyLimitedDataSource(dataSource, maxConcurrent, timeoutMillis);
+                }
+                return bean;
+            }
+        };
+    }
+}
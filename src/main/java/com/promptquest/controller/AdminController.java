@@ -1,20 +1,36 @@
 package com.promptquest.controller;
 
+import com.promptquest.dto.ImportJobStatus;
+import com.promptquest.dto.ImportSummary;
+import com.promptquest.dto.MultiFileImportReport;
+import com.promptquest.dto.QuestionAnswerStats;
+import com.promptquest.service.AdaptiveQuizService;
+import com.promptquest.service.AttemptLogService;
+import com.promptquest.service.ImportJob;
+import com.promptquest.service.ImportJobService;
 import com.promptquest.service.JsonImportService;
+import com.promptquest.service.MultiFileImportService;
+import com.promptquest.service.QuestionResponseCache;
+import com.promptquest.service.QuizSessionService;
+import jakarta.servlet.http.HttpServletRequest;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.util.unit.DataSize;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.BufferedInputStream;
 import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.StandardCopyOption;
+import java.io.InputStream;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.zip.GZIPInputStream;
 
 /**
  * Controller for admin operations including JSON file import
@@ -25,21 +41,52 @@ import java.util.Map;
 public class AdminController {
 
     private static final Logger logger = LoggerFactory.getLogger(AdminController.class);
-    private static final String UPLOAD_DIR = "temp/uploads/";
+
+    // Import modes: append adds every question in the file, delta only writes the differences
+    private static final String MODE_APPEND = "append";
+    private static final String MODE_DELTA = "delta";
 
     @Autowired
     private JsonImportService jsonImportService;
 
+    @Autowired
+    private QuestionResponseCache questionResponseCache;
+
+    @Autowired
+    private QuizSessionService quizSessionService;
+
+    @Autowired
+    private AdaptiveQuizService adaptiveQuizService;
+
+    @Autowired
+    private AttemptLogService attemptLogService;
+
+    @Autowired
+    private ImportJobService importJobService;
+
+    @Autowired
+    private MultiFileImportService multiFileImportService;
+
+    @Value("${promptquest.import.max-upload-size:100MB}")
+    private DataSize maxUploadSize;
+
     /**
-     * Import questions from uploaded JSON file
+     * Import questions from uploaded JSON file (multipart form upload).
+     * With mode=delta only the differences to the stored questions are written.
      */
     @PostMapping("/import-json")
     public ResponseEntity<?> importJsonFile(
             @RequestParam("file") MultipartFile file,
-            @RequestParam(value = "clearExisting", defaultValue = "false") boolean clearExisting) {
+            @RequestParam(value = "clearExisting", defaultValue = "false") boolean clearExisting,
+            @RequestParam(value = "mode", defaultValue = MODE_APPEND) String mode) {
 
-        logger.info("Received file upload request: {} ({}), clearExisting: {}",
-                    file.getOriginalFilename(), file.getSize(), clearExisting);
+        logger.info("Received file upload request: {} ({}), clearExisting: {}, mode: {}",
+                    file.getOriginalFilename(), file.getSize(), clearExisting, mode);
+
+        String modeError = validateMode(mode, clearExisting);
+        if (modeError != null) {
+            return ResponseEntity.badRequest().body(createErrorResponse(modeError));
+        }
 
         // Validate file
         if (file.isEmpty()) {
@@ -47,37 +94,83 @@ public class AdminController {
                     .body(createErrorResponse("No file selected"));
         }
 
-        if (!file.getOriginalFilename().toLowerCase().endsWith(".json")) {
+        if (!isJsonFileName(file.getOriginalFilename())) {
             return ResponseEntity.badRequest()
                     .body(createErrorResponse("Only JSON files are allowed"));
         }
 
-        if (file.getSize() > 10 * 1024 * 1024) { // 10MB limit
-            return ResponseEntity.badRequest()
-                    .body(createErrorResponse("File size exceeds 10MB limit"));
+        if (file.getSize() > maxUploadSize.toBytes()) {
+            return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE)
+                    .body(createErrorResponse("File size exceeds " + maxUploadSize + " limit"));
         }
 
-        try {
-            // Create upload directory if it doesn't exist
-            Path uploadPath = Path.of(UPLOAD_DIR);
-            Files.createDirectories(uploadPath);
+        try (InputStream inputStream = file.getInputStream()) {
+            return importFromStream(inputStream, file.getOriginalFilename(), clearExisting, MODE_DELTA.equals(mode));
+        } catch (IOException e) {
+            logger.error("File I/O error during import: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(createErrorResponse("Failed to process file: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * Import questions from the raw request body.
+     * The body is the JSON document itself, optionally gzip-compressed, and is
+     * parsed directly from the request stream without being buffered to disk.
+     */
+    @PostMapping("/import-json/stream")
+    public ResponseEntity<?> importJsonStream(
+            HttpServletRequest request,
+            @RequestParam(value = "name", defaultValue = "request-body") String name,
+            @RequestParam(value = "clearExisting", defaultValue = "false") boolean clearExisting,
+            @RequestParam(value = "mode", defaultValue = MODE_APPEND) String mode) {
+
+        logger.info("Received streaming import request: {} ({} bytes), clearExisting: {}, mode: {}",
+                    name, request.getContentLengthLong(), clearExisting, mode);
+
+        String modeError = validateMode(mode, clearExisting);
+        if (modeError != null) {
+            return ResponseEntity.badRequest().body(createErrorResponse(modeError));
+        }
+
+        if (request.getContentLengthLong() > maxUploadSize.toBytes()) {
+            return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE)
+                    .body(createErrorResponse("Upload exceeds " + maxUploadSize + " limit"));
+        }
 
-            // Save uploaded file temporarily
-            String fileName = "import_" + System.currentTimeMillis() + "_" + file.getOriginalFilename();
-            Path filePath = uploadPath.resolve(fileName);
-            Files.copy(file.getInputStream(), filePath, StandardCopyOption.REPLACE_EXISTING);
+        try (InputStream inputStream = request.getInputStream()) {
+            return importFromStream(inputStream, name, clearExisting, MODE_DELTA.equals(mode));
+        } catch (IOException e) {
+            logger.error("I/O error during streaming import: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(createErrorResponse("Failed to read upload: " + e.getMessage()));
+        }
+    }
 
-            logger.info("File saved temporarily at: {}", filePath);
+    /**
+     * Feed an upload stream into the importer, decompressing gzip content
+     * and enforcing the configured size limit on the JSON content
+     */
+    private ResponseEntity<?> importFromStream(InputStream rawStream, String name, boolean clearExisting,
+                                               boolean delta) throws IOException {
+        InputStream content = new SizeLimitedInputStream(decompressIfGzip(rawStream), maxUploadSize.toBytes());
 
-            // Import questions using the service
-            int importedCount = jsonImportService.importQuestionsFromJson(
-                    "file:" + filePath.toAbsolutePath().toString(),
-                    clearExisting
-            );
+        try {
+            if (delta) {
+                ImportSummary summary = jsonImportService.importDelta(content, name);
 
-            // Clean up temporary file
-            Files.deleteIfExists(filePath);
-            logger.info("Temporary file cleaned up: {}", filePath);
+                Map<String, Object> response = new HashMap<>();
+                response.put("success", true);
+                response.put("message", "Questions synchronized successfully");
+                response.put("importedCount", summary.added() + summary.changed());
+                response.put("added", summary.added());
+                response.put("changed", summary.changed());
+                response.put("removed", summary.removed());
+                response.put("unchanged", summary.unchanged());
+                return ResponseEntity.ok(response);
+            }
+
+            int importedCount = jsonImportService.importQuestions(content, name, clearExisting);
 
             // Return success response
             Map<String, Object> response = new HashMap<>();
@@ -88,17 +181,213 @@ public class AdminController {
             logger.info("Successfully imported {} questions", importedCount);
             return ResponseEntity.ok(response);
 
-        } catch (IOException e) {
-            logger.error("File I/O error during import: {}", e.getMessage());
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                    .body(createErrorResponse("Failed to process file: " + e.getMessage()));
         } catch (Exception e) {
+            if (isLimitExceeded(e)) {
+                logger.warn("Import of {} rejected: content exceeds {}", name, maxUploadSize);
+                return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE)
+                        .body(createErrorResponse("File size exceeds " + maxUploadSize + " limit"));
+            }
             logger.error("Error during import: {}", e.getMessage());
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body(createErrorResponse("Import failed: " + e.getMessage()));
         }
     }
 
+    /**
+     * Import all JSON files in a server-side directory or matching a pattern, parsing them
+     * in parallel. The location is relative to promptquest.import.root (e.g. banks or
+     * banks/*.json); absolute paths, URLs and '..' are rejected.
+     */
+    @PostMapping("/import-files")
+    public ResponseEntity<?> importFiles(
+            @RequestParam("location") String location,
+            @RequestParam(value = "clearExisting", defaultValue = "false") boolean clearExisting) {
+
+        logger.info("Received multi-file import request: {}, clearExisting: {}", location, clearExisting);
+
+        try {
+            MultiFileImportReport report = multiFileImportService.importFilesFromRoot(location, clearExisting);
+            return ResponseEntity.ok(report);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(createErrorResponse(e.getMessage()));
+        } catch (Exception e) {
+            logger.error("Error during multi-file import: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(createErrorResponse("Import failed: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * Submit the raw request body (JSON or gzip-compressed JSON) as a background import job.
+     * Returns at once with the job id; progress is available from the job status endpoint.
+     */
+    @PostMapping("/import-jobs")
+    public ResponseEntity<?> submitImportJob(
+            HttpServletRequest request,
+            @RequestParam(value = "name", defaultValue = "request-body") String name,
+            @RequestParam(value = "clearExisting", defaultValue = "false") boolean clearExisting) {
+
+        if (request.getContentLengthLong() > maxUploadSize.toBytes()) {
+            return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE)
+                    .body(createErrorResponse("Upload exceeds " + maxUploadSize + " limit"));
+        }
+
+        try (InputStream inputStream = request.getInputStream()) {
+            return submitJob(inputStream, name, clearExisting);
+        } catch (IOException e) {
+            logger.error("I/O error while receiving import job: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(createErrorResponse("Failed to read upload: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * Submit an uploaded file (multipart form upload) as a background import job
+     */
+    @PostMapping(value = "/import-jobs", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<?> submitImportJobFile(
+            @RequestParam("file") MultipartFile file,
+            @RequestParam(value = "clearExisting", defaultValue = "false") boolean clearExisting) {
+
+        if (file.isEmpty() || !isJsonFileName(file.getOriginalFilename())) {
+            return ResponseEntity.badRequest()
+                    .body(createErrorResponse("A non-empty .json or .json.gz file is required"));
+        }
+
+        try (InputStream inputStream = file.getInputStream()) {
+            return submitJob(inputStream, file.getOriginalFilename(), clearExisting);
+        } catch (IOException e) {
+            logger.error("File I/O error while receiving import job: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(createErrorResponse("Failed to process file: " + e.getMessage()));
+        }
+    }
+
+    private ResponseEntity<?> submitJob(InputStream rawStream, String name, boolean clearExisting) throws IOException {
+        InputStream content = new SizeLimitedInputStream(decompressIfGzip(rawStream), maxUploadSize.toBytes());
+        try {
+            ImportJob job = importJobService.submit(content, name, clearExisting);
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(job.toStatus());
+        } catch (SizeLimitedInputStream.LimitExceededException e) {
+            logger.warn("Import job for {} rejected: content exceeds {}", name, maxUploadSize);
+            return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE)
+                    .body(createErrorResponse("File size exceeds " + maxUploadSize + " limit"));
+        }
+    }
+
+    /**
+     * List import jobs, most recent first
+     */
+    @GetMapping("/import-jobs")
+    public List<ImportJobStatus> listImportJobs() {
+        return importJobService.list().stream().map(ImportJob::toStatus).toList();
+    }
+
+    /**
+     * Get progress of an import job (records parsed/written, rate, ETA)
+     */
+    @GetMapping("/import-jobs/{jobId}")
+    public ResponseEntity<?> getImportJob(@PathVariable String jobId) {
+        ImportJob job = importJobService.find(jobId);
+        if (job == null) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(createErrorResponse("Import job not found"));
+        }
+        return ResponseEntity.ok(job.toStatus());
+    }
+
+    /**
+     * Cancel a queued or running import job; batches already committed are kept
+     */
+    @PostMapping("/import-jobs/{jobId}/cancel")
+    public ResponseEntity<?> cancelImportJob(@PathVariable String jobId) {
+        ImportJob job = importJobService.find(jobId);
+        if (job == null) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(createErrorResponse("Import job not found"));
+        }
+        if (!importJobService.cancel(job)) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(createErrorResponse("Import job has already finished"));
+        }
+        return ResponseEntity.ok(job.toStatus());
+    }
+
+    /**
+     * Resume a cancelled or failed import job after its last committed batch
+     */
+    @PostMapping("/import-jobs/{jobId}/resume")
+    public ResponseEntity<?> resumeImportJob(@PathVariable String jobId) {
+        ImportJob job = importJobService.find(jobId);
+        if (job == null) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(createErrorResponse("Import job not found"));
+        }
+        if (!importJobService.resume(job)) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(createErrorResponse("Only cancelled or failed import jobs can be resumed"));
+        }
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(job.toStatus());
+    }
+
+    /**
+     * Remove a finished import job and its spooled upload
+     */
+    @DeleteMapping("/import-jobs/{jobId}")
+    public ResponseEntity<?> removeImportJob(@PathVariable String jobId) {
+        ImportJob job = importJobService.find(jobId);
+        if (job == null) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(createErrorResponse("Import job not found"));
+        }
+        if (!importJobService.remove(job)) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(createErrorResponse("Cancel the import job before removing it"));
+        }
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Wrap the stream in a GZIPInputStream when it starts with the gzip magic number
+     */
+    private InputStream decompressIfGzip(InputStream inputStream) throws IOException {
+        BufferedInputStream buffered = new BufferedInputStream(inputStream);
+        buffered.mark(2);
+        int first = buffered.read();
+        int second = buffered.read();
+        buffered.reset();
+
+        if (first == (GZIPInputStream.GZIP_MAGIC & 0xff) && second == (GZIPInputStream.GZIP_MAGIC >>> 8)) {
+            return new GZIPInputStream(buffered);
+        }
+        return buffered;
+    }
+
+    /**
+     * Error message for an unsupported import mode, or null if the mode is valid
+     */
+    private String validateMode(String mode, boolean clearExisting) {
+        if (!MODE_APPEND.equals(mode) && !MODE_DELTA.equals(mode)) {
+            return "Unknown import mode '" + mode + "' (expected append or delta)";
+        }
+        if (MODE_DELTA.equals(mode) && clearExisting) {
+            return "clearExisting cannot be combined with mode=delta";
+        }
+        return null;
+    }
+
+    private boolean isJsonFileName(String fileName) {
+        if (fileName == null) {
+            return false;
+        }
+        String lower = fileName.toLowerCase();
+        return lower.endsWith(".json") || lower.endsWith(".json.gz");
+    }
+
+    private boolean isLimitExceeded(Throwable e) {
+        for (Throwable t = e; t != null; t = t.getCause()) {
+            if (t instanceof SizeLimitedInputStream.LimitExceededException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     /**
      * Get current database statistics
      */
@@ -114,6 +403,66 @@ public class AdminController {
         }
     }
 
+    /**
+     * Get hit/miss counters of the question listing response cache
+     */
+    @GetMapping("/cache-statistics")
+    public ResponseEntity<Map<String, Object>> getCacheStatistics() {
+        return ResponseEntity.ok(questionResponseCache.getStatistics());
+    }
+
+    /**
+     * Get size, eviction count and hit ratio of the quiz session cache
+     */
+    @GetMapping("/session-statistics")
+    public ResponseEntity<Map<String, Object>> getSessionStatistics() {
+        return ResponseEntity.ok(quizSessionService.getStatistics());
+    }
+
+    /**
+     * Get the number of active adaptive quizzes and stored adaptive results
+     */
+    @GetMapping("/adaptive-statistics")
+    public ResponseEntity<Map<String, Object>> getAdaptiveStatistics() {
+        return ResponseEntity.ok(adaptiveQuizService.getStatistics());
+    }
+
+    /**
+     * Get per-question answer distributions (A/B/C/D picks, percent correct) from the attempt log
+     */
+    @GetMapping("/analytics/questions")
+    public ResponseEntity<?> getQuestionAnalytics(
+            @RequestParam(defaultValue = "attempts") String order,
+            @RequestParam(defaultValue = "1") long minAttempts,
+            @RequestParam(defaultValue = "50") int limit) {
+        try {
+            return ResponseEntity.ok(attemptLogService.getQuestionStatistics(order, minAttempts, Math.max(0, limit)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(createErrorResponse(e.getMessage()));
+        }
+    }
+
+    /**
+     * Get the answer distribution of one question
+     */
+    @GetMapping("/analytics/questions/{questionId}")
+    public ResponseEntity<?> getQuestionAnalytics(@PathVariable long questionId) {
+        QuestionAnswerStats stats = attemptLogService.getQuestionStatistics(questionId);
+        if (stats == null) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(createErrorResponse("No attempts recorded for question " + questionId));
+        }
+        return ResponseEntity.ok(stats);
+    }
+
+    /**
+     * Get queue fill level and written/dropped/failed counts of the attempt log
+     */
+    @GetMapping("/analytics/attempt-log")
+    public ResponseEntity<Map<String, Object>> getAttemptLogStatistics() {
+        return ResponseEntity.ok(attemptLogService.getStatistics());
+    }
+
     /**
      * Helper method to create error response
      */
@@ -1,18 +1,63 @@
 package com.promptquest.controller;
 
-import com.promptquest.entity.Question;
-import com.promptquest.repository.QuestionRepository;
+import com.promptquest.dto.AdaptiveAnswer;
+import com.promptquest.dto.QuestionPage;
+import com.promptquest.dto.QuestionView;
+import com.promptquest.dto.QuizQuestionView;
+import com.promptquest.dto.QuizResult;
+import com.promptquest.dto.QuizSessionView;
+import com.promptquest.dto.TestBlueprint;
+import com.promptquest.service.AdaptiveQuizService;
+import com.promptquest.service.AdaptiveSession;
+import com.promptquest.service.GradingService;
+import com.promptquest.service.QuestionCatalog;
+import com.promptquest.service.QuestionListingService;
+import com.promptquest.service.QuestionResponseCache;
+import com.promptquest.service.QuestionSampler;
+import com.promptquest.service.QuestionSearchService;
+import com.promptquest.service.QuizSession;
+import com.promptquest.service.QuizSessionService;
+import com.promptquest.service.TestGenerationService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
 
 @Controller
 @CrossOrigin(origins = "*") // Allow frontend access
 public class QuizController {
 
     @Autowired
-    private QuestionRepository questionRepository;
+    private QuestionCatalog questionCatalog;
+
+    @Autowired
+    private GradingService gradingService;
+
+    @Autowired
+    private QuestionResponseCache responseCache;
+
+    @Autowired
+    private QuestionListingService questionListingService;
+
+    @Autowired
+    private TestGenerationService testGenerationService;
+
+    @Autowired
+    private QuizSessionService quizSessionService;
+
+    @Autowired
+    private QuestionSearchService questionSearchService;
+
+    @Autowired
+    private AdaptiveQuizService adaptiveQuizService;
 
     // Web interface routes
     @GetMapping("/")
@@ -20,105 +65,234 @@ public class QuizController {
         return "redirect:/index.html";
     }
 
-    // Get all questions for the quiz
+    // Get all questions for the quiz, optionally filtered by skill, difficulty and degree.
+    // Responses are served pre-serialized (identity or gzip) with a strong ETag.
     @GetMapping("/api/quiz/questions")
     @ResponseBody
-    public List<Map<String, Object>> getAllQuestions() {
-        List<Question> questions = questionRepository.findAll();
-        List<Map<String, Object>> result = new ArrayList<>();
-
-        for (Question q : questions) {
-            Map<String, Object> questionData = new HashMap<>();
-            questionData.put("id", q.getId());
-            questionData.put("question", q.getQuestion());
-            questionData.put("optionA", q.getOptionA());
-            questionData.put("optionB", q.getOptionB());
-            questionData.put("optionC", q.getOptionC());
-            questionData.put("optionD", q.getOptionD());
-            questionData.put("correctAnswer", q.getCorrectAnswer());
-            questionData.put("explanation", q.getExplanation());
-            questionData.put("area", q.getArea());
-            questionData.put("skill", q.getSkill());
-            questionData.put("difficulty", q.getDifficulty());
-            questionData.put("degree", q.getDegree());
-            result.add(questionData);
+    public ResponseEntity<byte[]> getAllQuestions(
+            @RequestParam(required = false) String skill,
+            @RequestParam(required = false) Integer difficulty,
+            @RequestParam(required = false) String degree,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        String variant = "questions|" + QuestionSampler.normalize(skill) + "|" + difficulty + "|"
+                + QuestionSampler.normalize(degree);
+
+        // Only filter combinations that match questions are cached, so made-up values cannot crowd out real ones
+        QuestionCatalog.Snapshot current = questionCatalog.current();
+        boolean cacheable = current.getSampler().count(skill, difficulty, degree) > 0;
+        QuestionResponseCache.CachedResponse cached = responseCache.get(current, variant, cacheable,
+                catalog -> listQuestions(catalog, skill, difficulty, degree));
+        return cachedResponse(cached, ifNoneMatch, acceptEncoding);
+    }
+
+    // Keyset-paginated listing straight from the database: pass the returned nextCursor as "after".
+    // answers=false returns the quiz-taking projection without correctAnswer/explanation.
+    @GetMapping("/api/quiz/questions/page")
+    @ResponseBody
+    public QuestionPage<?> getQuestionPage(
+            @RequestParam(defaultValue = "0") long after,
+            @RequestParam(defaultValue = "100") int size,
+            @RequestParam(defaultValue = "true") boolean answers) {
+        return questionListingService.getPage(after, size, answers);
+    }
+
+    // Stream all questions as newline-delimited JSON without materializing the list
+    @GetMapping(value = "/api/quiz/questions/stream", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> streamQuestions(
+            @RequestParam(defaultValue = "true") boolean answers) {
+        StreamingResponseBody body = out -> questionListingService.writeNdjson(out, answers);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/x-ndjson"))
+                .body(body);
+    }
+
+    // Full-text search over question text, options and explanations, best match first.
+    // A term ending in * matches as prefix; skill, difficulty and degree narrow the results.
+    @GetMapping("/api/quiz/search")
+    @ResponseBody
+    public ResponseEntity<?> searchQuestions(
+            @RequestParam String q,
+            @RequestParam(required = false) String skill,
+            @RequestParam(required = false) Integer difficulty,
+            @RequestParam(required = false) String degree,
+            @RequestParam(defaultValue = "20") int limit,
+            @RequestParam(defaultValue = "0") int offset) {
+        try {
+            return ResponseEntity.ok(questionSearchService.search(q, skill, difficulty, degree, limit, offset));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("success", false, "message", e.getMessage()));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .body(Map.of("success", false, "message", e.getMessage()));
         }
-        return result;
     }
 
     // Check answers and get results
     @PostMapping("/api/quiz/check")
     @ResponseBody
-    public Map<String, Object> checkAnswers(@RequestBody Map<String, String> answers) {
-        Map<String, Object> result = new HashMap<>();
-        List<Map<String, Object>> questionResults = new ArrayList<>();
-
-        int correct = 0;
-        int total = answers.size();
-
-        for (String questionIdStr : answers.keySet()) {
-            Long questionId = Long.parseLong(questionIdStr);
-            String userAnswer = answers.get(questionIdStr);
-
-            Optional<Question> questionOpt = questionRepository.findById(questionId);
-            if (questionOpt.isPresent()) {
-                Question question = questionOpt.get();
-                boolean isCorrect = question.getCorrectAnswer().equals(userAnswer);
-                if (isCorrect) correct++;
-
-                Map<String, Object> questionResult = new HashMap<>();
-                questionResult.put("id", questionId);
-                questionResult.put("question", question.getQuestion());
-                questionResult.put("userAnswer", userAnswer);
-                questionResult.put("correctAnswer", question.getCorrectAnswer());
-                questionResult.put("isCorrect", isCorrect);
-                questionResult.put("explanation", question.getExplanation());
-                questionResult.put("optionA", question.getOptionA());
-                questionResult.put("optionB", question.getOptionB());
-                questionResult.put("optionC", question.getOptionC());
-                questionResult.put("optionD", question.getOptionD());
-                questionResult.put("difficulty", question.getDifficulty());
-                questionResult.put("area", question.getArea());
-                questionResult.put("skill", question.getSkill());
-                questionResult.put("degree", question.getDegree());
-
-                questionResults.add(questionResult);
-            }
+    public QuizResult checkAnswers(@RequestBody Map<String, String> answers) {
+        return gradingService.grade(answers);
+    }
+
+    // Generate a test from a blueprint of (filter, count) slots without repeating questions
+    @PostMapping("/api/quiz/tests/generate")
+    @ResponseBody
+    public ResponseEntity<?> generateTest(@RequestBody TestBlueprint blueprint) {
+        try {
+            return ResponseEntity.ok(testGenerationService.generate(blueprint));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("success", false, "message", e.getMessage()));
         }
+    }
 
-        result.put("totalQuestions", total);
-        result.put("correctAnswers", correct);
-        result.put("score", total > 0 ? (double) correct / total * 100 : 0);
-        result.put("questionResults", questionResults);
+    // Start a server-side quiz session; the answer key stays on the server
+    @PostMapping("/api/quiz/sessions")
+    @ResponseBody
+    public ResponseEntity<?> startSession(
+            @RequestParam(defaultValue = "10") int count,
+            @RequestParam(required = false) String skill,
+            @RequestParam(required = false) Integer difficulty,
+            @RequestParam(required = false) String degree,
+            @RequestParam(required = false) Long seed) {
+        RandomGenerator random = seed != null ? new SplittableRandom(seed) : ThreadLocalRandom.current();
+        QuizSession session;
+        try {
+            session = quizSessionService.start(count, skill, difficulty, degree, random);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("success", false, "message", e.getMessage()));
+        }
 
-        return result;
+        List<QuizQuestionView> questions = new ArrayList<>(session.size());
+        for (int i = 0; i < session.size(); i++) {
+            questions.add(session.getQuestion(i).toQuizView());
+        }
+        return ResponseEntity.ok(new QuizSessionView(session.getId(), session.getStartedAt(),
+                quizSessionService.expiresAt(session), questions));
     }
 
-    // Get random questions (optional, for variety)
+    // Submit the answers of a session (question id -> answer letter); the session ends on submit
+    @PostMapping("/api/quiz/sessions/{sessionId}/check")
+    @ResponseBody
+    public ResponseEntity<?> checkSession(@PathVariable String sessionId,
+                                          @RequestBody Map<String, String> answers) {
+        // Taking the session out first means a session is graded (and logged) at most once
+        QuizSession session = quizSessionService.take(sessionId);
+        if (session == null) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(Map.of("success", false, "message", "Quiz session not found or expired"));
+        }
+        return ResponseEntity.ok(gradingService.grade(session, answers));
+    }
+
+    // Start an adaptive quiz: each answer moves one difficulty level up (correct) or down (wrong).
+    // Returns the first question; skill and degree restrict the question pool.
+    @PostMapping("/api/quiz/adaptive")
+    @ResponseBody
+    public ResponseEntity<?> startAdaptiveQuiz(
+            @RequestParam(defaultValue = "10") int count,
+            @RequestParam(required = false) String skill,
+            @RequestParam(required = false) String degree,
+            @RequestParam(required = false) Integer difficulty,
+            @RequestParam(required = false) Long seed) {
+        RandomGenerator random = seed != null ? new SplittableRandom(seed) : ThreadLocalRandom.current();
+        try {
+            return ResponseEntity.ok(adaptiveQuizService.start(count, skill, degree, difficulty, random));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("success", false, "message", e.getMessage()));
+        }
+    }
+
+    // Current question of an adaptive quiz
+    @GetMapping("/api/quiz/adaptive/{sessionId}")
+    @ResponseBody
+    public ResponseEntity<?> getAdaptiveQuiz(@PathVariable String sessionId) {
+        AdaptiveSession session = adaptiveQuizService.find(sessionId);
+        if (session == null) {
+            return adaptiveSessionNotFound();
+        }
+        return ResponseEntity.ok(adaptiveQuizService.current(session));
+    }
+
+    // Answer the current question and get the next one, or the result after the last answer
+    @PostMapping("/api/quiz/adaptive/{sessionId}/answer")
+    @ResponseBody
+    public ResponseEntity<?> answerAdaptiveQuiz(@PathVariable String sessionId,
+                                                @RequestBody AdaptiveAnswer answer) {
+        AdaptiveSession session = adaptiveQuizService.find(sessionId);
+        if (session == null) {
+            return adaptiveSessionNotFound();
+        }
+        try {
+            return ResponseEntity.ok(adaptiveQuizService.answer(session, answer.questionId(), answer.answer()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("success", false, "message", e.getMessage()));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(Map.of("success", false, "message", e.getMessage()));
+        }
+    }
+
+    // Get random questions, optionally filtered by skill, difficulty and degree.
+    // Passing a seed makes the selection reproducible for the same catalog version.
     @GetMapping("/api/quiz/random/{count}")
     @ResponseBody
-    public List<Map<String, Object>> getRandomQuestions(@PathVariable int count) {
-        List<Question> allQuestions = questionRepository.findAll();
-        Collections.shuffle(allQuestions);
-
-        int limit = Math.min(count, allQuestions.size());
-        List<Question> randomQuestions = allQuestions.subList(0, limit);
-
-        List<Map<String, Object>> result = new ArrayList<>();
-        for (Question q : randomQuestions) {
-            Map<String, Object> questionData = new HashMap<>();
-            questionData.put("id", q.getId());
-            questionData.put("question", q.getQuestion());
-            questionData.put("optionA", q.getOptionA());
-            questionData.put("optionB", q.getOptionB());
-            questionData.put("optionC", q.getOptionC());
-            questionData.put("optionD", q.getOptionD());
-            questionData.put("area", q.getArea());
-            questionData.put("skill", q.getSkill());
-            questionData.put("difficulty", q.getDifficulty());
-            questionData.put("degree", q.getDegree());
-            result.add(questionData);
+    public List<QuizQuestionView> getRandomQuestions(
+            @PathVariable int count,
+            @RequestParam(required = false) String skill,
+            @RequestParam(required = false) Integer difficulty,
+            @RequestParam(required = false) String degree,
+            @RequestParam(required = false) Long seed) {
+        QuestionCatalog.Snapshot catalog = questionCatalog.current();
+        RandomGenerator random = seed != null ? new SplittableRandom(seed) : ThreadLocalRandom.current();
+
+        int[] positions = catalog.getSampler().sample(skill, difficulty, degree, count, random);
+        List<QuizQuestionView> quizQuestions = catalog.getQuizQuestions();
+        List<QuizQuestionView> result = new ArrayList<>(positions.length);
+        for (int position : positions) {
+            result.add(quizQuestions.get(position));
         }
         return result;
     }
-}
\ No newline at end of file
+
+    private ResponseEntity<?> adaptiveSessionNotFound() {
+        return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(Map.of("success", false, "message", "Adaptive quiz not found, finished or expired"));
+    }
+
+    private List<QuestionView> listQuestions(QuestionCatalog.Snapshot catalog,
+                                             String skill, Integer difficulty, String degree) {
+        if (skill == null && difficulty == null && degree == null) {
+            return catalog.getQuestions();
+        }
+        int[] positions = catalog.getSampler().positions(skill, difficulty, degree);
+        List<QuestionView> result = new ArrayList<>(positions.length);
+        for (int position : positions) {
+            result.add(catalog.get(position));
+        }
+        return result;
+    }
+
+    private ResponseEntity<byte[]> cachedResponse(QuestionResponseCache.CachedResponse cached,
+                                                  String ifNoneMatch, String acceptEncoding) {
+        boolean gzip = QuestionResponseCache.CachedResponse.acceptsGzip(acceptEncoding);
+        String etag = gzip ? cached.gzipEtag() : cached.etag();
+
+        if (cached.matches(ifNoneMatch)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(etag)
+                    .varyBy(HttpHeaders.ACCEPT_ENCODING)
+                    .build();
+        }
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .cacheControl(CacheControl.noCache())
+                .eTag(etag)
+                .varyBy(HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(cached.gzip());
+        }
+        return response.body(cached.identity());
+    }
+}
@@ -0,0 +1,14 @@
+package com.promptquest.dto;
+
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+
+/**
+ * Answer to the current question of an adaptive quiz
+ *
+ * @param questionId id of the question being answered; must be the current question
+ * @param answer answer letter (A-D)
+ */
+@JsonNaming(PropertyNamingStrategies.LowerCamelCaseStrategy.class)
+public record AdaptiveAnswer(Long questionId, String answer) {
+}
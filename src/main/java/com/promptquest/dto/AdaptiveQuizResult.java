@@ -0,0 +1,23 @@
+package com.promptquest.dto;
+
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+
+import java.util.List;
+
+/**
+ * Result of a finished adaptive quiz
+ *
+ * @param points sum of the difficulties of correctly answered questions
+ * @param difficultyPath difficulty of each asked question, in order
+ */
+@JsonNaming(PropertyNamingStrategies.LowerCamelCaseStrategy.class)
+public record AdaptiveQuizResult(
+        int totalQuestions,
+        int correctAnswers,
+        double score,
+        int points,
+        int highestCorrectDifficulty,
+        int finalDifficulty,
+        List<Integer> difficultyPath) {
+}
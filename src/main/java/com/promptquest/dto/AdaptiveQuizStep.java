@@ -0,0 +1,25 @@
+package com.promptquest.dto;
+
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+
+import java.time.Instant;
+
+/**
+ * State of an adaptive quiz as sent to the browser: the next question (without its answer)
+ * or, once the quiz is finished, the result
+ *
+ * @param lastAnswerCorrect whether the answer just submitted was correct; null for a new quiz
+ */
+@JsonNaming(PropertyNamingStrategies.LowerCamelCaseStrategy.class)
+public record AdaptiveQuizStep(
+        String sessionId,
+        Instant expiresAt,
+        int questionNumber,
+        int maxQuestions,
+        int difficulty,
+        Boolean lastAnswerCorrect,
+        boolean finished,
+        QuizQuestionView question,
+        AdaptiveQuizResult result) {
+}
@@ -0,0 +1,32 @@
+package com.promptquest.dto;
+
+import java.util.BitSet;
+
+/**
+ * One graded quiz submission, queued for the attempt log.
+ * Arrays are index-aligned: answer i (an answer letter, or 0 when unanswered or invalid)
+ * was given to question i, and bit i of {@code correct} is set when it was right.
+ *
+ * @param mode how the submission was graded ("catalog" or "session")
+ * @param sessionId quiz session id, or null for catalog submissions
+ * @param submittedAt epoch milliseconds
+ * @param catalogVersion persistent data version of the question bank (catalog_state), or -1 if unknown
+ */
+public record AttemptEvent(
+        String attemptId,
+        String mode,
+        String sessionId,
+        long submittedAt,
+        long catalogVersion,
+        long[] questionIds,
+        byte[] answers,
+        BitSet correct) {
+
+    public int size() {
+        return questionIds.length;
+    }
+
+    public int correctCount() {
+        return correct.cardinality();
+    }
+}
@@ -0,0 +1,37 @@
+package com.promptquest.dto;
+
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+
+import java.util.List;
+
+/**
+ * Test generated from a {@link TestBlueprint}
+ *
+ * @param questions selected questions, grouped in slot order
+ * @param slots per-slot outcome, in the order of the blueprint
+ */
+@JsonNaming(PropertyNamingStrategies.LowerCamelCaseStrategy.class)
+public record GeneratedTest(
+        long catalogVersion,
+        int requested,
+        int filled,
+        List<SlotResult> slots,
+        List<QuizQuestionView> questions) {
+
+    /**
+     * Outcome of filling one slot
+     *
+     * @param available questions matching the slot's filters (before exclusions)
+     * @param shortfall requested minus filled
+     */
+    @JsonNaming(PropertyNamingStrategies.LowerCamelCaseStrategy.class)
+    public record SlotResult(
+            String label,
+            int requested,
+            int available,
+            int filled,
+            int shortfall,
+            List<Long> questionIds) {
+    }
+}
@@ -0,0 +1,15 @@
+package com.promptquest.dto;
+
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+
+/**
+ * Result of importing one file of a multi-file import
+ *
+ * @param parsed questions read from the file
+ * @param written questions from the file committed to the database
+ * @param error why the file could not be read completely; null on success
+ */
+@JsonNaming(PropertyNamingStrategies.LowerCamelCaseStrategy.class)
+public record ImportFileResult(String file, int parsed, int written, String error) {
+}
@@ -0,0 +1,32 @@
+package com.promptquest.dto;
+
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+
+import java.time.Instant;
+
+/**
+ * Progress of a background import job as reported by the status endpoint
+ *
+ * @param recordsParsed questions read from the file so far (including ones skipped on resume)
+ * @param recordsWritten questions committed to the database
+ * @param recordsPerSecond write rate of the current run
+ * @param etaSeconds estimated time to completion, from the share of the file read so far; null if unknown
+ */
+@JsonNaming(PropertyNamingStrategies.LowerCamelCaseStrategy.class)
+public record ImportJobStatus(
+        String jobId,
+        String sourceName,
+        String status,
+        boolean clearExisting,
+        long recordsParsed,
+        long recordsWritten,
+        long bytesRead,
+        long totalBytes,
+        double recordsPerSecond,
+        Long etaSeconds,
+        Instant submittedAt,
+        Instant startedAt,
+        Instant finishedAt,
+        String error) {
+}
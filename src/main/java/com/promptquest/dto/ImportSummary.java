@@ -0,0 +1,16 @@
+package com.promptquest.dto;
+
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+
+/**
+ * Outcome of a delta import: how many questions were inserted, updated in place,
+ * deleted because they are no longer in the file, or left untouched
+ */
+@JsonNaming(PropertyNamingStrategies.LowerCamelCaseStrategy.class)
+public record ImportSummary(int added, int changed, int removed, int unchanged) {
+
+    public int writes() {
+        return added + changed + removed;
+    }
+}
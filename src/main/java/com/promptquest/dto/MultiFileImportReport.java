@@ -0,0 +1,20 @@
+package com.promptquest.dto;
+
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+
+import java.util.List;
+
+/**
+ * Aggregated outcome of importing all files matching a directory or pattern
+ */
+@JsonNaming(PropertyNamingStrategies.LowerCamelCaseStrategy.class)
+public record MultiFileImportReport(
+        String location,
+        int files,
+        int failedFiles,
+        long parsed,
+        long written,
+        long elapsedMillis,
+        List<ImportFileResult> results) {
+}
@@ -0,0 +1,27 @@
+package com.promptquest.dto;
+
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+
+import java.util.Map;
+
+/**
+ * Answer distribution and correctness rate of one question over all logged attempts
+ *
+ * @param question question text, or null if the question is no longer in the bank
+ * @param picks number of times each answer letter (A-D) was chosen
+ * @param unanswered number of times the question was left unanswered (or answered with anything but A-D)
+ */
+@JsonNaming(PropertyNamingStrategies.LowerCamelCaseStrategy.class)
+public record QuestionAnswerStats(
+        Long questionId,
+        String question,
+        String skill,
+        Integer difficulty,
+        String correctAnswer,
+        long attempts,
+        long correct,
+        double percentCorrect,
+        Map<String, Long> picks,
+        long unanswered) {
+}
@@ -0,0 +1,7 @@
+package com.promptquest.dto;
+
+/**
+ * Id and hashes of a stored question, used to compare an import file with the database
+ */
+public record QuestionFingerprint(Long id, String identityHash, String contentHash) {
+}
@@ -0,0 +1,7 @@
+package com.promptquest.dto;
+
+/**
+ * Number of questions sharing the same skill, area, degree and difficulty
+ */
+public record QuestionGroupCount(String skill, String area, String degree, Integer difficulty, long count) {
+}
@@ -0,0 +1,16 @@
+package com.promptquest.dto;
+
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated question listing.
+ *
+ * @param <T> question projection ({@link QuestionView} or {@link QuizQuestionView})
+ * @param nextCursor id to pass as {@code after} for the next page, or null on the last page
+ */
+@JsonNaming(PropertyNamingStrategies.LowerCamelCaseStrategy.class)
+public record QuestionPage<T>(List<T> items, Long nextCursor) {
+}
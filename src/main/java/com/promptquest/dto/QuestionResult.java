@@ -0,0 +1,32 @@
+package com.promptquest.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+
+/**
+ * Grading outcome for a single submitted answer
+ */
+@JsonNaming(PropertyNamingStrategies.LowerCamelCaseStrategy.class)
+public record QuestionResult(
+        Long id,
+        String question,
+        String userAnswer,
+        String correctAnswer,
+        @JsonProperty("isCorrect") boolean isCorrect,
+        String explanation,
+        String optionA,
+        String optionB,
+        String optionC,
+        String optionD,
+        Integer difficulty,
+        String area,
+        String skill,
+        String degree) {
+
+    public static QuestionResult of(QuestionView q, String userAnswer, boolean isCorrect) {
+        return new QuestionResult(q.id(), q.question(), userAnswer, q.correctAnswer(), isCorrect,
+                q.explanation(), q.optionA(), q.optionB(), q.optionC(), q.optionD(),
+                q.difficulty(), q.area(), q.skill(), q.degree());
+    }
+}
@@ -0,0 +1,23 @@
+package com.promptquest.dto;
+
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+
+/**
+ * One full-text search match.
+ *
+ * @param score bm25 relevance, higher is better
+ * @param snippet best matching fragment with matched terms wrapped in {@code <mark>} tags;
+ *                the surrounding text is not HTML-escaped
+ */
+@JsonNaming(PropertyNamingStrategies.LowerCamelCaseStrategy.class)
+public record QuestionSearchHit(
+        Long id,
+        String question,
+        String skill,
+        String area,
+        Integer difficulty,
+        String degree,
+        double score,
+        String snippet) {
+}
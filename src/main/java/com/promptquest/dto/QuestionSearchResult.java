@@ -0,0 +1,15 @@
+package com.promptquest.dto;
+
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+
+import java.util.List;
+
+/**
+ * One page of full-text search results, best match first.
+ *
+ * @param hasMore whether another page follows (request it with offset + limit)
+ */
+@JsonNaming(PropertyNamingStrategies.LowerCamelCaseStrategy.class)
+public record QuestionSearchResult(String query, List<QuestionSearchHit> hits, int limit, int offset, boolean hasMore) {
+}
@@ -0,0 +1,42 @@
+package com.promptquest.dto;
+
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+import com.promptquest.entity.Question;
+
+/**
+ * Immutable read-only view of a question including the answer key.
+ * Used for the full question listing and for review after grading.
+ *
+ * Serialized in camelCase (the web pages expect optionA, correctAnswer, ...)
+ * regardless of the global SNAKE_CASE Jackson setting.
+ */
+@JsonNaming(PropertyNamingStrategies.LowerCamelCaseStrategy.class)
+public record QuestionView(
+        Long id,
+        String question,
+        String optionA,
+        String optionB,
+        String optionC,
+        String optionD,
+        String correctAnswer,
+        String explanation,
+        String area,
+        String skill,
+        Integer difficulty,
+        String degree) {
+
+    public static QuestionView from(Question q) {
+        return new QuestionView(q.getId(), q.getQuestion(), q.getOptionA(), q.getOptionB(),
+                q.getOptionC(), q.getOptionD(), q.getCorrectAnswer(), q.getExplanation(),
+                q.getArea(), q.getSkill(), q.getDifficulty(), q.getDegree());
+    }
+
+    /**
+     * Same question without correctAnswer and explanation, for quiz-taking
+     */
+    public QuizQuestionView toQuizView() {
+        return new QuizQuestionView(id, question, optionA, optionB, optionC, optionD,
+                area, skill, difficulty, degree);
+    }
+}
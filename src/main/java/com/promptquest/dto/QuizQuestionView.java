@@ -0,0 +1,21 @@
+package com.promptquest.dto;
+
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+
+/**
+ * Immutable view of a question for quiz-taking (no answer key or explanation)
+ */
+@JsonNaming(PropertyNamingStrategies.LowerCamelCaseStrategy.class)
+public record QuizQuestionView(
+        Long id,
+        String question,
+        String optionA,
+        String optionB,
+        String optionC,
+        String optionD,
+        String area,
+        String skill,
+        Integer difficulty,
+        String degree) {
+}
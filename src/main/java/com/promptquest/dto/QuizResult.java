@@ -0,0 +1,17 @@
+package com.promptquest.dto;
+
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+
+import java.util.List;
+
+/**
+ * Result of grading a quiz submission
+ */
+@JsonNaming(PropertyNamingStrategies.LowerCamelCaseStrategy.class)
+public record QuizResult(
+        int totalQuestions,
+        int correctAnswers,
+        double score,
+        List<QuestionResult> questionResults) {
+}
@@ -0,0 +1,18 @@
+package com.promptquest.dto;
+
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Quiz session as sent to the browser: the questions without their answers
+ */
+@JsonNaming(PropertyNamingStrategies.LowerCamelCaseStrategy.class)
+public record QuizSessionView(
+        String sessionId,
+        Instant startedAt,
+        Instant expiresAt,
+        List<QuizQuestionView> questions) {
+}
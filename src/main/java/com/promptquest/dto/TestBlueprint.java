@@ -0,0 +1,31 @@
+package com.promptquest.dto;
+
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+
+import java.util.List;
+
+/**
+ * Request to generate a test from a list of slots, e.g.
+ * "10 Java at difficulty 2-3, 5 SQL senior, 5 random".
+ *
+ * @param slots slots to fill; a question is used by at most one slot
+ * @param excludeIds question ids that must not be used at all (e.g. seen in a previous attempt)
+ * @param seed optional seed for a reproducible selection
+ */
+@JsonNaming(PropertyNamingStrategies.LowerCamelCaseStrategy.class)
+public record TestBlueprint(List<Slot> slots, List<Long> excludeIds, Long seed) {
+
+    /**
+     * One slot of the blueprint. Empty or missing filters match every question.
+     */
+    @JsonNaming(PropertyNamingStrategies.LowerCamelCaseStrategy.class)
+    public record Slot(
+            String label,
+            List<String> skills,
+            Integer minDifficulty,
+            Integer maxDifficulty,
+            List<String> degrees,
+            int count) {
+    }
+}
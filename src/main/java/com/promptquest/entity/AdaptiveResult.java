@@ -0,0 +1,174 @@
+package com.promptquest.entity;
+
+import jakarta.persistence.*;
+
+import java.time.Instant;
+
+/**
+ * Outcome of a finished adaptive quiz.
+ * Only this final result is stored; the quiz itself runs in memory.
+ */
+@Entity
+@Table(name = "adaptive_results", indexes = {
+        @Index(name = "idx_adaptive_results_finished_at", columnList = "finished_at")
+})
+public class AdaptiveResult {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "session_id", nullable = false, length = 36)
+    private String sessionId;
+
+    @Column
+    private String skill;
+
+    @Column
+    private String degree;
+
+    @Column(name = "started_at", nullable = false)
+    private Instant startedAt;
+
+    @Column(name = "finished_at", nullable = false)
+    private Instant finishedAt;
+
+    @Column(name = "question_count", nullable = false)
+    private int questionCount;
+
+    @Column(name = "correct_count", nullable = false)
+    private int correctCount;
+
+    // Sum of the difficulties of correctly answered questions
+    @Column(nullable = false)
+    private int points;
+
+    // Highest difficulty answered correctly (0 if none) and level reached at the end
+    @Column(name = "highest_correct_difficulty", nullable = false)
+    private int highestCorrectDifficulty;
+
+    @Column(name = "final_difficulty", nullable = false)
+    private int finalDifficulty;
+
+    // Difficulty of each asked question, e.g. "3,4,5,4"
+    @Column(name = "difficulty_path", length = 1024)
+    private String difficultyPath;
+
+    @Column(name = "catalog_version", nullable = false)
+    private long catalogVersion;
+
+    // Default constructor
+    public AdaptiveResult() {}
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getSessionId() {
+        return sessionId;
+    }
+
+    public void setSessionId(String sessionId) {
+        this.sessionId = sessionId;
+    }
+
+    public String getSkill() {
+        return skill;
+    }
+
+    public void setSkill(String skill) {
+        this.skill = skill;
+    }
+
+    public String getDegree() {
+        return degree;
+    }
+
+    public void setDegree(String degree) {
+        this.degree = degree;
+    }
+
+    public Instant getStartedAt() {
+        return startedAt;
+    }
+
+    public void setStartedAt(Instant startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    public Instant getFinishedAt() {
+        return finishedAt;
+    }
+
+    public void setFinishedAt(Instant finishedAt) {
+        this.finishedAt = finishedAt;
+    }
+
+    public int getQuestionCount() {
+        return questionCount;
+    }
+
+    public void setQuestionCount(int questionCount) {
+        this.questionCount = questionCount;
+    }
+
+    public int getCorrectCount() {
+        return correctCount;
+    }
+
+    public void setCorrectCount(int correctCount) {
+        this.correctCount = correctCount;
+    }
+
+    public int getPoints() {
+        return points;
+    }
+
+    public void setPoints(int points) {
+        this.points = points;
+    }
+
+    public int getHighestCorrectDifficulty() {
+        return highestCorrectDifficulty;
+    }
+
+    public void setHighestCorrectDifficulty(int highestCorrectDifficulty) {
+        this.highestCorrectDifficulty = highestCorrectDifficulty;
+    }
+
+    public int getFinalDifficulty() {
+        return finalDifficulty;
+    }
+
+    public void setFinalDifficulty(int finalDifficulty) {
+        this.finalDifficulty = finalDifficulty;
+    }
+
+    public String getDifficultyPath() {
+        return difficultyPath;
+    }
+
+    public void setDifficultyPath(String difficultyPath) {
+        this.difficultyPath = difficultyPath;
+    }
+
+    public long getCatalogVersion() {
+        return catalogVersion;
+    }
+
+    public void setCatalogVersion(long catalogVersion) {
+        this.catalogVersion = catalogVersion;
+    }
+
+    @Override
+    public String toString() {
+        return "AdaptiveResult{id=" + id + ", sessionId='" + sessionId + "', skill='" + skill
+                + "', correctCount=" + correctCount + "/" + questionCount + ", points=" + points
+                + ", finalDifficulty=" + finalDifficulty + '}';
+    }
+}
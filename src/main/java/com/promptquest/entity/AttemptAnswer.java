@@ -0,0 +1,76 @@
+package com.promptquest.entity;
+
+import jakarta.persistence.*;
+
+/**
+ * One answer of a graded quiz submission. Rows are written in batches by the
+ * attempt log writer (see AttemptLogWriter); the entity defines the schema.
+ */
+@Entity
+@Table(name = "attempt_answers", indexes = {
+        @Index(name = "idx_attempt_answers_attempt_id", columnList = "attempt_id"),
+        @Index(name = "idx_attempt_answers_question_id", columnList = "question_id")
+})
+public class AttemptAnswer {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "attempt_id", nullable = false, length = 36)
+    private String attemptId;
+
+    @Column(name = "question_id", nullable = false)
+    private long questionId;
+
+    // Answer letter, or null when the question was not answered (or not with A-D)
+    @Column(length = 1)
+    private String answer;
+
+    @Column(nullable = false)
+    private boolean correct;
+
+    // Default constructor
+    public AttemptAnswer() {}
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getAttemptId() {
+        return attemptId;
+    }
+
+    public void setAttemptId(String attemptId) {
+        this.attemptId = attemptId;
+    }
+
+    public long getQuestionId() {
+        return questionId;
+    }
+
+    public void setQuestionId(long questionId) {
+        this.questionId = questionId;
+    }
+
+    public String getAnswer() {
+        return answer;
+    }
+
+    public void setAnswer(String answer) {
+        this.answer = answer;
+    }
+
+    public boolean isCorrect() {
+        return correct;
+    }
+
+    public void setCorrect(boolean correct) {
+        this.correct = correct;
+    }
+}
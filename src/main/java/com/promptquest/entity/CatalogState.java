@@ -0,0 +1,55 @@
+package com.promptquest.entity;
+
+import jakarta.persistence.*;
+
+/**
+ * Single-row table holding the data version of the question bank. The version
+ * is bumped in the transaction of every change to the questions, so a catalog
+ * snapshot file that records it can be checked for staleness with one lookup
+ * (see CatalogStateRepository). The row also holds a random id created
+ * together with it, which tells databases apart whose versions happen to match
+ * (e.g. a database file that was deleted and recreated).
+ */
+@Entity
+@Table(name = "catalog_state")
+public class CatalogState {
+
+    public static final long ROW_ID = 1;
+
+    @Id
+    private Long id;
+
+    @Column(name = "data_version", nullable = false)
+    private long dataVersion;
+
+    @Column(name = "database_id", length = 36)
+    private String databaseId;
+
+    // Default constructor
+    public CatalogState() {}
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public long getDataVersion() {
+        return dataVersion;
+    }
+
+    public void setDataVersion(long dataVersion) {
+        this.dataVersion = dataVersion;
+    }
+
+    public String getDatabaseId() {
+        return databaseId;
+    }
+
+    public void setDatabaseId(String databaseId) {
+        this.databaseId = databaseId;
+    }
+}
@@ -2,17 +2,48 @@ package com.promptquest.entity;
 
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.id.enhanced.TableGenerator;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Locale;
 
 /**
  * Question entity for PromptQuest application
  * Represents a multiple-choice question with options and metadata
  */
 @Entity
-@Table(name = "questions")
+@Table(name = "questions", indexes = {
+        @Index(name = "idx_questions_skill_key_difficulty", columnList = "skill_key, difficulty"),
+        @Index(name = "idx_questions_area_key_degree_key", columnList = "area_key, degree_key"),
+        @Index(name = "idx_questions_difficulty", columnList = "difficulty"),
+        @Index(name = "idx_questions_degree_key", columnList = "degree_key"),
+        @Index(name = "idx_questions_identity_hash", columnList = "identity_hash")
+})
 public class Question {
 
+    // Ids are handed out in blocks from a one-row-per-entity table ("pooled-lo": the stored
+    // value is the first id of the next block). QuestionBulkWriter reserves its blocks from
+    // the same row, so JPA inserts and bulk inserts never collide.
+    public static final String ID_BLOCKS_TABLE = "id_blocks";
+    public static final String ID_BLOCKS_NAME_COLUMN = "sequence_name";
+    public static final String ID_BLOCKS_VALUE_COLUMN = "next_val";
+    public static final String ID_BLOCKS_NAME = "questions";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(generator = "question_ids")
+    @GenericGenerator(name = "question_ids", type = TableGenerator.class, parameters = {
+            @Parameter(name = TableGenerator.TABLE_PARAM, value = ID_BLOCKS_TABLE),
+            @Parameter(name = TableGenerator.SEGMENT_COLUMN_PARAM, value = ID_BLOCKS_NAME_COLUMN),
+            @Parameter(name = TableGenerator.SEGMENT_VALUE_PARAM, value = ID_BLOCKS_NAME),
+            @Parameter(name = TableGenerator.VALUE_COLUMN_PARAM, value = ID_BLOCKS_VALUE_COLUMN),
+            @Parameter(name = TableGenerator.INCREMENT_PARAM, value = "1000"),
+            @Parameter(name = TableGenerator.OPT_PARAM, value = "pooled-lo")
+    })
     private Long id;
 
     @Column(nullable = false, columnDefinition = "TEXT")
@@ -57,6 +88,25 @@ public class Question {
     @Pattern(regexp = "junior|mid|senior", message = "Degree must be junior, mid, or senior")
     private String degree;
 
+    // Normalized (trimmed, lower-case) copies of skill/area/degree used for indexed
+    // case-insensitive lookups; maintained automatically, see updateLookupKeys()
+    @Column(name = "skill_key")
+    private String skillKey;
+
+    @Column(name = "area_key")
+    private String areaKey;
+
+    @Column(name = "degree_key")
+    private String degreeKey;
+
+    // Hashes used by delta imports: the identity hash (skill + question text) matches a
+    // question in an import file to its stored row, the content hash detects edits
+    @Column(name = "identity_hash", length = 32)
+    private String identityHash;
+
+    @Column(name = "content_hash", length = 32)
+    private String contentHash;
+
     // Default constructor
     public Question() {}
 
@@ -173,6 +223,86 @@ public class Question {
         this.degree = degree;
     }
 
+    public String getSkillKey() {
+        return skillKey;
+    }
+
+    public String getAreaKey() {
+        return areaKey;
+    }
+
+    public String getDegreeKey() {
+        return degreeKey;
+    }
+
+    public String getIdentityHash() {
+        return identityHash;
+    }
+
+    public String getContentHash() {
+        return contentHash;
+    }
+
+    /**
+     * Recompute the normalized lookup keys from skill, area and degree,
+     * and the identity and content hashes
+     */
+    @PrePersist
+    @PreUpdate
+    public void updateLookupKeys() {
+        this.skillKey = normalizeKey(skill);
+        this.areaKey = normalizeKey(area);
+        this.degreeKey = normalizeKey(degree);
+        this.identityHash = hash(skillKey, question == null ? null : question.trim());
+        this.contentHash = hash(question, optionA, optionB, optionC, optionD, correctAnswer, explanation,
+                difficulty == null ? null : difficulty.toString(), area, skill, degree);
+    }
+
+    /**
+     * Copy the question content (everything but the id) from another question
+     */
+    public void copyContentFrom(Question other) {
+        this.question = other.question;
+        this.optionA = other.optionA;
+        this.optionB = other.optionB;
+        this.optionC = other.optionC;
+        this.optionD = other.optionD;
+        this.correctAnswer = other.correctAnswer;
+        this.explanation = other.explanation;
+        this.difficulty = other.difficulty;
+        this.area = other.area;
+        this.skill = other.skill;
+        this.degree = other.degree;
+    }
+
+    /**
+     * Normalized form of a skill/area/degree value for case-insensitive matching
+     * (trimmed and lower-cased; null for blank values)
+     */
+    public static String normalizeKey(String value) {
+        return value == null || value.isBlank() ? null : value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * First 128 bits of the SHA-256 of the values, hex encoded. Values are separated
+     * by a unit separator and null is distinguished from the empty string.
+     */
+    private static String hash(String... values) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (String value : values) {
+                if (value != null) {
+                    digest.update((byte) 1);
+                    digest.update(value.getBytes(StandardCharsets.UTF_8));
+                }
+                digest.update((byte) 0x1f);
+            }
+            return HexFormat.of().formatHex(digest.digest(), 0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
     @Override
     public String toString() {
         return "Question{" +
@@ -0,0 +1,97 @@
+package com.promptquest.entity;
+
+import jakarta.persistence.*;
+
+/**
+ * One graded quiz submission. Rows are written in batches by the attempt log
+ * writer (see AttemptLogWriter); the entity defines the schema.
+ */
+@Entity
+@Table(name = "quiz_attempts", indexes = {
+        @Index(name = "idx_quiz_attempts_submitted_at", columnList = "submitted_at")
+})
+public class QuizAttempt {
+
+    @Id
+    @Column(length = 36)
+    private String id;
+
+    @Column(nullable = false, length = 16)
+    private String mode;
+
+    @Column(name = "session_id", length = 36)
+    private String sessionId;
+
+    // Epoch milliseconds
+    @Column(name = "submitted_at", nullable = false)
+    private long submittedAt;
+
+    @Column(name = "question_count", nullable = false)
+    private int questionCount;
+
+    @Column(name = "correct_count", nullable = false)
+    private int correctCount;
+
+    @Column(name = "catalog_version", nullable = false)
+    private long catalogVersion;
+
+    // Default constructor
+    public QuizAttempt() {}
+
+    // Getters and Setters
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getMode() {
+        return mode;
+    }
+
+    public void setMode(String mode) {
+        this.mode = mode;
+    }
+
+    public String getSessionId() {
+        return sessionId;
+    }
+
+    public void setSessionId(String sessionId) {
+        this.sessionId = sessionId;
+    }
+
+    public long getSubmittedAt() {
+        return submittedAt;
+    }
+
+    public void setSubmittedAt(long submittedAt) {
+        this.submittedAt = submittedAt;
+    }
+
+    public int getQuestionCount() {
+        return questionCount;
+    }
+
+    public void setQuestionCount(int questionCount) {
+        this.questionCount = questionCount;
+    }
+
+    public int getCorrectCount() {
+        return correctCount;
+    }
+
+    public void setCorrectCount(int correctCount) {
+        this.correctCount = correctCount;
+    }
+
+    public long getCatalogVersion() {
+        return catalogVersion;
+    }
+
+    public void setCatalogVersion(long catalogVersion) {
+        this.catalogVersion = catalogVersion;
+    }
+}
@@ -0,0 +1,89 @@
+package com.promptquest.metrics;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+
+import java.util.Locale;
+
+/**
+ * Per-request timing breakdown reported in the {@code Server-Timing} response header.
+ *
+ * {@link ServerTimingFilter} binds one instance to the request thread;
+ * repository and JdbcTemplate calls and response serialization add their
+ * time to it. All
+ * methods are no-ops on threads without a bound instance (startup, async
+ * work, benchmarks).
+ */
+public final class ServerTiming {
+
+    public static final String HEADER = "Server-Timing";
+
+    private static final ThreadLocal<ServerTiming> CURRENT = new ThreadLocal<>();
+
+    private final long startNanos = System.nanoTime();
+    private long databaseNanos;
+    private int databaseCalls;
+    private int databaseDepth;
+    private long serializationNanos;
+
+    private ServerTiming() {
+    }
+
+    static ServerTiming start() {
+        ServerTiming timing = new ServerTiming();
+        CURRENT.set(timing);
+        return timing;
+    }
+
+    static void clear() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Add time spent serializing the response body
+     */
+    public static void addSerialization(long nanos) {
+        ServerTiming timing = CURRENT.get();
+        if (timing != null) {
+            timing.serializationNanos += nanos;
+        }
+    }
+
+    /**
+     * Interceptor for repository and JdbcTemplate proxies; only the outermost call is
+     * timed so that default methods delegating to finders are not counted twice
+     */
+    public static MethodInterceptor databaseInterceptor() {
+        return ServerTiming::timeDatabaseCall;
+    }
+
+    private static Object timeDatabaseCall(MethodInvocation invocation) throws Throwable {
+        ServerTiming timing = CURRENT.get();
+        if (timing == null) {
+            return invocation.proceed();
+        }
+        if (timing.databaseDepth++ > 0) {
+            try {
+                return invocation.proceed();
+            } finally {
+                timing.databaseDepth--;
+            }
+        }
+        long start = System.nanoTime();
+        try {
+            return invocation.proceed();
+        } finally {
+            timing.databaseDepth--;
+            timing.databaseNanos += System.nanoTime() - start;
+            timing.databaseCalls++;
+        }
+    }
+
+    /**
+     * Header value, e.g. {@code db;dur=1.20;desc="2 calls", ser;dur=0.35, total;dur=2.10}
+     */
+    String toHeaderValue() {
+        return String.format(Locale.ROOT, "db;dur=%.2f;desc=\"%d calls\", ser;dur=%.2f, total;dur=%.2f",
+                databaseNanos / 1e6, databaseCalls, serializationNanos / 1e6, (System.nanoTime() - startNanos) / 1e6);
+    }
+}
@@ -0,0 +1,106 @@
+package com.promptquest.metrics;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+
+/**
+ * Jackson converter that serializes into a buffer first, so the time spent
+ * in serialization can be reported in {@code Server-Timing} before the
+ * response is committed. Replaces Spring Boot's default JSON converter.
+ *
+ * Only the first {@code bufferLimit} bytes are buffered: a larger body is
+ * streamed from there on, and its {@code ser} entry covers serialization up
+ * to that point rather than the whole body.
+ */
+public class ServerTimingJacksonConverter extends MappingJackson2HttpMessageConverter {
+
+    private final int bufferLimit;
+
+    public ServerTimingJacksonConverter(ObjectMapper objectMapper, int bufferLimit) {
+        super(objectMapper);
+        this.bufferLimit = bufferLimit;
+    }
+
+    @Override
+    protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException {
+        SpillingOutputStream body = new SpillingOutputStream(outputMessage, bufferLimit);
+        super.writeInternal(object, type, new HttpOutputMessage() {
+            @Override
+            public OutputStream getBody() {
+                return body;
+            }
+
+            @Override
+            public HttpHeaders getHeaders() {
+                return outputMessage.getHeaders();
+            }
+        });
+        body.finish();
+    }
+
+    /**
+     * Buffers up to the limit, then records the serialization time so far and
+     * switches to the response body (which commits the Server-Timing header)
+     */
+    private static class SpillingOutputStream extends OutputStream {
+
+        private final HttpOutputMessage outputMessage;
+        private final int limit;
+        private final long start = System.nanoTime();
+        private ByteArrayOutputStream buffer = new ByteArrayOutputStream(1024);
+        private OutputStream target;
+
+        SpillingOutputStream(HttpOutputMessage outputMessage, int limit) {
+            this.outputMessage = outputMessage;
+            this.limit = limit;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            if (target == null && buffer.size() + len > limit) {
+                spill();
+            }
+            if (target != null) {
+                target.write(b, off, len);
+            } else {
+                buffer.write(b, off, len);
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            if (target != null) {
+                target.flush();
+            }
+        }
+
+        void finish() throws IOException {
+            if (target == null) {
+                spill();
+            }
+        }
+
+        private void spill() throws IOException {
+            ServerTiming.addSerialization(System.nanoTime() - start);
+            target = outputMessage.getBody();
+            if (buffer.size() > 0) {
+                buffer.writeTo(target);
+            }
+            buffer = null;
+        }
+    }
+}
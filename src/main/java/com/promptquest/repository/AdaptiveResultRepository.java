@@ -0,0 +1,12 @@
+package com.promptquest.repository;
+
+import com.promptquest.entity.AdaptiveResult;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository for results of finished adaptive quizzes
+ */
+@Repository
+public interface AdaptiveResultRepository extends JpaRepository<AdaptiveResult, Long> {
+}
@@ -0,0 +1,106 @@
+package com.promptquest.repository;
+
+import com.promptquest.dto.AttemptEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * JDBC writer for the attempt log tables ({@code quiz_attempts} and {@code attempt_answers}).
+ *
+ * A whole batch of queued attempts is written in one transaction as two JDBC
+ * batches, so the SQLite write lock is taken once per batch rather than once
+ * per answer.
+ */
+@Repository
+public class AttemptLogWriter {
+
+    private static final String INSERT_ATTEMPT_SQL = "INSERT INTO quiz_attempts (id, mode, session_id, "
+            + "submitted_at, question_count, correct_count, catalog_version) VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String INSERT_ANSWER_SQL = "INSERT INTO attempt_answers (attempt_id, question_id, answer, "
+            + "correct) VALUES (?, ?, ?, ?)";
+
+    private static final String ANSWER_COUNTS_SQL = "SELECT question_id, answer, COUNT(*) AS picks, "
+            + "SUM(correct) AS correct FROM attempt_answers GROUP BY question_id, answer";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int batchSize;
+
+    public AttemptLogWriter(JdbcTemplate jdbcTemplate,
+                            @Value("${promptquest.attempts.jdbc-batch-size:1000}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    /**
+     * Insert the attempts and all their answers
+     */
+    @Transactional
+    public void insert(List<AttemptEvent> attempts) {
+        if (attempts.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT_ATTEMPT_SQL, attempts, batchSize, AttemptLogWriter::bindAttempt);
+
+        List<Answer> answers = new ArrayList<>();
+        for (AttemptEvent attempt : attempts) {
+            for (int i = 0; i < attempt.size(); i++) {
+                answers.add(new Answer(attempt, i));
+            }
+        }
+        jdbcTemplate.batchUpdate(INSERT_ANSWER_SQL, answers, batchSize, AttemptLogWriter::bindAnswer);
+    }
+
+    /**
+     * Stream the stored answer counts grouped by question and answer letter
+     * (the answer is null for unanswered questions)
+     */
+    @Transactional(readOnly = true)
+    public void forEachAnswerCount(AnswerCountHandler handler) {
+        jdbcTemplate.query(ANSWER_COUNTS_SQL, (RowCallbackHandler) rs -> handler.accept(
+                rs.getLong("question_id"), rs.getString("answer"), rs.getLong("picks"), rs.getLong("correct")));
+    }
+
+    /**
+     * Receives one row of {@link #forEachAnswerCount}
+     */
+    @FunctionalInterface
+    public interface AnswerCountHandler {
+        void accept(long questionId, String answer, long picks, long correct);
+    }
+
+    private static void bindAttempt(PreparedStatement statement, AttemptEvent attempt) throws SQLException {
+        statement.setString(1, attempt.attemptId());
+        statement.setString(2, attempt.mode());
+        statement.setString(3, attempt.sessionId());
+        statement.setLong(4, attempt.submittedAt());
+        statement.setInt(5, attempt.size());
+        statement.setInt(6, attempt.correctCount());
+        statement.setLong(7, attempt.catalogVersion());
+    }
+
+    private static void bindAnswer(PreparedStatement statement, Answer answer) throws SQLException {
+        AttemptEvent attempt = answer.attempt();
+        byte letter = attempt.answers()[answer.index()];
+        statement.setString(1, attempt.attemptId());
+        statement.setLong(2, attempt.questionIds()[answer.index()]);
+        if (letter != 0) {
+            statement.setString(3, String.valueOf((char) letter));
+        } else {
+            statement.setNull(3, Types.VARCHAR);
+        }
+        statement.setBoolean(4, attempt.correct().get(answer.index()));
+    }
+
+    private record Answer(AttemptEvent attempt, int index) {
+    }
+}
@@ -0,0 +1,88 @@
+package com.promptquest.repository;
+
+import com.promptquest.entity.CatalogState;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.UUID;
+
+/**
+ * Reads and bumps the data version of the question bank ({@code catalog_state}).
+ * Runs on the connection of the surrounding transaction, if any.
+ */
+@Repository
+public class CatalogStateRepository {
+
+    private static final String CREATE_ROW_SQL = "INSERT OR IGNORE INTO catalog_state (id, data_version, database_id) "
+            + "VALUES (?, 0, ?)";
+
+    // Rows created before the database_id column existed get their id on first use
+    private static final String ASSIGN_DATABASE_ID_SQL = "UPDATE catalog_state SET database_id = ? "
+            + "WHERE id = ? AND database_id IS NULL";
+
+    private static final String BUMP_SQL = "UPDATE catalog_state SET data_version = data_version + 1 WHERE id = ?";
+
+    private static final String STATE_SQL = "SELECT data_version, database_id FROM catalog_state WHERE id = ?";
+
+    // SQLite counts over the smallest index, so this does not read the question rows themselves
+    private static final String COUNT_SQL = "SELECT COUNT(*) FROM questions";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public CatalogStateRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Create the state row, with a new random database id, if it does not exist yet
+     */
+    @Transactional
+    public void initialize() {
+        jdbcTemplate.update(CREATE_ROW_SQL, CatalogState.ROW_ID, UUID.randomUUID().toString());
+        jdbcTemplate.update(ASSIGN_DATABASE_ID_SQL, UUID.randomUUID().toString(), CatalogState.ROW_ID);
+    }
+
+    /**
+     * Current data version (0 if the questions have never changed since the table was created)
+     * and database id (null until {@link #initialize()} or {@link #bump()} has run)
+     */
+    @Transactional(readOnly = true)
+    public State getState() {
+        return jdbcTemplate.query(STATE_SQL, rs -> rs.next()
+                ? new State(rs.getLong(1), parseId(rs.getString(2)))
+                : new State(0, null), CatalogState.ROW_ID);
+    }
+
+    /**
+     * Mark the questions as changed
+     */
+    @Transactional
+    public void bump() {
+        initialize();
+        jdbcTemplate.update(BUMP_SQL, CatalogState.ROW_ID);
+    }
+
+    /**
+     * Number of stored questions
+     */
+    @Transactional(readOnly = true)
+    public int countQuestions() {
+        Integer count = jdbcTemplate.queryForObject(COUNT_SQL, Integer.class);
+        return count != null ? count : 0;
+    }
+
+    private static UUID parseId(String value) {
+        try {
+            return value != null ? UUID.fromString(value) : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Data version and identity of the question bank
+     */
+    public record State(long dataVersion, UUID databaseId) {
+    }
+}
@@ -0,0 +1,127 @@
+package com.promptquest.repository;
+
+import com.promptquest.entity.Question;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Bulk insert path for questions that bypasses the persistence context.
+ *
+ * Ids for a whole batch are reserved with a single update of the id block
+ * row shared with Hibernate's generator, and rows are sent as JDBC batches
+ * of {@code promptquest.import.bulk-batch-size} over one prepared statement.
+ * Lookup keys, hashes and bean validation are handled here since no JPA
+ * callbacks run. Runs on the connection of the surrounding transaction.
+ */
+@Repository
+public class QuestionBulkWriter {
+
+    private static final Logger logger = LoggerFactory.getLogger(QuestionBulkWriter.class);
+
+    private static final String INSERT_SQL = "INSERT INTO questions (id, question, option_a, option_b, option_c, "
+            + "option_d, correct_answer, explanation, difficulty, area, skill, degree, skill_key, area_key, "
+            + "degree_key, identity_hash, content_hash) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String CREATE_ID_BLOCK_SQL = "INSERT OR IGNORE INTO " + Question.ID_BLOCKS_TABLE
+            + " (" + Question.ID_BLOCKS_NAME_COLUMN + ", " + Question.ID_BLOCKS_VALUE_COLUMN + ") VALUES (?, 1)";
+
+    // Never hand out ids below MAX(id) + 1, e.g. for rows written before the id block table existed
+    private static final String RESERVE_IDS_SQL = "UPDATE " + Question.ID_BLOCKS_TABLE
+            + " SET " + Question.ID_BLOCKS_VALUE_COLUMN + " = MAX(" + Question.ID_BLOCKS_VALUE_COLUMN
+            + ", (SELECT COALESCE(MAX(id), 0) + 1 FROM questions)) + ? WHERE " + Question.ID_BLOCKS_NAME_COLUMN + " = ?";
+
+    private static final String NEXT_ID_SQL = "SELECT " + Question.ID_BLOCKS_VALUE_COLUMN + " FROM "
+            + Question.ID_BLOCKS_TABLE + " WHERE " + Question.ID_BLOCKS_NAME_COLUMN + " = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Validator validator;
+    private final int batchSize;
+
+    public QuestionBulkWriter(JdbcTemplate jdbcTemplate, Validator validator,
+                              @Value("${promptquest.import.bulk-batch-size:1000}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.validator = validator;
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    /**
+     * Insert the questions, assigning their ids
+     */
+    @Transactional
+    public void insert(List<Question> questions) {
+        if (questions.isEmpty()) {
+            return;
+        }
+        for (Question question : questions) {
+            Set<ConstraintViolation<Question>> violations = validator.validate(question);
+            if (!violations.isEmpty()) {
+                throw new ConstraintViolationException("Invalid question: " + question, violations);
+            }
+        }
+
+        long id = reserveIds(questions.size());
+        for (Question question : questions) {
+            question.setId(id++);
+            question.updateLookupKeys();
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, questions, batchSize, QuestionBulkWriter::bind);
+    }
+
+    /**
+     * Reserve {@code count} consecutive ids and return the first one
+     */
+    @Transactional
+    public long reserveIds(int count) {
+        jdbcTemplate.update(CREATE_ID_BLOCK_SQL, Question.ID_BLOCKS_NAME);
+        jdbcTemplate.update(RESERVE_IDS_SQL, count, Question.ID_BLOCKS_NAME);
+        Long next = jdbcTemplate.queryForObject(NEXT_ID_SQL, Long.class, Question.ID_BLOCKS_NAME);
+        return next - count;
+    }
+
+    /**
+     * Move the id block counter past the highest stored id (e.g. for databases
+     * created before ids were allocated from the block table)
+     */
+    @Transactional
+    public void synchronizeIdBlocks() {
+        long next = reserveIds(0);
+        logger.debug("Next question id block starts at {}", next);
+    }
+
+    private static void bind(PreparedStatement statement, Question question) throws SQLException {
+        statement.setLong(1, question.getId());
+        statement.setString(2, question.getQuestion());
+        statement.setString(3, question.getOptionA());
+        statement.setString(4, question.getOptionB());
+        statement.setString(5, question.getOptionC());
+        statement.setString(6, question.getOptionD());
+        statement.setString(7, question.getCorrectAnswer());
+        statement.setString(8, question.getExplanation());
+        if (question.getDifficulty() != null) {
+            statement.setInt(9, question.getDifficulty());
+        } else {
+            statement.setNull(9, Types.INTEGER);
+        }
+        statement.setString(10, question.getArea());
+        statement.setString(11, question.getSkill());
+        statement.setString(12, question.getDegree());
+        statement.setString(13, question.getSkillKey());
+        statement.setString(14, question.getAreaKey());
+        statement.setString(15, question.getDegreeKey());
+        statement.setString(16, question.getIdentityHash());
+        statement.setString(17, question.getContentHash());
+    }
+}
@@ -1,6 +1,11 @@
 package com.promptquest.repository;
 
+import com.promptquest.dto.QuestionFingerprint;
+import com.promptquest.dto.QuestionGroupCount;
+import com.promptquest.dto.QuestionView;
+import com.promptquest.dto.QuizQuestionView;
 import com.promptquest.entity.Question;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -15,39 +20,102 @@ import java.util.List;
 @Repository
 public interface QuestionRepository extends JpaRepository<Question, Long> {
 
+    // Case-insensitive lookups go through the normalized, indexed *_key columns
+    // (see Question.normalizeKey); LOWER(column) comparisons cannot use an index.
+
     // Find questions by skill
-    List<Question> findBySkillIgnoreCase(String skill);
+    List<Question> findBySkillKey(String skillKey);
+
+    default List<Question> findBySkillIgnoreCase(String skill) {
+        return findBySkillKey(Question.normalizeKey(skill));
+    }
 
     // Find questions by area
-    List<Question> findByAreaIgnoreCase(String area);
+    List<Question> findByAreaKey(String areaKey);
+
+    default List<Question> findByAreaIgnoreCase(String area) {
+        return findByAreaKey(Question.normalizeKey(area));
+    }
 
     // Find questions by difficulty
     List<Question> findByDifficulty(Integer difficulty);
 
     // Find questions by degree
-    List<Question> findByDegreeIgnoreCase(String degree);
+    List<Question> findByDegreeKey(String degreeKey);
+
+    default List<Question> findByDegreeIgnoreCase(String degree) {
+        return findByDegreeKey(Question.normalizeKey(degree));
+    }
 
     // Find questions by skill and difficulty
-    List<Question> findBySkillIgnoreCaseAndDifficulty(String skill, Integer difficulty);
+    List<Question> findBySkillKeyAndDifficulty(String skillKey, Integer difficulty);
+
+    default List<Question> findBySkillIgnoreCaseAndDifficulty(String skill, Integer difficulty) {
+        return findBySkillKeyAndDifficulty(Question.normalizeKey(skill), difficulty);
+    }
 
     // Find questions by area and degree
-    List<Question> findByAreaIgnoreCaseAndDegreeIgnoreCase(String area, String degree);
+    List<Question> findByAreaKeyAndDegreeKey(String areaKey, String degreeKey);
+
+    default List<Question> findByAreaIgnoreCaseAndDegreeIgnoreCase(String area, String degree) {
+        return findByAreaKeyAndDegreeKey(Question.normalizeKey(area), Question.normalizeKey(degree));
+    }
 
     // Get random questions (SQLite compatible)
     @Query(value = "SELECT * FROM questions ORDER BY RANDOM() LIMIT :limit", nativeQuery = true)
     List<Question> findRandomQuestions(@Param("limit") int limit);
 
     // Get random questions by skill
-    @Query(value = "SELECT * FROM questions WHERE LOWER(skill) = LOWER(:skill) ORDER BY RANDOM() LIMIT :limit", nativeQuery = true)
-    List<Question> findRandomQuestionsBySkill(@Param("skill") String skill, @Param("limit") int limit);
+    @Query(value = "SELECT * FROM questions WHERE skill_key = :skillKey ORDER BY RANDOM() LIMIT :limit", nativeQuery = true)
+    List<Question> findRandomQuestionsBySkillKey(@Param("skillKey") String skillKey, @Param("limit") int limit);
+
+    default List<Question> findRandomQuestionsBySkill(String skill, int limit) {
+        return findRandomQuestionsBySkillKey(Question.normalizeKey(skill), limit);
+    }
 
     // Get random questions by difficulty
     @Query(value = "SELECT * FROM questions WHERE difficulty = :difficulty ORDER BY RANDOM() LIMIT :limit", nativeQuery = true)
     List<Question> findRandomQuestionsByDifficulty(@Param("difficulty") Integer difficulty, @Param("limit") int limit);
 
     // Get questions for a custom test (skill, difficulty, and count)
-    @Query(value = "SELECT * FROM questions WHERE LOWER(skill) = LOWER(:skill) AND difficulty = :difficulty ORDER BY RANDOM() LIMIT :limit", nativeQuery = true)
-    List<Question> findQuestionsForTest(@Param("skill") String skill, @Param("difficulty") Integer difficulty, @Param("limit") int limit);
+    @Query(value = "SELECT * FROM questions WHERE skill_key = :skillKey AND difficulty = :difficulty ORDER BY RANDOM() LIMIT :limit", nativeQuery = true)
+    List<Question> findQuestionsForTestByKey(@Param("skillKey") String skillKey, @Param("difficulty") Integer difficulty, @Param("limit") int limit);
+
+    default List<Question> findQuestionsForTest(String skill, Integer difficulty, int limit) {
+        return findQuestionsForTestByKey(Question.normalizeKey(skill), difficulty, limit);
+    }
+
+    // Questions written before the *_key and hash columns existed
+    @Query("SELECT q FROM Question q WHERE (q.skillKey IS NULL AND q.skill IS NOT NULL) " +
+           "OR (q.areaKey IS NULL AND q.area IS NOT NULL) OR (q.degreeKey IS NULL AND q.degree IS NOT NULL) " +
+           "OR q.contentHash IS NULL")
+    List<Question> findWithMissingLookupKeys();
+
+    // Identity and content hashes of all questions, for delta imports
+    @Query("SELECT new com.promptquest.dto.QuestionFingerprint(q.id, q.identityHash, q.contentHash) " +
+           "FROM Question q ORDER BY q.id")
+    List<QuestionFingerprint> findAllFingerprints();
+
+    // Read-only projections straight into immutable records: no managed entities,
+    // dirty-checking snapshots or persistence-context bookkeeping.
+    // QuestionView includes answer and explanation (review); QuizQuestionView omits them (quiz-taking).
+
+    // All questions in id order, with answers
+    @Query("SELECT new com.promptquest.dto.QuestionView(q.id, q.question, q.optionA, q.optionB, q.optionC, q.optionD, " +
+           "q.correctAnswer, q.explanation, q.area, q.skill, q.difficulty, q.degree) FROM Question q ORDER BY q.id")
+    List<QuestionView> findAllViews();
+
+    // Keyset pagination with answers: next page of questions after the given id
+    @Query("SELECT new com.promptquest.dto.QuestionView(q.id, q.question, q.optionA, q.optionB, q.optionC, q.optionD, " +
+           "q.correctAnswer, q.explanation, q.area, q.skill, q.difficulty, q.degree) " +
+           "FROM Question q WHERE q.id > :afterId ORDER BY q.id")
+    List<QuestionView> findViewsAfter(@Param("afterId") long afterId, Pageable pageable);
+
+    // Keyset pagination without answers: next page of questions after the given id
+    @Query("SELECT new com.promptquest.dto.QuizQuestionView(q.id, q.question, q.optionA, q.optionB, q.optionC, q.optionD, " +
+           "q.area, q.skill, q.difficulty, q.degree) " +
+           "FROM Question q WHERE q.id > :afterId ORDER BY q.id")
+    List<QuizQuestionView> findQuizViewsAfter(@Param("afterId") long afterId, Pageable pageable);
 
     // Get all unique skills
     @Query("SELECT DISTINCT q.skill FROM Question q ORDER BY q.skill")
@@ -61,8 +129,17 @@ public interface QuestionRepository extends JpaRepository<Question, Long> {
     @Query("SELECT DISTINCT q.degree FROM Question q ORDER BY q.degree")
     List<String> findAllDegrees();
 
+    // Count questions per skill/area/degree/difficulty group in a single aggregation
+    @Query("SELECT new com.promptquest.dto.QuestionGroupCount(q.skill, q.area, q.degree, q.difficulty, COUNT(q)) " +
+           "FROM Question q GROUP BY q.skill, q.area, q.degree, q.difficulty")
+    List<QuestionGroupCount> countGroupedBySkillAreaDegreeDifficulty();
+
     // Count questions by skill
-    long countBySkillIgnoreCase(String skill);
+    long countBySkillKey(String skillKey);
+
+    default long countBySkillIgnoreCase(String skill) {
+        return countBySkillKey(Question.normalizeKey(skill));
+    }
 
     // Count questions by difficulty
     long countByDifficulty(Integer difficulty);
@@ -0,0 +1,126 @@
+package com.promptquest.repository;
+
+import com.promptquest.dto.QuestionSearchHit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Full-text index over question text, options and explanation.
+ *
+ * The index is an SQLite FTS5 table using the questions table as external
+ * content, so it stores only the inverted index and reads the text back from
+ * {@code questions} for snippets. Triggers on the questions table keep it in
+ * sync for every write path (JPA, bulk JDBC inserts, delta updates, deletes).
+ */
+@Repository
+public class QuestionSearchRepository {
+
+    private static final Logger logger = LoggerFactory.getLogger(QuestionSearchRepository.class);
+
+    public static final String INDEX_TABLE = "questions_fts";
+
+    private static final String COLUMNS = "question, option_a, option_b, option_c, option_d, explanation";
+    private static final String NEW_VALUES = "new.question, new.option_a, new.option_b, new.option_c, new.option_d, new.explanation";
+    private static final String OLD_VALUES = "old.question, old.option_a, old.option_b, old.option_c, old.option_d, old.explanation";
+
+    // Prefix indexes for 2 and 3 characters make short "term*" queries index lookups
+    private static final String CREATE_INDEX_SQL = "CREATE VIRTUAL TABLE IF NOT EXISTS " + INDEX_TABLE
+            + " USING fts5(" + COLUMNS + ", content='questions', content_rowid='id', "
+            + "tokenize='unicode61 remove_diacritics 2', prefix='2 3')";
+
+    // External content tables are updated with the special 'delete' command, which needs the old values
+    private static final String[] CREATE_TRIGGERS_SQL = {
+            "CREATE TRIGGER IF NOT EXISTS questions_fts_insert AFTER INSERT ON questions BEGIN "
+                    + "INSERT INTO " + INDEX_TABLE + " (rowid, " + COLUMNS + ") VALUES (new.id, " + NEW_VALUES + "); END",
+            "CREATE TRIGGER IF NOT EXISTS questions_fts_delete AFTER DELETE ON questions BEGIN "
+                    + "INSERT INTO " + INDEX_TABLE + " (" + INDEX_TABLE + ", rowid, " + COLUMNS + ") "
+                    + "VALUES ('delete', old.id, " + OLD_VALUES + "); END",
+            "CREATE TRIGGER IF NOT EXISTS questions_fts_update AFTER UPDATE OF " + COLUMNS + " ON questions BEGIN "
+                    + "INSERT INTO " + INDEX_TABLE + " (" + INDEX_TABLE + ", rowid, " + COLUMNS + ") "
+                    + "VALUES ('delete', old.id, " + OLD_VALUES + "); "
+                    + "INSERT INTO " + INDEX_TABLE + " (rowid, " + COLUMNS + ") VALUES (new.id, " + NEW_VALUES + "); END"
+    };
+
+    // Default ranking of the index, stored in its config table: bm25 with per-column weights,
+    // question text counting most and explanation least
+    private static final String RANK_FUNCTION = "bm25(10.0, 2.0, 2.0, 2.0, 2.0, 1.0)";
+
+    // rank is lower-is-better, so the score is negated for the response
+    private static final String SEARCH_SQL = "SELECT q.id, q.question, q.skill, q.area, q.difficulty, q.degree, "
+            + "-" + INDEX_TABLE + ".rank AS score, "
+            + "snippet(" + INDEX_TABLE + ", -1, '<mark>', '</mark>', '…', 12) AS snippet "
+            + "FROM " + INDEX_TABLE + " JOIN questions q ON q.id = " + INDEX_TABLE + ".rowid "
+            + "WHERE " + INDEX_TABLE + " MATCH ? "
+            + "AND (? IS NULL OR q.skill_key = ?) "
+            + "AND (? IS NULL OR q.difficulty = ?) "
+            + "AND (? IS NULL OR q.degree_key = ?) "
+            + "ORDER BY " + INDEX_TABLE + ".rank, q.id LIMIT ? OFFSET ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public QuestionSearchRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Create the index and its triggers if missing and set its rank function;
+     * a newly created index is populated from the existing questions
+     */
+    @Transactional
+    public void createIndex() {
+        Integer existing = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM sqlite_master WHERE type = 'table' AND name = ?", Integer.class, INDEX_TABLE);
+
+        jdbcTemplate.execute(CREATE_INDEX_SQL);
+        for (String trigger : CREATE_TRIGGERS_SQL) {
+            jdbcTemplate.execute(trigger);
+        }
+        // Set on every start so that changed weights also apply to existing indexes
+        jdbcTemplate.update("INSERT INTO " + INDEX_TABLE + " (" + INDEX_TABLE + ", rank) VALUES ('rank', ?)",
+                RANK_FUNCTION);
+
+        if (existing == null || existing == 0) {
+            long start = System.currentTimeMillis();
+            rebuildIndex();
+            logger.info("Created full-text index {} in {} ms", INDEX_TABLE, System.currentTimeMillis() - start);
+        }
+    }
+
+    /**
+     * Re-index all questions from the content table
+     */
+    @Transactional
+    public void rebuildIndex() {
+        jdbcTemplate.update("INSERT INTO " + INDEX_TABLE + " (" + INDEX_TABLE + ") VALUES ('rebuild')");
+    }
+
+    /**
+     * Ranked matches for an FTS5 query expression, optionally restricted by
+     * normalized skill key, difficulty and normalized degree key
+     */
+    @Transactional(readOnly = true)
+    public List<QuestionSearchHit> search(String matchExpression, String skillKey, Integer difficulty,
+                                          String degreeKey, int limit, int offset) {
+        List<QuestionSearchHit> hits = new ArrayList<>(Math.min(limit, 100));
+        jdbcTemplate.query(SEARCH_SQL, rs -> {
+            int difficultyValue = rs.getInt("difficulty");
+            Integer questionDifficulty = rs.wasNull() ? null : difficultyValue;
+            hits.add(new QuestionSearchHit(
+                    rs.getLong("id"),
+                    rs.getString("question"),
+                    rs.getString("skill"),
+                    rs.getString("area"),
+                    questionDifficulty,
+                    rs.getString("degree"),
+                    rs.getDouble("score"),
+                    rs.getString("snippet")));
+        }, matchExpression, skillKey, skillKey, difficulty, difficulty, degreeKey, degreeKey, limit, offset);
+        return hits;
+    }
+}
@@ -0,0 +1,119 @@
+package com.promptquest.service;
+
+import com.promptquest.dto.QuestionView;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
+
+/**
+ * Question positions of a catalog snapshot matching one (skill, degree)
+ * filter, split into one pool per difficulty level.
+ *
+ * Each pool is shuffled once when it is built. A session walks a pool as
+ * {@code pool[(start + k * stride) mod n]} with a stride coprime to n, which
+ * visits every position exactly once. Drawing the next unseen question of a
+ * difficulty is therefore O(1), and all a session needs to remember per pool
+ * is its start, stride and number of draws.
+ */
+public final class AdaptivePools {
+
+    public static final int MIN_DIFFICULTY = 1;
+    public static final int MAX_DIFFICULTY = 5;
+
+    private final int[][] pools;
+
+    private AdaptivePools(int[][] pools) {
+        this.pools = pools;
+    }
+
+    /**
+     * Split the given positions by difficulty; positions without a difficulty in
+     * [1, 5] are left out. The shuffle is seeded by {@code seed} so the pools of
+     * a filter are the same for the same bank.
+     */
+    static AdaptivePools build(List<QuestionView> questions, int[] positions, long seed) {
+        int[] sizes = new int[MAX_DIFFICULTY + 1];
+        for (int position : positions) {
+            Integer difficulty = questions.get(position).difficulty();
+            if (isValid(difficulty)) {
+                sizes[difficulty]++;
+            }
+        }
+
+        int[][] pools = new int[MAX_DIFFICULTY + 1][];
+        for (int d = MIN_DIFFICULTY; d <= MAX_DIFFICULTY; d++) {
+            pools[d] = new int[sizes[d]];
+        }
+        int[] fill = new int[MAX_DIFFICULTY + 1];
+        for (int position : positions) {
+            Integer difficulty = questions.get(position).difficulty();
+            if (isValid(difficulty)) {
+                pools[difficulty][fill[difficulty]++] = position;
+            }
+        }
+
+        SplittableRandom random = new SplittableRandom(seed);
+        for (int d = MIN_DIFFICULTY; d <= MAX_DIFFICULTY; d++) {
+            shuffle(pools[d], random);
+        }
+        return new AdaptivePools(pools);
+    }
+
+    public int size(int difficulty) {
+        return isValid(difficulty) ? pools[difficulty].length : 0;
+    }
+
+    public int size() {
+        int total = 0;
+        for (int d = MIN_DIFFICULTY; d <= MAX_DIFFICULTY; d++) {
+            total += pools[d].length;
+        }
+        return total;
+    }
+
+    /**
+     * The {@code k}-th position of the walk through the pool of a difficulty
+     */
+    int positionAt(int difficulty, int start, int stride, int k) {
+        int[] pool = pools[difficulty];
+        return pool[(int) ((start + (long) k * stride) % pool.length)];
+    }
+
+    /**
+     * A random stride coprime to the size of the pool of a difficulty
+     */
+    int randomStride(int difficulty, RandomGenerator random) {
+        int n = pools[difficulty].length;
+        if (n <= 2) {
+            return 1;
+        }
+        int stride = 1 + random.nextInt(n - 1);
+        while (gcd(stride, n) != 1) {
+            stride = stride % (n - 1) + 1;
+        }
+        return stride;
+    }
+
+    static boolean isValid(Integer difficulty) {
+        return difficulty != null && difficulty >= MIN_DIFFICULTY && difficulty <= MAX_DIFFICULTY;
+    }
+
+    private static int gcd(int a, int b) {
+        while (b != 0) {
+            int t = a % b;
+            a = b;
+            b = t;
+        }
+        return a;
+    }
+
+    private static void shuffle(int[] array, SplittableRandom random) {
+        for (int i = array.length - 1; i > 0; i--) {
+            int swap = random.nextInt(i + 1);
+            int tmp = array[i];
+            array[i] = array[swap];
+            array[swap] = tmp;
+        }
+    }
+}
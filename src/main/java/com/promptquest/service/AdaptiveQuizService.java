@@ -0,0 +1,211 @@
+package com.promptquest.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.promptquest.dto.AdaptiveQuizResult;
+import com.promptquest.dto.AdaptiveQuizStep;
+import com.promptquest.dto.QuestionView;
+import com.promptquest.entity.AdaptiveResult;
+import com.promptquest.repository.AdaptiveResultRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.UUID;
+import java.util.random.RandomGenerator;
+
+/**
+ * Runs adaptive quizzes: each answer moves the candidate one difficulty level
+ * up or down and the next unseen question is drawn from that level.
+ *
+ * Questions come from per-difficulty pools precomputed on the catalog
+ * snapshot, so a step is a constant-time draw without database access.
+ * Sessions live in a bounded in-memory cache like regular quiz sessions;
+ * only the result of a finished quiz is written to the database.
+ */
+@Service
+public class AdaptiveQuizService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AdaptiveQuizService.class);
+
+    public static final int DEFAULT_START_DIFFICULTY = 3;
+
+    @Autowired
+    private QuestionCatalog questionCatalog;
+
+    @Autowired
+    private AdaptiveResultRepository adaptiveResultRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${promptquest.adaptive.max-questions:50}")
+    private int maxQuestionsLimit;
+
+    private final Duration ttl;
+    private final Cache<String, AdaptiveSession> sessions;
+
+    public AdaptiveQuizService(@Value("${promptquest.sessions.max-size:10000}") long maxSize,
+                               @Value("${promptquest.sessions.ttl:2h}") Duration ttl) {
+        this.ttl = ttl;
+        this.sessions = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+
+    @PostConstruct
+    void registerMetrics() {
+        CaffeineCacheMetrics.monitor(meterRegistry, sessions, "adaptiveSessions");
+    }
+
+    /**
+     * Start an adaptive quiz of up to {@code count} questions over the questions matching skill and degree
+     * @throws IllegalArgumentException if the start difficulty is out of range or no question matches
+     */
+    public AdaptiveQuizStep start(int count, String skill, String degree, Integer startDifficulty,
+                                  RandomGenerator random) {
+        int difficulty = startDifficulty != null ? startDifficulty : DEFAULT_START_DIFFICULTY;
+        if (!AdaptivePools.isValid(difficulty)) {
+            throw new IllegalArgumentException("Start difficulty must be between "
+                    + AdaptivePools.MIN_DIFFICULTY + " and " + AdaptivePools.MAX_DIFFICULTY);
+        }
+
+        QuestionCatalog.Snapshot catalog = questionCatalog.current();
+        AdaptivePools pools = catalog.getAdaptivePools(skill, degree);
+        if (pools.size() == 0) {
+            throw new IllegalArgumentException("No questions with a difficulty match the selected filters");
+        }
+
+        int maxQuestions = Math.max(1, Math.min(count, Math.min(maxQuestionsLimit, pools.size())));
+        AdaptiveSession session = new AdaptiveSession(UUID.randomUUID().toString(), catalog, pools,
+                skill, degree, Instant.now(), maxQuestions, difficulty, random);
+        sessions.put(session.getId(), session);
+        return toStep(session, null);
+    }
+
+    /**
+     * Get an active adaptive quiz, or null if it is unknown, finished or has expired
+     */
+    public AdaptiveSession find(String sessionId) {
+        return sessions.getIfPresent(sessionId);
+    }
+
+    /**
+     * Current question of an active quiz
+     */
+    public AdaptiveQuizStep current(AdaptiveSession session) {
+        synchronized (session) {
+            return toStep(session, null);
+        }
+    }
+
+    /**
+     * Answer the current question; the result is stored and the session ends with the last answer
+     * @throws IllegalArgumentException if {@code questionId} is not the current question
+     * @throws IllegalStateException if the quiz is already finished
+     */
+    public AdaptiveQuizStep answer(AdaptiveSession session, Long questionId, String answer) {
+        AdaptiveQuizStep step;
+        synchronized (session) {
+            QuestionView current = session.getCurrentQuestion();
+            if (current == null) {
+                throw new IllegalStateException("Adaptive quiz is already finished");
+            }
+            if (questionId == null || questionId.longValue() != current.id()) {
+                throw new IllegalArgumentException("Question " + questionId + " is not the current question");
+            }
+            boolean correct = session.answer(answer);
+            step = toStep(session, correct);
+        }
+
+        if (step.finished() && sessions.asMap().remove(session.getId(), session)) {
+            saveResult(session, step.result());
+        }
+        return step;
+    }
+
+    public Instant expiresAt(AdaptiveSession session) {
+        return session.getStartedAt().plus(ttl);
+    }
+
+    /**
+     * Number of active adaptive quizzes and stored results
+     */
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> result = new HashMap<>();
+        result.put("activeSessions", sessions.estimatedSize());
+        result.put("storedResults", adaptiveResultRepository.count());
+        return result;
+    }
+
+    private AdaptiveQuizStep toStep(AdaptiveSession session, Boolean lastAnswerCorrect) {
+        QuestionView current = session.getCurrentQuestion();
+        if (current == null) {
+            return new AdaptiveQuizStep(session.getId(), expiresAt(session), session.getAnswered(),
+                    session.getMaxQuestions(), session.getDifficulty(), lastAnswerCorrect, true, null,
+                    toResult(session));
+        }
+        return new AdaptiveQuizStep(session.getId(), expiresAt(session), session.getQuestionNumber(),
+                session.getMaxQuestions(), session.getDifficulty(), lastAnswerCorrect, false,
+                current.toQuizView(), null);
+    }
+
+    private static AdaptiveQuizResult toResult(AdaptiveSession session) {
+        int total = session.getAnswered();
+        int points = 0;
+        int highestCorrect = 0;
+        List<Integer> path = new ArrayList<>(total);
+        for (int i = 0; i < total; i++) {
+            int difficulty = session.getDifficultyAt(i);
+            path.add(difficulty);
+            if (session.isCorrectAt(i)) {
+                points += difficulty;
+                highestCorrect = Math.max(highestCorrect, difficulty);
+            }
+        }
+        int correct = session.getCorrectCount();
+        double score = total > 0 ? (double) correct / total * 100 : 0;
+        return new AdaptiveQuizResult(total, correct, score, points, highestCorrect,
+                session.getDifficulty(), path);
+    }
+
+    private void saveResult(AdaptiveSession session, AdaptiveQuizResult result) {
+        StringJoiner path = new StringJoiner(",");
+        result.difficultyPath().forEach(difficulty -> path.add(difficulty.toString()));
+
+        AdaptiveResult entity = new AdaptiveResult();
+        entity.setSessionId(session.getId());
+        entity.setSkill(session.getSkill());
+        entity.setDegree(session.getDegree());
+        entity.setStartedAt(session.getStartedAt());
+        entity.setFinishedAt(Instant.now());
+        entity.setQuestionCount(result.totalQuestions());
+        entity.setCorrectCount(result.correctAnswers());
+        entity.setPoints(result.points());
+        entity.setHighestCorrectDifficulty(result.highestCorrectDifficulty());
+        entity.setFinalDifficulty(result.finalDifficulty());
+        entity.setDifficultyPath(path.toString());
+        entity.setCatalogVersion(session.getCatalogVersion());
+
+        try {
+            adaptiveResultRepository.save(entity);
+        } catch (RuntimeException e) {
+            // The candidate still gets the result; only the stored history misses it
+            logger.error("Failed to store adaptive quiz result {}: {}", entity, e.getMessage());
+        }
+    }
+}
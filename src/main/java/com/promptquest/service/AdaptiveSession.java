@@ -0,0 +1,187 @@
+package com.promptquest.service;
+
+import com.promptquest.dto.QuestionView;
+
+import java.time.Instant;
+import java.util.BitSet;
+import java.util.random.RandomGenerator;
+
+/**
+ * State of one adaptive quiz: each correct answer moves the candidate one
+ * difficulty level up, each wrong answer one level down.
+ *
+ * The questions already seen are implied by the number of draws from each
+ * difficulty pool (see {@link AdaptivePools}), so the state is a handful of
+ * ints per difficulty plus one entry per asked question, independent of the
+ * size of the bank. Not thread-safe; callers synchronize on the session.
+ */
+public final class AdaptiveSession {
+
+    private static final int LEVELS = AdaptivePools.MAX_DIFFICULTY + 1;
+
+    private final String id;
+    private final QuestionCatalog.Snapshot catalog;
+    private final AdaptivePools pools;
+    private final String skill;
+    private final String degree;
+    private final Instant startedAt;
+    private final int maxQuestions;
+
+    // Walk through each difficulty pool: start offset, stride and number of draws so far
+    private final int[] start = new int[LEVELS];
+    private final int[] stride = new int[LEVELS];
+    private final int[] drawn = new int[LEVELS];
+
+    // One entry per asked question; bit i of correct is set when answer i was right
+    private final int[] positions;
+    private final byte[] difficulties;
+    private final BitSet correct;
+    private int asked;
+    private int answered;
+    private int difficulty;
+
+    AdaptiveSession(String id, QuestionCatalog.Snapshot catalog, AdaptivePools pools, String skill, String degree,
+                    Instant startedAt, int maxQuestions, int startDifficulty, RandomGenerator random) {
+        this.id = id;
+        this.catalog = catalog;
+        this.pools = pools;
+        this.skill = skill;
+        this.degree = degree;
+        this.startedAt = startedAt;
+        this.maxQuestions = maxQuestions;
+        this.positions = new int[maxQuestions];
+        this.difficulties = new byte[maxQuestions];
+        this.correct = new BitSet(maxQuestions);
+        this.difficulty = startDifficulty;
+
+        for (int d = AdaptivePools.MIN_DIFFICULTY; d <= AdaptivePools.MAX_DIFFICULTY; d++) {
+            int size = pools.size(d);
+            if (size > 0) {
+                start[d] = random.nextInt(size);
+                stride[d] = pools.randomStride(d, random);
+            }
+        }
+        drawNext(0);
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    /**
+     * Persistent data version of the question bank the quiz draws from (see CatalogState),
+     * or -1 if unknown; unlike the in-process snapshot version it survives restarts
+     */
+    public long getCatalogVersion() {
+        return catalog.getDataVersion();
+    }
+
+    public String getSkill() {
+        return skill;
+    }
+
+    public String getDegree() {
+        return degree;
+    }
+
+    public Instant getStartedAt() {
+        return startedAt;
+    }
+
+    public int getMaxQuestions() {
+        return maxQuestions;
+    }
+
+    public int getAnswered() {
+        return answered;
+    }
+
+    public int getCorrectCount() {
+        return correct.cardinality();
+    }
+
+    /**
+     * Difficulty the next question is (or would be) drawn from
+     */
+    public int getDifficulty() {
+        return difficulty;
+    }
+
+    public boolean isFinished() {
+        return answered == asked;
+    }
+
+    /**
+     * The question waiting for an answer, or null once the quiz is finished
+     */
+    public QuestionView getCurrentQuestion() {
+        return isFinished() ? null : catalog.get(positions[answered]);
+    }
+
+    /**
+     * 1-based number of the current question
+     */
+    public int getQuestionNumber() {
+        return answered + 1;
+    }
+
+    /**
+     * Record the answer to the current question, move the difficulty and draw the next question
+     * @return whether the answer was correct
+     * @throws IllegalStateException if the quiz is already finished
+     */
+    boolean answer(String answer) {
+        if (isFinished()) {
+            throw new IllegalStateException("Adaptive quiz is already finished");
+        }
+        boolean isCorrect = catalog.isCorrect(positions[answered], answer);
+        if (isCorrect) {
+            correct.set(answered);
+        }
+        answered++;
+
+        difficulty = Math.max(AdaptivePools.MIN_DIFFICULTY,
+                Math.min(AdaptivePools.MAX_DIFFICULTY, difficulty + (isCorrect ? 1 : -1)));
+        if (asked < maxQuestions) {
+            drawNext(isCorrect ? 1 : -1);
+        }
+        return isCorrect;
+    }
+
+    /**
+     * Difficulty of the i-th asked question
+     */
+    public int getDifficultyAt(int i) {
+        return difficulties[i];
+    }
+
+    public boolean isCorrectAt(int i) {
+        return correct.get(i);
+    }
+
+    /**
+     * Draw an unseen question at the current difficulty, or at the nearest level that still
+     * has questions (first in the direction of the last move). Leaves the quiz finished when
+     * every pool is exhausted.
+     */
+    private void drawNext(int direction) {
+        int preferred = direction >= 0 ? 1 : -1;
+        for (int distance = 0; distance < LEVELS; distance++) {
+            if (tryDraw(difficulty + preferred * distance) || tryDraw(difficulty - preferred * distance)) {
+                return;
+            }
+        }
+    }
+
+    private boolean tryDraw(int level) {
+        if (level < AdaptivePools.MIN_DIFFICULTY || level > AdaptivePools.MAX_DIFFICULTY
+                || drawn[level] >= pools.size(level)) {
+            return false;
+        }
+        positions[asked] = pools.positionAt(level, start[level], stride[level], drawn[level]++);
+        difficulties[asked] = (byte) level;
+        asked++;
+        difficulty = level;
+        return true;
+    }
+}
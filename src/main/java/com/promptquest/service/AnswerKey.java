@@ -0,0 +1,29 @@
+package com.promptquest.service;
+
+/**
+ * Compact answer encoding shared by the answer keys and the attempt log:
+ * the letters A-D as their byte value, {@link #NONE} for anything else.
+ * Answers that encode to NONE are never correct.
+ */
+final class AnswerKey {
+
+    static final byte NONE = 0;
+
+    private AnswerKey() {
+    }
+
+    static byte encode(String answer) {
+        if (answer == null || answer.length() != 1) {
+            return NONE;
+        }
+        char letter = answer.charAt(0);
+        return letter >= 'A' && letter <= 'D' ? (byte) letter : NONE;
+    }
+
+    /**
+     * Check a submitted answer against an encoded key
+     */
+    static boolean matches(byte key, String answer) {
+        return key != NONE && key == encode(answer);
+    }
+}
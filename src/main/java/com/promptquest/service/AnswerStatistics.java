@@ -0,0 +1,87 @@
+package com.promptquest.service;
+
+import com.promptquest.dto.AttemptEvent;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+
+/**
+ * In-memory answer distribution per question.
+ *
+ * Counters are {@link LongAdder}s, which stripe their state across cells
+ * under contention, so concurrent grading threads can count answers to the
+ * same popular question without contending on one memory location.
+ */
+final class AnswerStatistics {
+
+    // Slots 0-3 count the letters A-D, slot 4 unanswered or invalid answers
+    static final int UNANSWERED = 4;
+
+    private final Map<Long, Counters> counters = new ConcurrentHashMap<>();
+
+    /**
+     * Count all answers of a graded attempt
+     */
+    void record(AttemptEvent attempt) {
+        for (int i = 0; i < attempt.size(); i++) {
+            Counters question = counters.computeIfAbsent(attempt.questionIds()[i], id -> new Counters());
+            question.picks[slot(attempt.answers()[i])].increment();
+            if (attempt.correct().get(i)) {
+                question.correct.increment();
+            }
+        }
+    }
+
+    /**
+     * Add previously stored counts (e.g. loaded from the database at startup)
+     */
+    void add(long questionId, String answer, long picks, long correct) {
+        Counters question = counters.computeIfAbsent(questionId, id -> new Counters());
+        question.picks[slot(AnswerKey.encode(answer))].add(picks);
+        question.correct.add(correct);
+    }
+
+    void clear() {
+        counters.clear();
+    }
+
+    int size() {
+        return counters.size();
+    }
+
+    /**
+     * Visit the counts of every question: picks per slot (A, B, C, D, unanswered) and number correct
+     */
+    void forEach(BiConsumer<Long, long[]> consumer) {
+        counters.forEach((questionId, question) -> consumer.accept(questionId, question.toArray()));
+    }
+
+    /**
+     * Counts of one question in the layout of {@link #forEach}, or null if it has no answers
+     */
+    long[] get(long questionId) {
+        Counters question = counters.get(questionId);
+        return question != null ? question.toArray() : null;
+    }
+
+    private static int slot(byte letter) {
+        return letter >= 'A' && letter <= 'D' ? letter - 'A' : UNANSWERED;
+    }
+
+    private static final class Counters {
+        final LongAdder[] picks = {new LongAdder(), new LongAdder(), new LongAdder(), new LongAdder(), new LongAdder()};
+        final LongAdder correct = new LongAdder();
+
+        // picks A, B, C, D, unanswered, then correct
+        long[] toArray() {
+            long[] values = new long[picks.length + 1];
+            for (int i = 0; i < picks.length; i++) {
+                values[i] = picks[i].sum();
+            }
+            values[picks.length] = correct.sum();
+            return values;
+        }
+    }
+}
@@ -0,0 +1,342 @@
+package com.promptquest.service;
+
+import com.promptquest.dto.AttemptEvent;
+import com.promptquest.dto.QuestionAnswerStats;
+import com.promptquest.dto.QuestionResult;
+import com.promptquest.dto.QuestionView;
+import com.promptquest.dto.QuizResult;
+import com.promptquest.repository.AttemptLogWriter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Write-behind log of graded quiz attempts.
+ *
+ * Grading only counts the answers in memory and puts the attempt into a
+ * bounded queue; a single background thread writes queued attempts to
+ * SQLite in batches of up to {@code promptquest.attempts.batch-size}, one
+ * transaction per batch. What happens when the queue is full is set by
+ * {@code promptquest.attempts.overflow} (see {@link OverflowPolicy}).
+ * Per-question answer counts are kept in memory, seeded from the stored
+ * attempts at startup, and served to the admin analytics endpoints.
+ */
+@Service
+public class AttemptLogService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AttemptLogService.class);
+
+    private static final String[] LETTERS = {"A", "B", "C", "D"};
+
+    /**
+     * What to do with a new attempt when the queue is full
+     */
+    public enum OverflowPolicy {
+        /** Drop the new attempt (grading never waits) */
+        DROP,
+        /** Drop the oldest queued attempt to make room (grading never waits) */
+        DROP_OLDEST,
+        /** Wait up to {@code promptquest.attempts.offer-timeout} for room, then drop the new attempt */
+        BLOCK
+    }
+
+    @Autowired
+    private AttemptLogWriter attemptLogWriter;
+
+    @Autowired
+    private QuestionCatalog questionCatalog;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${promptquest.attempts.enabled:true}")
+    private boolean enabled;
+
+    @Value("${promptquest.attempts.batch-size:5000}")
+    private int batchSize;
+
+    @Value("${promptquest.attempts.flush-interval:1s}")
+    private Duration flushInterval;
+
+    @Value("${promptquest.attempts.overflow:DROP}")
+    private OverflowPolicy overflowPolicy;
+
+    @Value("${promptquest.attempts.offer-timeout:50ms}")
+    private Duration offerTimeout;
+
+    private final BlockingQueue<AttemptEvent> queue;
+    private final AnswerStatistics statistics = new AnswerStatistics();
+
+    private final LongAdder accepted = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder persisted = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+
+    private volatile boolean running = true;
+    private Thread writer;
+
+    public AttemptLogService(@Value("${promptquest.attempts.queue-capacity:10000}") int queueCapacity) {
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, queueCapacity));
+    }
+
+    @PostConstruct
+    void start() {
+        Gauge.builder("promptquest.attempts.queued", queue, BlockingQueue::size)
+                .description("Graded attempts waiting to be written")
+                .register(meterRegistry);
+        writer = new Thread(this::runWriter, "attempt-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * Write the attempts still queued, then stop the writer
+     */
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        writer.interrupt();
+        writer.join(TimeUnit.SECONDS.toMillis(10));
+    }
+
+    /**
+     * Seed the in-memory answer counts from the stored attempts
+     */
+    public void loadStatistics() {
+        long start = System.currentTimeMillis();
+        statistics.clear();
+        attemptLogWriter.forEachAnswerCount(statistics::add);
+        logger.info("Loaded answer statistics for {} questions in {} ms",
+                statistics.size(), System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Log a graded submission: counts are updated immediately, the attempt itself is queued for writing
+     * @param mode how the submission was graded ("catalog" or "session")
+     * @param sessionId quiz session id, or null
+     */
+    public void record(String mode, String sessionId, long catalogVersion, QuizResult result) {
+        if (!enabled || result.questionResults().isEmpty()) {
+            return;
+        }
+        List<QuestionResult> results = result.questionResults();
+        long[] questionIds = new long[results.size()];
+        byte[] answers = new byte[results.size()];
+        BitSet correct = new BitSet(results.size());
+        for (int i = 0; i < results.size(); i++) {
+            QuestionResult question = results.get(i);
+            questionIds[i] = question.id();
+            answers[i] = AnswerKey.encode(question.userAnswer());
+            if (question.isCorrect()) {
+                correct.set(i);
+            }
+        }
+
+        AttemptEvent attempt = new AttemptEvent(UUID.randomUUID().toString(), mode, sessionId,
+                System.currentTimeMillis(), catalogVersion, questionIds, answers, correct);
+        statistics.record(attempt);
+        accepted.increment();
+        if (!enqueue(attempt)) {
+            dropped.increment();
+            meterRegistry.counter("promptquest.attempts.dropped").increment();
+        }
+    }
+
+    /**
+     * Answer statistics of all questions with at least {@code minAttempts} answers
+     * @param order "attempts" (most answered first), "hardest" (lowest percent correct first) or "easiest"
+     * @throws IllegalArgumentException for an unknown order
+     */
+    public List<QuestionAnswerStats> getQuestionStatistics(String order, long minAttempts, int limit) {
+        Comparator<long[]> comparator = switch (order) {
+            case "attempts" -> Comparator.comparingLong((long[] counts) -> -attempts(counts));
+            case "hardest" -> Comparator.comparingDouble(AttemptLogService::percentCorrect);
+            case "easiest" -> Comparator.comparingDouble((long[] counts) -> -percentCorrect(counts));
+            default -> throw new IllegalArgumentException(
+                    "Unknown order '" + order + "' (expected attempts, hardest or easiest)");
+        };
+
+        // Entries are (question id, counts...) so that ties resolve by id
+        List<long[]> entries = new ArrayList<>();
+        statistics.forEach((questionId, counts) -> {
+            if (attempts(counts) >= minAttempts) {
+                long[] entry = new long[counts.length + 1];
+                System.arraycopy(counts, 0, entry, 0, counts.length);
+                entry[counts.length] = questionId;
+                entries.add(entry);
+            }
+        });
+        entries.sort(comparator.thenComparingLong(entry -> entry[entry.length - 1]));
+
+        QuestionCatalog.Snapshot catalog = questionCatalog.current();
+        List<QuestionAnswerStats> result = new ArrayList<>(Math.min(limit, entries.size()));
+        for (int i = 0; i < entries.size() && i < limit; i++) {
+            long[] entry = entries.get(i);
+            result.add(toStats(catalog, entry[entry.length - 1], entry));
+        }
+        return result;
+    }
+
+    /**
+     * Answer statistics of one question, or null if it has never been answered
+     */
+    public QuestionAnswerStats getQuestionStatistics(long questionId) {
+        long[] counts = statistics.get(questionId);
+        return counts != null ? toStats(questionCatalog.current(), questionId, counts) : null;
+    }
+
+    /**
+     * Queue fill level and counts of accepted, written, dropped and failed attempts
+     */
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("queued", queue.size());
+        stats.put("queueCapacity", queue.size() + queue.remainingCapacity());
+        stats.put("overflowPolicy", overflowPolicy);
+        stats.put("accepted", accepted.sum());
+        stats.put("persisted", persisted.sum());
+        stats.put("dropped", dropped.sum());
+        stats.put("failed", failed.sum());
+        stats.put("batches", batches.sum());
+        stats.put("questionsTracked", statistics.size());
+        return stats;
+    }
+
+    private boolean enqueue(AttemptEvent attempt) {
+        switch (overflowPolicy) {
+            case DROP_OLDEST:
+                while (!queue.offer(attempt)) {
+                    if (queue.poll() != null) {
+                        dropped.increment();
+                        meterRegistry.counter("promptquest.attempts.dropped").increment();
+                    }
+                }
+                return true;
+            case BLOCK:
+                try {
+                    return queue.offer(attempt, offerTimeout.toNanos(), TimeUnit.NANOSECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+            default:
+                return queue.offer(attempt);
+        }
+    }
+
+    private void runWriter() {
+        List<AttemptEvent> batch = new ArrayList<>(batchSize);
+        while (true) {
+            if (!running) {
+                // Shutting down: write what is left without waiting for more
+                queue.drainTo(batch, batchSize);
+                if (batch.isEmpty()) {
+                    return;
+                }
+            } else {
+                try {
+                    collect(batch);
+                } catch (InterruptedException e) {
+                    running = false;
+                }
+            }
+            flush(batch);
+        }
+    }
+
+    /**
+     * Wait for the first attempt, then keep collecting until the batch is full
+     * or the flush interval has passed, so each transaction carries many attempts
+     */
+    private void collect(List<AttemptEvent> batch) throws InterruptedException {
+        AttemptEvent first = queue.poll(flushInterval.toNanos(), TimeUnit.NANOSECONDS);
+        if (first == null) {
+            return;
+        }
+        batch.add(first);
+        long deadline = System.nanoTime() + flushInterval.toNanos();
+        while (batch.size() < batchSize) {
+            queue.drainTo(batch, batchSize - batch.size());
+            long remaining = deadline - System.nanoTime();
+            if (batch.size() >= batchSize || remaining <= 0) {
+                return;
+            }
+            AttemptEvent next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                return;
+            }
+            batch.add(next);
+        }
+    }
+
+    private void flush(List<AttemptEvent> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            attemptLogWriter.insert(batch);
+            persisted.add(batch.size());
+            batches.increment();
+            logger.debug("Wrote {} attempts", batch.size());
+        } catch (RuntimeException e) {
+            // Answer counts already include these attempts; only their stored history is lost
+            failed.add(batch.size());
+            logger.error("Failed to write {} attempts: {}", batch.size(), e.getMessage());
+        } finally {
+            sample.stop(meterRegistry.timer("promptquest.attempts.flush"));
+            batch.clear();
+        }
+    }
+
+    private static QuestionAnswerStats toStats(QuestionCatalog.Snapshot catalog, long questionId, long[] counts) {
+        Map<String, Long> picks = new LinkedHashMap<>();
+        for (int i = 0; i < LETTERS.length; i++) {
+            picks.put(LETTERS[i], counts[i]);
+        }
+        QuestionView question = catalog.findById(questionId);
+        return new QuestionAnswerStats(questionId,
+                question != null ? question.question() : null,
+                question != null ? question.skill() : null,
+                question != null ? question.difficulty() : null,
+                question != null ? question.correctAnswer() : null,
+                attempts(counts), counts[AnswerStatistics.UNANSWERED + 1], percentCorrect(counts),
+                picks, counts[AnswerStatistics.UNANSWERED]);
+    }
+
+    private static long attempts(long[] counts) {
+        long total = 0;
+        for (int i = 0; i <= AnswerStatistics.UNANSWERED; i++) {
+            total += counts[i];
+        }
+        return total;
+    }
+
+    private static double percentCorrect(long[] counts) {
+        long total = attempts(counts);
+        return total > 0 ? (double) counts[AnswerStatistics.UNANSWERED + 1] / total * 100 : 0;
+    }
+}
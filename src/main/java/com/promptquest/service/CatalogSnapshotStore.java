@@ -0,0 +1,329 @@
+package com.promptquest.service;
+
+import com.promptquest.dto.QuestionView;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.CRC32C;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Binary snapshot file of the question catalog, used for fast cold starts.
+ *
+ * Layout (big-endian): a 48-byte header with magic, format version, the data
+ * version of the question bank the snapshot was taken at, question count,
+ * body length, a CRC32C of the body and the id of the database the questions
+ * were read from (so a recreated database with a matching data version is not
+ * mistaken for the original). The body holds three dictionaries
+ * (skill, area, degree) followed by the questions in id order; each question
+ * refers to its skill/area/degree by dictionary index (-1 for null) and
+ * stores its texts as length-prefixed UTF-8 (length -1 for null).
+ *
+ * Snapshots are written on a background thread to a temporary file that is
+ * then moved into place, so a crash never leaves a half-written snapshot.
+ * They are read through a read-only memory mapping.
+ */
+@Service
+public class CatalogSnapshotStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(CatalogSnapshotStore.class);
+
+    private static final int MAGIC = 0x50514353; // "PQCS"
+    private static final int FORMAT_VERSION = 2;
+    private static final int HEADER_SIZE = 48;
+
+    @Value("${promptquest.catalog-snapshot.enabled:true}")
+    private boolean enabled;
+
+    @Value("${promptquest.catalog-snapshot.path:db/catalog.snapshot}")
+    private Path path;
+
+    private final AtomicReference<QuestionCatalog.Snapshot> pending = new AtomicReference<>();
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "catalog-snapshot");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    /**
+     * Write the catalog to the snapshot file in the background. When several
+     * catalogs are scheduled before the writer gets to them, only the latest is written.
+     */
+    public void scheduleWrite(QuestionCatalog.Snapshot catalog) {
+        if (!enabled || catalog.getDataVersion() < 0 || catalog.getDatabaseId() == null) {
+            return;
+        }
+        if (pending.getAndSet(catalog) == null) {
+            executor.execute(this::writePending);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    /**
+     * Read the snapshot file
+     * @return the stored catalog, or null if there is no usable snapshot (missing,
+     *         other format version, failed checksum or truncated)
+     */
+    public Contents read() {
+        if (!enabled || !Files.isRegularFile(path)) {
+            return null;
+        }
+        long start = System.currentTimeMillis();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_SIZE) {
+                logger.warn("Catalog snapshot {} is truncated, ignoring it", path);
+                return null;
+            }
+            // The mapping stays valid after the channel is closed
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+
+            int magic = mapped.getInt(0);
+            int formatVersion = mapped.getInt(4);
+            long dataVersion = mapped.getLong(8);
+            int count = mapped.getInt(16);
+            long bodyLength = mapped.getLong(20);
+            int checksum = mapped.getInt(28);
+            UUID databaseId = new UUID(mapped.getLong(32), mapped.getLong(40));
+
+            if (magic != MAGIC || formatVersion != FORMAT_VERSION) {
+                logger.info("Catalog snapshot {} has an unsupported format, ignoring it", path);
+                return null;
+            }
+            if (bodyLength != size - HEADER_SIZE || bodyLength > Integer.MAX_VALUE) {
+                logger.warn("Catalog snapshot {} is truncated, ignoring it", path);
+                return null;
+            }
+
+            ByteBuffer body = mapped.slice(HEADER_SIZE, (int) bodyLength);
+            CRC32C crc = new CRC32C();
+            crc.update(body.duplicate());
+            if ((int) crc.getValue() != checksum) {
+                logger.warn("Catalog snapshot {} failed its checksum, ignoring it", path);
+                return null;
+            }
+
+            List<QuestionView> questions = decode(body, count);
+            logger.info("Read catalog snapshot {} ({} questions, data version {}) in {} ms",
+                    path, questions.size(), dataVersion, System.currentTimeMillis() - start);
+            return new Contents(dataVersion, databaseId, questions);
+
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Could not read catalog snapshot {}: {}", path, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Write the catalog to the snapshot file, replacing it atomically
+     */
+    public void write(QuestionCatalog.Snapshot catalog) throws IOException {
+        if (catalog.getDatabaseId() == null) {
+            throw new IllegalArgumentException("Catalog has no database id");
+        }
+        long start = System.currentTimeMillis();
+        Path directory = path.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path temp = Files.createTempFile(directory, path.getFileName().toString(), ".tmp");
+
+        try {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                channel.write(ByteBuffer.allocate(HEADER_SIZE), 0);
+                channel.position(HEADER_SIZE);
+
+                CRC32C crc = new CRC32C();
+                DataOutputStream out = new DataOutputStream(new CheckedOutputStream(
+                        new BufferedOutputStream(Channels.newOutputStream(channel), 1 << 16), crc));
+                encode(catalog.getQuestions(), out);
+                out.flush();
+
+                long bodyLength = channel.position() - HEADER_SIZE;
+                if (bodyLength > Integer.MAX_VALUE) {
+                    throw new IOException("Catalog is too large for a snapshot");
+                }
+                ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+                header.putInt(MAGIC)
+                        .putInt(FORMAT_VERSION)
+                        .putLong(catalog.getDataVersion())
+                        .putInt(catalog.size())
+                        .putLong(bodyLength)
+                        .putInt((int) crc.getValue())
+                        .putLong(catalog.getDatabaseId().getMostSignificantBits())
+                        .putLong(catalog.getDatabaseId().getLeastSignificantBits())
+                        .flip();
+                channel.write(header, 0);
+                channel.force(true);
+            }
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+        logger.info("Wrote catalog snapshot {} ({} questions, data version {}, {} bytes) in {} ms",
+                path, catalog.size(), catalog.getDataVersion(), Files.size(path), System.currentTimeMillis() - start);
+    }
+
+    private void writePending() {
+        QuestionCatalog.Snapshot catalog = pending.getAndSet(null);
+        if (catalog == null) {
+            return;
+        }
+        try {
+            write(catalog);
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Could not write catalog snapshot {}: {}", path, e.getMessage());
+        }
+    }
+
+    private static void encode(List<QuestionView> questions, DataOutputStream out) throws IOException {
+        Dictionary skills = new Dictionary();
+        Dictionary areas = new Dictionary();
+        Dictionary degrees = new Dictionary();
+        for (QuestionView q : questions) {
+            skills.add(q.skill());
+            areas.add(q.area());
+            degrees.add(q.degree());
+        }
+        skills.write(out);
+        areas.write(out);
+        degrees.write(out);
+
+        for (QuestionView q : questions) {
+            out.writeLong(q.id());
+            out.writeInt(skills.indexOf(q.skill()));
+            out.writeInt(areas.indexOf(q.area()));
+            out.writeInt(degrees.indexOf(q.degree()));
+            out.writeByte(q.difficulty() != null ? q.difficulty() : 0);
+            out.writeByte(AnswerKey.encode(q.correctAnswer()));
+            writeString(out, q.question());
+            writeString(out, q.optionA());
+            writeString(out, q.optionB());
+            writeString(out, q.optionC());
+            writeString(out, q.optionD());
+            writeString(out, q.explanation());
+        }
+    }
+
+    private static List<QuestionView> decode(ByteBuffer body, int count) {
+        String[] skills = readDictionary(body);
+        String[] areas = readDictionary(body);
+        String[] degrees = readDictionary(body);
+
+        List<QuestionView> questions = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            long id = body.getLong();
+            String skill = lookup(skills, body.getInt());
+            String area = lookup(areas, body.getInt());
+            String degree = lookup(degrees, body.getInt());
+            byte difficulty = body.get();
+            byte answer = body.get();
+            questions.add(new QuestionView(id, readString(body), readString(body), readString(body),
+                    readString(body), readString(body),
+                    answer != 0 ? String.valueOf((char) answer) : null,
+                    readString(body), area, skill,
+                    difficulty != 0 ? (int) difficulty : null, degree));
+        }
+        if (body.hasRemaining()) {
+            throw new IllegalStateException("Unexpected data after " + count + " questions");
+        }
+        return questions;
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer body) {
+        int length = body.getInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        body.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static String[] readDictionary(ByteBuffer body) {
+        String[] values = new String[body.getInt()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = readString(body);
+        }
+        return values;
+    }
+
+    private static String lookup(String[] dictionary, int index) {
+        return index >= 0 ? dictionary[index] : null;
+    }
+
+    /**
+     * Distinct non-null values in order of first use
+     */
+    private static final class Dictionary {
+        private final Map<String, Integer> indexes = new HashMap<>();
+        private final List<String> values = new ArrayList<>();
+
+        void add(String value) {
+            if (value != null && !indexes.containsKey(value)) {
+                indexes.put(value, values.size());
+                values.add(value);
+            }
+        }
+
+        int indexOf(String value) {
+            return value != null ? indexes.get(value) : -1;
+        }
+
+        void write(DataOutputStream out) throws IOException {
+            out.writeInt(values.size());
+            for (String value : values) {
+                writeString(out, value);
+            }
+        }
+    }
+
+    /**
+     * Questions read from a snapshot, with the data version and database id they were taken at
+     */
+    public record Contents(long dataVersion, UUID databaseId, List<QuestionView> questions) {
+    }
+}
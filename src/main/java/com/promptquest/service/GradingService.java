@@ -0,0 +1,101 @@
+package com.promptquest.service;
+
+import com.promptquest.dto.QuestionResult;
+import com.promptquest.dto.QuizResult;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Grades quiz submissions against the in-memory answer key.
+ * A submission is graded against a single catalog snapshot with no database access;
+ * graded submissions are handed to the write-behind attempt log.
+ */
+@Service
+public class GradingService {
+
+    static final String GRADING_TIMER = "promptquest.grading";
+
+    @Autowired
+    private QuestionCatalog questionCatalog;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private AttemptLogService attemptLogService;
+
+    /**
+     * Grade a submission of question id -> answer letter.
+     * Ids that are unknown to the catalog count toward the total but produce no result entry.
+     */
+    public QuizResult grade(Map<String, String> answers) {
+        QuestionCatalog.Snapshot catalog = questionCatalog.current();
+        QuizResult result = meterRegistry.timer(GRADING_TIMER, "mode", "catalog")
+                .record(() -> grade(catalog, answers));
+        attemptLogService.record("catalog", null, catalog.getDataVersion(), result);
+        return result;
+    }
+
+    QuizResult grade(QuestionCatalog.Snapshot catalog, Map<String, String> answers) {
+        List<QuestionResult> questionResults = new ArrayList<>(answers.size());
+
+        int correct = 0;
+        int total = answers.size();
+
+        for (Map.Entry<String, String> entry : answers.entrySet()) {
+            int index = catalog.indexOf(Long.parseLong(entry.getKey()));
+            if (index < 0) {
+                continue;
+            }
+
+            String userAnswer = entry.getValue();
+            boolean isCorrect = catalog.isCorrect(index, userAnswer);
+            if (isCorrect) correct++;
+
+            questionResults.add(QuestionResult.of(catalog.get(index), userAnswer, isCorrect));
+        }
+
+        double score = total > 0 ? (double) correct / total * 100 : 0;
+        return new QuizResult(total, correct, score, questionResults);
+    }
+
+    /**
+     * Grade a session submission against the answer key held by the session.
+     * Every question of the session counts toward the total; unanswered ones are wrong
+     * and answers to questions outside the session are ignored.
+     */
+    public QuizResult grade(QuizSession session, Map<String, String> answers) {
+        QuizResult result = meterRegistry.timer(GRADING_TIMER, "mode", "session")
+                .record(() -> gradeSession(session, answers));
+        attemptLogService.record("session", session.getId(), session.getCatalogVersion(), result);
+        return result;
+    }
+
+    private QuizResult gradeSession(QuizSession session, Map<String, String> answers) {
+        List<QuestionResult> questionResults = new ArrayList<>(session.size());
+        String[] submitted = new String[session.size()];
+
+        for (Map.Entry<String, String> entry : answers.entrySet()) {
+            int index = session.indexOf(Long.parseLong(entry.getKey()));
+            if (index >= 0) {
+                submitted[index] = entry.getValue();
+            }
+        }
+
+        int correct = 0;
+        for (int i = 0; i < submitted.length; i++) {
+            boolean isCorrect = session.isCorrect(i, submitted[i]);
+            if (isCorrect) correct++;
+            questionResults.add(QuestionResult.of(session.getQuestion(i), submitted[i], isCorrect));
+        }
+
+        int total = session.size();
+        double score = total > 0 ? (double) correct / total * 100 : 0;
+        return new QuizResult(total, correct, score, questionResults);
+    }
+}
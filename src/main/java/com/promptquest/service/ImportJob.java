@@ -0,0 +1,147 @@
+package com.promptquest.service;
+
+import com.promptquest.dto.ImportJobStatus;
+
+import java.nio.file.Path;
+import java.time.Instant;
+
+/**
+ * State of one background import. Counters are written by the import thread
+ * and read by status requests, so they are volatile.
+ */
+public class ImportJob {
+
+    public enum Status {
+        QUEUED, RUNNING, COMPLETED, FAILED, CANCELLED;
+
+        boolean isFinished() {
+            return this == COMPLETED || this == FAILED || this == CANCELLED;
+        }
+    }
+
+    private final String id;
+    private final String sourceName;
+    private final Path file;
+    private final long totalBytes;
+    private final boolean clearExisting;
+    private final Instant submittedAt = Instant.now();
+
+    private volatile boolean cleared;
+    private volatile Status status = Status.QUEUED;
+    private volatile boolean cancelRequested;
+    private volatile long recordsParsed;
+    private volatile long recordsWritten;
+    private volatile long bytesRead;
+    private volatile Instant startedAt;
+    private volatile Instant finishedAt;
+    private volatile String error;
+
+    // Rate of the current run (a resumed job restarts it)
+    private volatile long runStartNanos;
+    private volatile long runStartBytes;
+    private volatile long runStartRecords;
+
+    ImportJob(String id, String sourceName, Path file, long totalBytes, boolean clearExisting) {
+        this.id = id;
+        this.sourceName = sourceName;
+        this.file = file;
+        this.totalBytes = totalBytes;
+        this.clearExisting = clearExisting;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public Instant getSubmittedAt() {
+        return submittedAt;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    Path getFile() {
+        return file;
+    }
+
+    /**
+     * Whether existing questions still have to be cleared before writing
+     */
+    boolean isClearPending() {
+        return clearExisting && !cleared;
+    }
+
+    boolean isCancelRequested() {
+        return cancelRequested;
+    }
+
+    long getRecordsWritten() {
+        return recordsWritten;
+    }
+
+    void requestCancel() {
+        cancelRequested = true;
+    }
+
+    void queueForResume() {
+        status = Status.QUEUED;
+        cancelRequested = false;
+        error = null;
+        finishedAt = null;
+    }
+
+    void started() {
+        status = Status.RUNNING;
+        if (startedAt == null) {
+            startedAt = Instant.now();
+        }
+        recordsParsed = 0;
+        bytesRead = 0;
+        runStartNanos = System.nanoTime();
+        runStartBytes = -1;
+        runStartRecords = recordsWritten;
+    }
+
+    void parsed(long records, long bytes) {
+        recordsParsed = records;
+        bytesRead = bytes;
+        if (runStartBytes < 0 && records > recordsWritten) {
+            // Skipped records of a resumed run do not count toward the rate
+            runStartBytes = bytes;
+            runStartNanos = System.nanoTime();
+        }
+    }
+
+    void committed(long records) {
+        recordsWritten += records;
+    }
+
+    /**
+     * Existing questions have been cleared; a resumed run must not clear them again
+     */
+    void cleared() {
+        cleared = true;
+    }
+
+    void finished(Status finalStatus, String errorMessage) {
+        status = finalStatus;
+        error = errorMessage;
+        finishedAt = Instant.now();
+    }
+
+    public ImportJobStatus toStatus() {
+        double seconds = (System.nanoTime() - runStartNanos) / 1e9;
+        boolean running = status == Status.RUNNING;
+        double recordsPerSecond = running && seconds > 0 ? (recordsWritten - runStartRecords) / seconds : 0;
+
+        Long etaSeconds = null;
+        long runBytes = bytesRead - runStartBytes;
+        if (running && runStartBytes >= 0 && runBytes > 0 && seconds > 0) {
+            etaSeconds = Math.round((totalBytes - bytesRead) / (runBytes / seconds));
+        }
+
+        return new ImportJobStatus(id, sourceName, status.name(), clearExisting, recordsParsed, recordsWritten,
+                bytesRead, totalBytes, recordsPerSecond, etaSeconds, submittedAt, startedAt, finishedAt, error);
+    }
+}
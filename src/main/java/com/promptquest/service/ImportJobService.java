@@ -0,0 +1,293 @@
+package com.promptquest.service;
+
+import com.promptquest.dto.QuestionGroupCount;
+import com.promptquest.entity.Question;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Runs question imports as background jobs.
+ *
+ * The upload is first spooled to a file in {@code promptquest.import.job-dir},
+ * then parsed on a single import thread (SQLite has one writer) and written
+ * in batches of {@code promptquest.import.commit-size} questions, each in its
+ * own transaction. The write lock is therefore held for one batch at a time,
+ * and a failure only loses the batch in progress. Cancelled or failed jobs
+ * keep their file and can be resumed: the committed questions are skipped
+ * and writing continues with the next batch.
+ *
+ * With clearExisting the existing questions are deleted in the transaction
+ * of the first batch, and derived state (catalog, statistics, caches) is
+ * refreshed only when the run ends, so quiz reads keep seeing the old bank
+ * while the job runs. A clear-import that fails or is cancelled after its
+ * first batch leaves only the questions committed so far; resume it to
+ * complete the bank.
+ */
+@Service
+public class ImportJobService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ImportJobService.class);
+
+    @Autowired
+    private JsonImportService jsonImportService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Value("${promptquest.import.commit-size:5000}")
+    private int commitSize;
+
+    @Value("${promptquest.import.job-dir:db/import-jobs}")
+    private Path jobDirectory;
+
+    @Value("${promptquest.import.max-retained-jobs:50}")
+    private int maxRetainedJobs;
+
+    private final QuestionJsonReader questionJsonReader = new QuestionJsonReader();
+    private final Map<String, ImportJob> jobs = new ConcurrentHashMap<>();
+    // A dedicated platform thread rather than Spring's task executor (virtual in virtual-thread mode):
+    // jobs must run one at a time, as SQLite has a single writer
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "import-job");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Spool the content to disk and queue it for import
+     * @param content JSON content (already decompressed); not closed by this method
+     */
+    public ImportJob submit(InputStream content, String sourceName, boolean clearExisting) throws IOException {
+        Files.createDirectories(jobDirectory);
+        String id = UUID.randomUUID().toString();
+        Path file = jobDirectory.resolve(id + ".json");
+        try {
+            Files.copy(content, file);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(file);
+            throw e;
+        }
+
+        ImportJob job = new ImportJob(id, sourceName, file, Files.size(file), clearExisting);
+        jobs.put(id, job);
+        evictFinishedJobs();
+
+        logger.info("Import job {} queued for {} ({} bytes)", id, sourceName, Files.size(file));
+        executor.submit(() -> run(job));
+        return job;
+    }
+
+    public ImportJob find(String jobId) {
+        return jobs.get(jobId);
+    }
+
+    /**
+     * All known jobs, most recent first
+     */
+    public List<ImportJob> list() {
+        List<ImportJob> result = new ArrayList<>(jobs.values());
+        result.sort(Comparator.comparing(ImportJob::getSubmittedAt).reversed());
+        return result;
+    }
+
+    /**
+     * Cancel a job; a running job stops before its next batch is committed
+     * @return false if the job has already finished
+     */
+    public boolean cancel(ImportJob job) {
+        synchronized (job) {
+            if (job.getStatus().isFinished()) {
+                return false;
+            }
+            job.requestCancel();
+            if (job.getStatus() == ImportJob.Status.QUEUED) {
+                job.finished(ImportJob.Status.CANCELLED, null);
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Queue a cancelled or failed job again, continuing after its last committed batch
+     * @return false if the job cannot be resumed
+     */
+    public boolean resume(ImportJob job) {
+        synchronized (job) {
+            ImportJob.Status status = job.getStatus();
+            if ((status != ImportJob.Status.CANCELLED && status != ImportJob.Status.FAILED)
+                    || !Files.exists(job.getFile())) {
+                return false;
+            }
+            job.queueForResume();
+        }
+        logger.info("Import job {} resumed after {} committed questions", job.getId(), job.getRecordsWritten());
+        executor.submit(() -> run(job));
+        return true;
+    }
+
+    /**
+     * Forget a finished job and delete its spooled file
+     * @return false if the job is still queued or running
+     */
+    public boolean remove(ImportJob job) {
+        if (!job.getStatus().isFinished()) {
+            return false;
+        }
+        jobs.remove(job.getId());
+        deleteFile(job);
+        return true;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        jobs.values().forEach(ImportJob::requestCancel);
+        executor.shutdown();
+    }
+
+    private void run(ImportJob job) {
+        synchronized (job) {
+            // Skip stale submissions of a job that was cancelled while queued, or already resumed
+            if (job.getStatus() != ImportJob.Status.QUEUED) {
+                return;
+            }
+            job.started();
+        }
+
+        boolean clearPending = job.isClearPending();
+        long skip = job.getRecordsWritten();
+        List<Question> batch = new ArrayList<>(commitSize);
+        QuestionGroupCounter writtenGroups = new QuestionGroupCounter();
+        long[] parsed = {0};
+
+        try (CountingInputStream counting = new CountingInputStream(Files.newInputStream(job.getFile()));
+             InputStream input = new BufferedInputStream(counting)) {
+
+            questionJsonReader.read(input, question -> {
+                if (job.isCancelRequested()) {
+                    throw new CancelledException();
+                }
+                parsed[0]++;
+                job.parsed(parsed[0], counting.count);
+                if (parsed[0] <= skip) {
+                    return;
+                }
+                batch.add(question);
+                if (batch.size() >= commitSize) {
+                    commit(job, batch, writtenGroups);
+                }
+            });
+            commit(job, batch, writtenGroups);
+
+            job.finished(ImportJob.Status.COMPLETED, null);
+            deleteFile(job);
+            logger.info("Import job {} completed: {} questions", job.getId(), job.getRecordsWritten());
+
+        } catch (CancelledException e) {
+            job.finished(ImportJob.Status.CANCELLED, null);
+            logger.info("Import job {} cancelled after {} committed questions", job.getId(), job.getRecordsWritten());
+        } catch (IOException | RuntimeException e) {
+            String message = e instanceof UncheckedIOException ? e.getCause().getMessage() : e.getMessage();
+            job.finished(ImportJob.Status.FAILED, message);
+            logger.error("Import job {} failed after {} committed questions: {}",
+                    job.getId(), job.getRecordsWritten(), message);
+        } finally {
+            // Refresh derived state with everything committed by this run, however it ended
+            List<QuestionGroupCount> added = writtenGroups.toList();
+            if (clearPending && !job.isClearPending()) {
+                eventPublisher.publishEvent(QuestionsChangedEvent.replaced(added));
+            } else if (!added.isEmpty()) {
+                eventPublisher.publishEvent(QuestionsChangedEvent.imported(added));
+            }
+        }
+    }
+
+    private void commit(ImportJob job, List<Question> batch, QuestionGroupCounter writtenGroups) {
+        // A pending clear is committed even without questions, so importing an empty file still clears
+        boolean clear = job.isClearPending();
+        if (batch.isEmpty() && !clear) {
+            return;
+        }
+        jsonImportService.saveBatch(batch, clear);
+        if (clear) {
+            job.cleared();
+        }
+        batch.forEach(writtenGroups::add);
+        job.committed(batch.size());
+        batch.clear();
+        logger.debug("Import job {}: {} questions committed", job.getId(), job.getRecordsWritten());
+    }
+
+    private void evictFinishedJobs() {
+        List<ImportJob> finished = new ArrayList<>();
+        for (ImportJob job : list()) {
+            if (job.getStatus().isFinished()) {
+                finished.add(job);
+            }
+        }
+        for (int i = maxRetainedJobs; i < finished.size(); i++) {
+            remove(finished.get(i));
+        }
+    }
+
+    private void deleteFile(ImportJob job) {
+        try {
+            Files.deleteIfExists(job.getFile());
+        } catch (IOException e) {
+            logger.warn("Could not delete import job file {}: {}", job.getFile(), e.getMessage());
+        }
+    }
+
+    private static class CancelledException extends RuntimeException {
+        CancelledException() {
+            super(null, null, false, false);
+        }
+    }
+
+    private static class CountingInputStream extends FilterInputStream {
+
+        private volatile long count;
+
+        CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                count++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (n > 0) {
+                count += n;
+            }
+            return n;
+        }
+    }
+}
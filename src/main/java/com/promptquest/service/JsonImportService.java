@@ -1,20 +1,36 @@
 package com.promptquest.service;
 
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.promptquest.dto.ImportSummary;
+import com.promptquest.dto.QuestionFingerprint;
 import com.promptquest.entity.Question;
+import com.promptquest.repository.CatalogStateRepository;
+import com.promptquest.repository.QuestionBulkWriter;
 import com.promptquest.repository.QuestionRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.ResourceLoader;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Service for importing questions from JSON file
@@ -28,10 +44,31 @@ public class JsonImportService {
     @Autowired
     private QuestionRepository questionRepository;
 
+    @Autowired
+    private QuestionBulkWriter questionBulkWriter;
+
+    @Autowired
+    private CatalogStateRepository catalogStateRepository;
+
     @Autowired
     private ResourceLoader resourceLoader;
 
-    private final ObjectMapper objectMapper = new ObjectMapper();
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private QuestionStatisticsService questionStatisticsService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${promptquest.import.chunk-size:500}")
+    private int chunkSize;
+
+    private final QuestionJsonReader questionJsonReader = new QuestionJsonReader();
 
     /**
      * Import questions from JSON file
@@ -40,76 +77,228 @@ public class JsonImportService {
      */
     @Transactional
     public int importQuestionsFromJson(String jsonFilePath) {
+        logger.info("Starting import from: {}", jsonFilePath);
+
+        Resource resource = resourceLoader.getResource(jsonFilePath);
+        if (!resource.exists()) {
+            throw new RuntimeException("File not found: " + jsonFilePath);
+        }
+
+        try (InputStream inputStream = resource.getInputStream()) {
+            return importQuestions(inputStream, jsonFilePath);
+        } catch (IOException e) {
+            logger.error("Error reading JSON file: {}", e.getMessage());
+            throw new RuntimeException("Failed to read JSON file: " + jsonFilePath, e);
+        }
+    }
+
+    /**
+     * Import questions from a JSON stream.
+     *
+     * The document is read token by token: each element of the "questions"
+     * array is converted as soon as it has been parsed and written in chunks of
+     * {@code promptquest.import.chunk-size} through {@link QuestionBulkWriter},
+     * outside the persistence context. Memory use therefore stays flat
+     * regardless of the number of questions in the file.
+     *
+     * @param inputStream JSON content; not closed by this method
+     * @param sourceName name used in log and error messages
+     * @return number of questions imported
+     */
+    @Transactional
+    public int importQuestions(InputStream inputStream, String sourceName) {
+        long start = System.nanoTime();
         try {
-            logger.info("Starting import from: {}", jsonFilePath);
+            List<Question> chunk = new ArrayList<>(chunkSize);
+            QuestionGroupCounter importedGroups = new QuestionGroupCounter();
+            int[] importedCount = {0};
 
-            Resource resource = resourceLoader.getResource(jsonFilePath);
-            if (!resource.exists()) {
-                throw new RuntimeException("File not found: " + jsonFilePath);
-            }
+            questionJsonReader.read(inputStream, question -> {
+                chunk.add(question);
+                importedGroups.add(question);
+                importedCount[0]++;
 
-            JsonNode rootNode = objectMapper.readTree(resource.getInputStream());
-            JsonNode questionsNode = rootNode.get("questions");
+                if (chunk.size() >= chunkSize) {
+                    flushChunk(chunk);
+                    logger.debug("Imported {} questions so far from {}", importedCount[0], sourceName);
+                }
+            });
+            flushChunk(chunk);
+            recordImport(importedCount[0], System.nanoTime() - start);
+            eventPublisher.publishEvent(QuestionsChangedEvent.imported(importedGroups.toList()));
+            return importedCount[0];
 
-            if (questionsNode == null || !questionsNode.isArray()) {
-                throw new RuntimeException("Invalid JSON format: 'questions' array not found");
-            }
+        } catch (IOException e) {
+            logger.error("Error reading JSON file: {}", e.getMessage());
+            throw new RuntimeException("Failed to read JSON file: " + sourceName, e);
+        } catch (RuntimeException e) {
+            logger.error("Error importing questions: {}", e.getMessage());
+            throw new RuntimeException("Failed to import questions", e);
+        }
+    }
 
-            int importedCount = 0;
+    /**
+     * Bring the database in line with a JSON stream, writing only what changed.
+     *
+     * Each question in the file is matched to a stored question by its identity
+     * hash (skill + question text). Matches with the same content hash are left
+     * alone, matches with a different one are updated in place and keep their
+     * id, unmatched questions are inserted and stored questions missing from
+     * the file are deleted. Re-importing a large bank with a few edits
+     * therefore costs a few writes, and quizzes referring to unchanged or
+     * edited questions stay valid.
+     *
+     * @param inputStream JSON content; not closed by this method
+     * @param sourceName name used in log and error messages
+     */
+    @Transactional
+    public ImportSummary importDelta(InputStream inputStream, String sourceName) {
+        // Stored questions by identity; duplicates are matched in id order
+        Map<String, Deque<QuestionFingerprint>> stored = new HashMap<>();
+        for (QuestionFingerprint fingerprint : questionRepository.findAllFingerprints()) {
+            stored.computeIfAbsent(fingerprint.identityHash(), k -> new ArrayDeque<>()).add(fingerprint);
+        }
+
+        try {
+            List<Question> inserts = new ArrayList<>(chunkSize);
+            Map<Long, Question> updates = new LinkedHashMap<>();
+            QuestionGroupCounter addedGroups = new QuestionGroupCounter();
+            int[] counts = new int[3]; // added, changed, unchanged
+
+            questionJsonReader.read(inputStream, question -> {
+                question.updateLookupKeys();
+                Deque<QuestionFingerprint> matches = stored.get(question.getIdentityHash());
+                QuestionFingerprint match = matches == null ? null : matches.poll();
+
+                if (match == null) {
+                    inserts.add(question);
+                    addedGroups.add(question);
+                    counts[0]++;
+                    if (inserts.size() >= chunkSize) {
+                        flushChunk(inserts);
+                    }
+                } else if (!question.getContentHash().equals(match.contentHash())) {
+                    updates.put(match.id(), question);
+                    counts[1]++;
+                    if (updates.size() >= chunkSize) {
+                        applyUpdates(updates);
+                    }
+                } else {
+                    counts[2]++;
+                }
+            });
+            flushChunk(inserts);
+            applyUpdates(updates);
 
-            for (JsonNode questionNode : questionsNode) {
-                Question question = convertJsonToQuestion(questionNode);
-                questionRepository.save(question);
-                importedCount++;
-                logger.debug("Imported question {}: {}", importedCount, question.getQuestion().substring(0, Math.min(50, question.getQuestion().length())));
+            List<Long> removedIds = new ArrayList<>();
+            stored.values().forEach(remaining -> remaining.forEach(fingerprint -> removedIds.add(fingerprint.id())));
+            for (int from = 0; from < removedIds.size(); from += chunkSize) {
+                questionRepository.deleteAllByIdInBatch(
+                        removedIds.subList(from, Math.min(from + chunkSize, removedIds.size())));
             }
 
-            logger.info("Successfully imported {} questions", importedCount);
-            return importedCount;
+            ImportSummary summary = new ImportSummary(counts[0], counts[1], removedIds.size(), counts[2]);
+            logger.info("Delta import of {}: {} added, {} changed, {} removed, {} unchanged", sourceName,
+                    summary.added(), summary.changed(), summary.removed(), summary.unchanged());
+
+            if (summary.changed() > 0 || summary.removed() > 0) {
+                eventPublisher.publishEvent(new QuestionsChangedEvent("delta-import"));
+            } else if (summary.added() > 0) {
+                eventPublisher.publishEvent(QuestionsChangedEvent.imported(addedGroups.toList()));
+            }
+            return summary;
 
         } catch (IOException e) {
             logger.error("Error reading JSON file: {}", e.getMessage());
-            throw new RuntimeException("Failed to read JSON file: " + jsonFilePath, e);
-        } catch (Exception e) {
+            throw new RuntimeException("Failed to read JSON file: " + sourceName, e);
+        } catch (RuntimeException e) {
             logger.error("Error importing questions: {}", e.getMessage());
             throw new RuntimeException("Failed to import questions", e);
         }
     }
 
     /**
-     * Convert JSON node to Question entity
+     * Overwrite the content of stored questions (id -> new content) and detach them
      */
-    private Question convertJsonToQuestion(JsonNode questionNode) {
-        Question question = new Question();
-
-        // Basic question data
-        question.setQuestion(questionNode.get("question").asText());
-        question.setCorrectAnswer(questionNode.get("answer").asText());
-        question.setExplanation(questionNode.get("explanation").asText());
-        question.setDifficulty(questionNode.get("difficulty").asInt());
-        question.setArea(questionNode.get("area").asText());
-        question.setSkill(questionNode.get("skill").asText());
-        question.setDegree(questionNode.get("degree").asText());
-
-        // Parse options
-        Map<String, String> options = new HashMap<>();
-        JsonNode optionsNode = questionNode.get("options");
-
-        if (optionsNode != null && optionsNode.isArray()) {
-            for (JsonNode option : optionsNode) {
-                String key = option.get("key").asText();
-                String text = option.get("text").asText();
-                options.put(key, text);
-            }
+    private void applyUpdates(Map<Long, Question> updates) {
+        if (updates.isEmpty()) {
+            return;
+        }
+        for (Question existing : questionRepository.findAllById(updates.keySet())) {
+            existing.copyContentFrom(updates.get(existing.getId()));
         }
+        entityManager.flush();
+        entityManager.clear();
+        updates.clear();
+    }
 
-        // Set options (with defaults if missing)
-        question.setOptionA(options.getOrDefault("A", ""));
-        question.setOptionB(options.getOrDefault("B", ""));
-        question.setOptionC(options.getOrDefault("C", ""));
-        question.setOptionD(options.getOrDefault("D", ""));
+    /**
+     * Write a chunk of questions through the bulk insert path
+     */
+    private void flushChunk(List<Question> chunk) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        Timer.Sample sample = Timer.start(meterRegistry);
+        // Pending JPA changes of this transaction (e.g. a clear) go first
+        entityManager.flush();
+        questionBulkWriter.insert(chunk);
+        sample.stop(meterRegistry.timer("promptquest.import.flush"));
+
+        meterRegistry.counter("promptquest.import.records").increment(chunk.size());
+        chunk.clear();
+    }
+
+    /**
+     * Record duration and throughput of a completed import
+     */
+    private void recordImport(int count, long nanos) {
+        double recordsPerSecond = nanos > 0 ? count / (nanos / 1e9) : 0;
+        meterRegistry.timer("promptquest.import.duration").record(nanos, TimeUnit.NANOSECONDS);
+        DistributionSummary.builder("promptquest.import.throughput")
+                .baseUnit("records/s")
+                .description("Records per second of completed imports")
+                .register(meterRegistry)
+                .record(recordsPerSecond);
+
+        logger.info("Successfully imported {} questions in {} ms ({} records/s)",
+                count, TimeUnit.NANOSECONDS.toMillis(nanos), Math.round(recordsPerSecond));
+    }
+
+    /**
+     * Save a batch of questions in one transaction, flushing every chunk-size questions.
+     * Import jobs commit their input in such batches rather than in a single transaction.
+     * @param questions questions to save; the list itself is left unchanged
+     */
+    @Transactional
+    public void saveBatch(List<Question> questions) {
+        List<Question> chunk = new ArrayList<>(chunkSize);
+        for (Question question : questions) {
+            chunk.add(question);
+            if (chunk.size() >= chunkSize) {
+                flushChunk(chunk);
+            }
+        }
+        flushChunk(chunk);
+    }
 
-        return question;
+    /**
+     * Save a batch of questions like {@link #saveBatch(List)}, optionally deleting all existing
+     * questions first in the same transaction. The data version is bumped in that transaction
+     * too, so a snapshot file never matches a database with committed batches it lacks. No
+     * change event is published: callers that commit an import in several batches publish
+     * one when the whole import has ended.
+     */
+    @Transactional
+    public void saveBatch(List<Question> questions, boolean clearExisting) {
+        if (clearExisting) {
+            logger.info("Clearing all existing questions");
+            questionRepository.deleteAll();
+        }
+        saveBatch(questions);
+        if (clearExisting || !questions.isEmpty()) {
+            catalogStateRepository.bump();
+        }
     }
 
     /**
@@ -126,9 +315,26 @@ public class JsonImportService {
     public void clearAllQuestions() {
         logger.info("Clearing all existing questions");
         questionRepository.deleteAll();
+        eventPublisher.publishEvent(QuestionsChangedEvent.clear());
         logger.info("All questions cleared");
     }
 
+    /**
+     * Fill in the normalized lookup keys of questions stored before those columns existed
+     * @return number of questions updated
+     */
+    @Transactional
+    public int backfillLookupKeys() {
+        List<Question> questions = questionRepository.findWithMissingLookupKeys();
+        for (Question question : questions) {
+            question.updateLookupKeys();
+        }
+        if (!questions.isEmpty()) {
+            logger.info("Backfilled lookup keys for {} questions", questions.size());
+        }
+        return questions.size();
+    }
+
     /**
      * Import with option to clear existing data first
      */
@@ -141,22 +347,20 @@ public class JsonImportService {
     }
 
     /**
-     * Get import statistics
+     * Import from a stream with option to clear existing data first
      */
-    public Map<String, Object> getImportStatistics() {
-        Map<String, Object> stats = new HashMap<>();
-        stats.put("totalQuestions", questionRepository.count());
-        stats.put("skills", questionRepository.findAllSkills());
-        stats.put("areas", questionRepository.findAllAreas());
-        stats.put("degrees", questionRepository.findAllDegrees());
-
-        // Count by difficulty
-        Map<Integer, Long> difficultyCount = new HashMap<>();
-        for (int i = 1; i <= 5; i++) {
-            difficultyCount.put(i, questionRepository.countByDifficulty(i));
+    @Transactional
+    public int importQuestions(InputStream inputStream, String sourceName, boolean clearExisting) {
+        if (clearExisting) {
+            clearAllQuestions();
         }
-        stats.put("difficultyDistribution", difficultyCount);
+        return importQuestions(inputStream, sourceName);
+    }
 
-        return stats;
+    /**
+     * Get import statistics (served from incrementally maintained counters)
+     */
+    public Map<String, Object> getImportStatistics() {
+        return questionStatisticsService.getStatistics();
     }
-}
\ No newline at end of file
+}
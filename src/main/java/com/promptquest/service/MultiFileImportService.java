@@ -0,0 +1,354 @@
+package com.promptquest.service;
+
+import com.promptquest.dto.ImportFileResult;
+import com.promptquest.dto.MultiFileImportReport;
+import com.promptquest.dto.QuestionGroupCount;
+import com.promptquest.entity.Question;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.core.io.support.ResourcePatternResolver;
+import org.springframework.core.io.support.ResourcePatternUtils;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Imports every JSON file in a directory or matching a pattern.
+ *
+ * Files are parsed in parallel on a fork-join pool; converted questions are
+ * handed over in batches of {@code promptquest.import.commit-size} through a
+ * bounded queue to a single writer (the calling thread), which commits each
+ * batch in its own transaction. When the writer falls behind the queue fills
+ * up and parsers wait, so memory use is bounded by the queue capacity.
+ *
+ * With clearExisting the existing questions are deleted in the transaction
+ * of the first batch, and derived state is refreshed once all files are
+ * done. If the import fails after that batch, only the questions committed
+ * so far remain.
+ */
+@Service
+public class MultiFileImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(MultiFileImportService.class);
+
+    @Autowired
+    private JsonImportService jsonImportService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Value("${promptquest.import.commit-size:5000}")
+    private int commitSize;
+
+    @Value("${promptquest.import.parallelism:0}")
+    private int parallelism;
+
+    @Value("${promptquest.import.root:input}")
+    private Path importRoot;
+
+    @Value("${promptquest.import.queue-capacity:4}")
+    private int queueCapacity;
+
+    private final ResourcePatternResolver resourcePatternResolver;
+    private final QuestionJsonReader questionJsonReader = new QuestionJsonReader();
+
+    public MultiFileImportService(ResourceLoader resourceLoader) {
+        this.resourcePatternResolver = ResourcePatternUtils.getResourcePatternResolver(resourceLoader);
+    }
+
+    /**
+     * Whether a location refers to several files (a directory or a pattern) rather than one
+     */
+    public boolean isMultiFileLocation(String location) {
+        if (location.contains("*") || location.contains("?")) {
+            return true;
+        }
+        try {
+            Resource resource = resourcePatternResolver.getResource(withPrefix(location));
+            return resource.isFile() && resource.getFile().isDirectory();
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Import files from a client-supplied location, which is confined to
+     * {@code promptquest.import.root}: it must be a relative directory or pattern
+     * (e.g. {@code banks} or {@code banks/**}{@code /*.json}) without URL scheme or
+     * {@code ..} segments, and every matched file must lie inside the root
+     * @throws IllegalArgumentException if the location is not allowed or no files match
+     */
+    public MultiFileImportReport importFilesFromRoot(String location, boolean clearExisting) throws IOException {
+        if (location == null || location.isBlank()) {
+            throw new IllegalArgumentException("Location must not be empty");
+        }
+        String relative = location.trim().replace('\\', '/');
+        if (relative.contains(":") || relative.startsWith("/") || relative.startsWith("~")) {
+            throw new IllegalArgumentException("Location must be a path relative to the import root");
+        }
+        for (String segment : relative.split("/")) {
+            if (segment.equals("..")) {
+                throw new IllegalArgumentException("Location must not contain '..'");
+            }
+        }
+
+        Path root = importRoot.toAbsolutePath().normalize();
+        if (!Files.isDirectory(root)) {
+            throw new IllegalArgumentException("Import root " + importRoot + " does not exist");
+        }
+        Path realRoot = root.toRealPath();
+        String absolute = "file:" + root.toString().replace('\\', '/') + "/" + relative;
+
+        List<Resource> files = resolve(absolute);
+        for (Resource file : files) {
+            // Symbolic links and pattern matches must not lead out of the root
+            if (!file.isFile() || !file.getFile().toPath().toRealPath().startsWith(realRoot)) {
+                throw new IllegalArgumentException("Location " + location + " leaves the import root");
+            }
+        }
+        return importFiles(files, location, clearExisting);
+    }
+
+    /**
+     * Import all .json and .json.gz files in a directory, or all files matching an
+     * Ant-style pattern (e.g. {@code input/banks/**}{@code /*.json}). The location is
+     * not restricted, so it must come from configuration rather than from a request
+     * (see {@link #importFilesFromRoot}).
+     * @param location directory or pattern; file: is assumed when there is no prefix
+     * @throws IllegalArgumentException if no files match
+     */
+    public MultiFileImportReport importFiles(String location, boolean clearExisting) throws IOException {
+        return importFiles(resolve(location), location, clearExisting);
+    }
+
+    private MultiFileImportReport importFiles(List<Resource> files, String location, boolean clearExisting) {
+        if (files.isEmpty()) {
+            throw new IllegalArgumentException("No JSON files found at " + location);
+        }
+
+        long start = System.nanoTime();
+
+        int threads = Math.min(files.size(), parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+        logger.info("Importing {} files from {} with {} parser thread(s)", files.size(), location, threads);
+
+        FileProgress[] progress = new FileProgress[files.size()];
+        BlockingQueue<Batch> queue = new ArrayBlockingQueue<>(Math.max(1, queueCapacity));
+        QuestionGroupCounter writtenGroups = new QuestionGroupCounter();
+        AtomicBoolean clearPending = new AtomicBoolean(clearExisting);
+        AtomicBoolean aborted = new AtomicBoolean();
+        // Parsing is CPU-bound, so it gets platform threads up to the core count even in virtual-thread mode
+        ForkJoinPool pool = new ForkJoinPool(threads);
+
+        try {
+            for (int i = 0; i < files.size(); i++) {
+                progress[i] = new FileProgress(describe(files.get(i)));
+                int fileIndex = i;
+                pool.execute(() -> parse(files.get(fileIndex), fileIndex, progress[fileIndex], queue, aborted));
+            }
+            write(queue, files.size(), progress, writtenGroups, clearPending);
+        } finally {
+            // Releases parsers still waiting for queue space if the writer failed
+            aborted.set(true);
+            pool.shutdown();
+            List<QuestionGroupCount> added = writtenGroups.toList();
+            if (clearExisting && !clearPending.get()) {
+                eventPublisher.publishEvent(QuestionsChangedEvent.replaced(added));
+            } else if (!added.isEmpty()) {
+                eventPublisher.publishEvent(QuestionsChangedEvent.imported(added));
+            }
+        }
+
+        List<ImportFileResult> results = new ArrayList<>(progress.length);
+        long parsed = 0;
+        long written = 0;
+        int failed = 0;
+        for (FileProgress file : progress) {
+            results.add(new ImportFileResult(file.name, file.parsed, file.written, file.error));
+            parsed += file.parsed;
+            written += file.written;
+            if (file.error != null) {
+                failed++;
+            }
+        }
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        logger.info("Imported {} questions from {} files in {} ms ({} failed)", written, files.size(), elapsedMillis, failed);
+        return new MultiFileImportReport(location, files.size(), failed, parsed, written, elapsedMillis, results);
+    }
+
+    /**
+     * Single writer: commit batches until every parser has reported completion.
+     * A pending clear is committed together with the first batch.
+     */
+    private void write(BlockingQueue<Batch> queue, int fileCount, FileProgress[] progress,
+                       QuestionGroupCounter writtenGroups, AtomicBoolean clearPending) {
+        boolean anyFailed = false;
+        int finished = 0;
+        while (finished < fileCount) {
+            Batch batch;
+            try {
+                batch = queue.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while importing", e);
+            }
+
+            if (batch.questions == null) {
+                anyFailed |= progress[batch.fileIndex].error != null;
+                finished++;
+                continue;
+            }
+            jsonImportService.saveBatch(batch.questions, clearPending.get());
+            clearPending.set(false);
+            batch.questions.forEach(writtenGroups::add);
+            progress[batch.fileIndex].written += batch.questions.size();
+        }
+
+        // Files without questions still replace the bank, unless a file could not be read
+        if (clearPending.get() && !anyFailed) {
+            jsonImportService.saveBatch(List.of(), true);
+            clearPending.set(false);
+        }
+    }
+
+    private void parse(Resource file, int fileIndex, FileProgress progress, BlockingQueue<Batch> queue,
+                       AtomicBoolean aborted) {
+        List<Question> batch = new ArrayList<>(commitSize);
+        try (InputStream input = open(file)) {
+            questionJsonReader.read(input, question -> {
+                batch.add(question);
+                progress.parsed++;
+                if (batch.size() >= commitSize) {
+                    enqueue(queue, new Batch(fileIndex, new ArrayList<>(batch)), aborted);
+                    batch.clear();
+                }
+            });
+            if (!batch.isEmpty()) {
+                enqueue(queue, new Batch(fileIndex, new ArrayList<>(batch)), aborted);
+            }
+        } catch (AbortedException e) {
+            return;
+        } catch (IOException | RuntimeException e) {
+            progress.error = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+            logger.warn("Import of {} failed after {} questions: {}", progress.name, progress.parsed, progress.error);
+        }
+        try {
+            enqueue(queue, new Batch(fileIndex, null), aborted);
+        } catch (AbortedException e) {
+            // The writer has given up; nobody is waiting for this file any more
+        }
+    }
+
+    /**
+     * Hand a batch to the writer, waiting while the queue is full (backpressure)
+     */
+    private static void enqueue(BlockingQueue<Batch> queue, Batch batch, AtomicBoolean aborted) {
+        try {
+            while (!queue.offer(batch, 100, TimeUnit.MILLISECONDS)) {
+                if (aborted.get()) {
+                    throw new AbortedException();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AbortedException();
+        }
+    }
+
+    private InputStream open(Resource file) throws IOException {
+        InputStream input = new BufferedInputStream(file.getInputStream());
+        String name = file.getFilename();
+        return name != null && name.toLowerCase().endsWith(".gz") ? new GZIPInputStream(input) : input;
+    }
+
+    /**
+     * Latest modification time (epoch milliseconds) of the files at a directory or pattern,
+     * or 0 if none match
+     */
+    public long lastModified(String location) throws IOException {
+        long latest = 0;
+        for (Resource resource : resolve(location)) {
+            latest = Math.max(latest, resource.lastModified());
+        }
+        return latest;
+    }
+
+    private List<Resource> resolve(String location) throws IOException {
+        String prefixed = withPrefix(location);
+        boolean pattern = location.contains("*") || location.contains("?");
+        List<String> patterns = !pattern && isMultiFileLocation(location)
+                ? List.of(trimSlash(prefixed) + "/*.json", trimSlash(prefixed) + "/*.json.gz")
+                : List.of(prefixed);
+
+        // De-duplicate by URL and keep a stable order
+        Map<String, Resource> resources = new LinkedHashMap<>();
+        for (String pattern : patterns) {
+            for (Resource resource : resourcePatternResolver.getResources(pattern)) {
+                if (resource.isReadable()) {
+                    resources.putIfAbsent(resource.getURL().toString(), resource);
+                }
+            }
+        }
+        List<Resource> files = new ArrayList<>(resources.values());
+        files.sort(Comparator.comparing(this::describe));
+        return files;
+    }
+
+    private String describe(Resource resource) {
+        try {
+            return resource.isFile() ? resource.getFile().getPath() : resource.getURL().toString();
+        } catch (IOException e) {
+            return resource.getDescription();
+        }
+    }
+
+    private static String withPrefix(String location) {
+        return location.contains(":") ? location : "file:" + location;
+    }
+
+    private static String trimSlash(String location) {
+        return location.endsWith("/") ? location.substring(0, location.length() - 1) : location;
+    }
+
+    /**
+     * Questions parsed from one file, or the end-of-file marker when questions is null
+     */
+    private record Batch(int fileIndex, List<Question> questions) {
+    }
+
+    private static class FileProgress {
+        final String name;
+        volatile int parsed;
+        volatile int written;
+        volatile String error;
+
+        FileProgress(String name) {
+            this.name = name;
+        }
+    }
+
+    private static class AbortedException extends RuntimeException {
+        AbortedException() {
+            super(null, null, false, false);
+        }
+    }
+}
@@ -0,0 +1,303 @@
+package com.promptquest.service;
+
+import com.promptquest.dto.QuestionView;
+import com.promptquest.dto.QuizQuestionView;
+import com.promptquest.repository.CatalogStateRepository;
+import com.promptquest.repository.QuestionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-process, immutable catalog of all questions.
+ *
+ * The catalog is loaded from the database once (lazily on first use) and
+ * then serves all quiz read endpoints without touching SQLite. Whenever the
+ * questions table changes a new snapshot is built and swapped in atomically,
+ * so readers always see one consistent version.
+ *
+ * Every snapshot loaded from the database is also written to a binary
+ * snapshot file (see {@link CatalogSnapshotStore}). At startup the catalog
+ * can be restored from that file instead, as long as the database id and
+ * data version it was taken at still match the database.
+ */
+@Service
+public class QuestionCatalog {
+
+    private static final Logger logger = LoggerFactory.getLogger(QuestionCatalog.class);
+
+    @Autowired
+    private QuestionRepository questionRepository;
+
+    @Autowired
+    private CatalogStateRepository catalogStateRepository;
+
+    @Autowired
+    private CatalogSnapshotStore catalogSnapshotStore;
+
+    private final TransactionTemplate readTransaction;
+
+    private final AtomicLong versionCounter = new AtomicLong();
+
+    private volatile Snapshot snapshot;
+
+    public QuestionCatalog(PlatformTransactionManager transactionManager) {
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.readTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Get the current snapshot, loading it on first access
+     */
+    public Snapshot current() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            synchronized (this) {
+                current = snapshot;
+                if (current == null) {
+                    current = load();
+                    snapshot = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Rebuild the catalog from the database and swap it in
+     */
+    public synchronized Snapshot reload() {
+        Snapshot loaded = load();
+        snapshot = loaded;
+        return loaded;
+    }
+
+    /**
+     * Restore the catalog from the snapshot file if it is still current, i.e. it was
+     * taken of this database (same database id) at the data version and with the
+     * question count now in the database
+     * @return whether the catalog was restored
+     */
+    public synchronized boolean restoreSnapshot() {
+        // Gives a new database its id before any snapshot of it is written
+        catalogStateRepository.initialize();
+        CatalogSnapshotStore.Contents contents = catalogSnapshotStore.read();
+        if (contents == null) {
+            return false;
+        }
+        CatalogStateRepository.State state = catalogStateRepository.getState();
+        if (!contents.databaseId().equals(state.databaseId())) {
+            logger.info("Catalog snapshot was taken of another database ({}, this one is {})",
+                    contents.databaseId(), state.databaseId());
+            return false;
+        }
+        int stored = catalogStateRepository.countQuestions();
+        if (contents.dataVersion() != state.dataVersion() || contents.questions().size() != stored) {
+            logger.info("Catalog snapshot is stale (data version {} / {} questions, database has {} / {})",
+                    contents.dataVersion(), contents.questions().size(), state.dataVersion(), stored);
+            return false;
+        }
+
+        Snapshot restored = new Snapshot(versionCounter.incrementAndGet(), state.dataVersion(),
+                state.databaseId(), contents.questions());
+        snapshot = restored;
+        logger.info("Question catalog version {} restored from snapshot: {} questions",
+                restored.getVersion(), restored.size());
+        return true;
+    }
+
+    /**
+     * Record the change in the data version, within the transaction that changed the
+     * questions, so snapshot files taken before it are recognized as stale. Imports
+     * committed in several batches bump the version in each batch's transaction
+     * (see JsonImportService#saveBatch) and publish their event after the last commit,
+     * outside a transaction; nothing is left to record for those.
+     */
+    @EventListener
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void markChanged(QuestionsChangedEvent event) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            catalogStateRepository.bump();
+        }
+    }
+
+    /**
+     * Refresh once the transaction that changed the questions has committed
+     * (or immediately when published outside a transaction)
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onQuestionsChanged(QuestionsChangedEvent event) {
+        logger.debug("Questions changed ({}), reloading catalog", event.source());
+        reload();
+    }
+
+    private Snapshot load() {
+        long start = System.currentTimeMillis();
+        // The data version is read in the same transaction, so it matches the questions
+        CatalogStateRepository.State[] state = new CatalogStateRepository.State[1];
+        List<QuestionView> questions = readTransaction.execute(status -> {
+            state[0] = catalogStateRepository.getState();
+            return questionRepository.findAllViews();
+        });
+        Snapshot loaded = new Snapshot(versionCounter.incrementAndGet(), state[0].dataVersion(),
+                state[0].databaseId(), questions);
+        logger.info("Question catalog version {} loaded: {} questions in {} ms",
+                loaded.getVersion(), loaded.size(), System.currentTimeMillis() - start);
+        catalogSnapshotStore.scheduleWrite(loaded);
+        return loaded;
+    }
+
+    /**
+     * Immutable, versioned view of the question bank.
+     *
+     * Questions are held in id order; lookups binary-search a primitive id
+     * array and answers are kept as a compact one-byte-per-question key, so
+     * grading needs neither the database nor per-answer boxing.
+     */
+    public static final class Snapshot {
+
+        private final long version;
+        private final long dataVersion;
+        private final UUID databaseId;
+        private final long[] ids;
+        private final byte[] answerKey;
+        private final List<QuestionView> questions;
+        private final List<QuizQuestionView> quizQuestions;
+        private final QuestionSampler sampler;
+        private final Map<String, AdaptivePools> adaptivePools = new ConcurrentHashMap<>();
+
+        Snapshot(long version, List<QuestionView> loaded) {
+            this(version, -1, null, loaded);
+        }
+
+        Snapshot(long version, long dataVersion, UUID databaseId, List<QuestionView> loaded) {
+            int size = loaded.size();
+            List<QuestionView> views = new ArrayList<>(size);
+            List<QuizQuestionView> quizViews = new ArrayList<>(size);
+            long[] idArray = new long[size];
+            byte[] answers = new byte[size];
+
+            for (int i = 0; i < size; i++) {
+                QuestionView view = loaded.get(i);
+                views.add(view);
+                quizViews.add(view.toQuizView());
+                idArray[i] = view.id();
+                answers[i] = AnswerKey.encode(view.correctAnswer());
+            }
+
+            this.version = version;
+            this.dataVersion = dataVersion;
+            this.databaseId = databaseId;
+            this.ids = idArray;
+            this.answerKey = answers;
+            this.questions = Collections.unmodifiableList(views);
+            this.quizQuestions = Collections.unmodifiableList(quizViews);
+            this.sampler = QuestionSampler.build(this.questions);
+        }
+
+        public long getVersion() {
+            return version;
+        }
+
+        /**
+         * Data version of the question bank this snapshot was loaded at (see CatalogState),
+         * or -1 if unknown
+         */
+        public long getDataVersion() {
+            return dataVersion;
+        }
+
+        /**
+         * Id of the database this snapshot was loaded from (see CatalogState), or null if unknown
+         */
+        public UUID getDatabaseId() {
+            return databaseId;
+        }
+
+        public int size() {
+            return ids.length;
+        }
+
+        /**
+         * All questions in id order, including answers
+         */
+        public List<QuestionView> getQuestions() {
+            return questions;
+        }
+
+        /**
+         * All questions in id order, without answers; index-aligned with {@link #getQuestions()}
+         */
+        public List<QuizQuestionView> getQuizQuestions() {
+            return quizQuestions;
+        }
+
+        /**
+         * Position of the question with the given id, or -1 if not present
+         */
+        public int indexOf(long id) {
+            int index = Arrays.binarySearch(ids, id);
+            return index >= 0 ? index : -1;
+        }
+
+        /**
+         * Random sampling over positions in this snapshot
+         */
+        public QuestionSampler getSampler() {
+            return sampler;
+        }
+
+        /**
+         * Per-difficulty pools for adaptive quizzes over the questions matching
+         * skill and degree (null matches everything); built on first use.
+         * Only filters that match questions are kept, so the cache is bounded by the
+         * skill/degree combinations of the bank however many distinct values clients send.
+         */
+        public AdaptivePools getAdaptivePools(String skill, String degree) {
+            String normalizedSkill = QuestionSampler.normalize(skill);
+            String normalizedDegree = QuestionSampler.normalize(degree);
+            if (sampler.count(normalizedSkill, null, normalizedDegree) == 0) {
+                return AdaptivePools.build(questions, new int[0], 0);
+            }
+            String key = normalizedSkill + "|" + normalizedDegree;
+            return adaptivePools.computeIfAbsent(key, k -> AdaptivePools.build(questions,
+                    sampler.positions(normalizedSkill, null, normalizedDegree), Objects.hashCode(k)));
+        }
+
+        public QuestionView get(int index) {
+            return questions.get(index);
+        }
+
+        public QuestionView findById(long id) {
+            int index = indexOf(id);
+            return index >= 0 ? questions.get(index) : null;
+        }
+
+        /**
+         * Check an answer against the key for the question at the given position
+         */
+        public boolean isCorrect(int index, String answer) {
+            return AnswerKey.matches(answerKey[index], answer);
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.promptquest.service;
+
+import com.promptquest.dto.QuestionGroupCount;
+import com.promptquest.entity.Question;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Accumulates question counts per (skill, area, degree, difficulty) group,
+ * e.g. for the questions written by one import
+ */
+class QuestionGroupCounter {
+
+    private final Map<GroupKey, long[]> counts = new HashMap<>();
+
+    void add(Question question) {
+        add(question.getSkill(), question.getArea(), question.getDegree(), question.getDifficulty(), 1);
+    }
+
+    void add(QuestionGroupCount group) {
+        add(group.skill(), group.area(), group.degree(), group.difficulty(), group.count());
+    }
+
+    void add(String skill, String area, String degree, Integer difficulty, long count) {
+        counts.computeIfAbsent(new GroupKey(skill, area, degree, difficulty), k -> new long[1])[0] += count;
+    }
+
+    List<QuestionGroupCount> toList() {
+        List<QuestionGroupCount> groups = new ArrayList<>(counts.size());
+        for (Map.Entry<GroupKey, long[]> entry : counts.entrySet()) {
+            GroupKey key = entry.getKey();
+            groups.add(new QuestionGroupCount(key.skill(), key.area(), key.degree(), key.difficulty(),
+                    entry.getValue()[0]));
+        }
+        return groups;
+    }
+
+    private record GroupKey(String skill, String area, String degree, Integer difficulty) {
+    }
+}
@@ -0,0 +1,105 @@
+package com.promptquest.service;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.promptquest.entity.Question;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Streaming reader for the PromptQuest JSON import format.
+ *
+ * The document is read token by token; each element of the top-level
+ * "questions" array is converted to a {@link Question} and handed to the
+ * consumer as soon as it has been parsed, so only one question is held in
+ * memory at a time. Thread-safe; one instance can read many streams at once.
+ */
+public class QuestionJsonReader {
+
+    // The caller owns the input stream, so closing the parser must not close it
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .disable(JsonParser.Feature.AUTO_CLOSE_SOURCE);
+
+    /**
+     * Read all questions from the stream
+     * @param inputStream JSON content; not closed by this method
+     * @param consumer receives each converted question in document order
+     * @return number of questions read
+     */
+    public int read(InputStream inputStream, Consumer<Question> consumer) throws IOException {
+        try (JsonParser parser = objectMapper.getFactory().createParser(inputStream)) {
+            if (!moveToQuestionsArray(parser)) {
+                throw new IllegalArgumentException("Invalid JSON format: 'questions' array not found");
+            }
+
+            int count = 0;
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                JsonNode questionNode = objectMapper.readTree(parser);
+                consumer.accept(convertJsonToQuestion(questionNode));
+                count++;
+            }
+            return count;
+        }
+    }
+
+    /**
+     * Advance the parser to the start of the top-level "questions" array,
+     * skipping any other top-level fields
+     */
+    private boolean moveToQuestionsArray(JsonParser parser) throws IOException {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            return false;
+        }
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String fieldName = parser.getCurrentName();
+            JsonToken value = parser.nextToken();
+            if ("questions".equals(fieldName)) {
+                return value == JsonToken.START_ARRAY;
+            }
+            parser.skipChildren();
+        }
+        return false;
+    }
+
+    /**
+     * Convert JSON node to Question entity
+     */
+    Question convertJsonToQuestion(JsonNode questionNode) {
+        Question question = new Question();
+
+        // Basic question data
+        question.setQuestion(questionNode.get("question").asText());
+        question.setCorrectAnswer(questionNode.get("answer").asText());
+        question.setExplanation(questionNode.get("explanation").asText());
+        question.setDifficulty(questionNode.get("difficulty").asInt());
+        question.setArea(questionNode.get("area").asText());
+        question.setSkill(questionNode.get("skill").asText());
+        question.setDegree(questionNode.get("degree").asText());
+
+        // Parse options
+        Map<String, String> options = new HashMap<>();
+        JsonNode optionsNode = questionNode.get("options");
+
+        if (optionsNode != null && optionsNode.isArray()) {
+            for (JsonNode option : optionsNode) {
+                String key = option.get("key").asText();
+                String text = option.get("text").asText();
+                options.put(key, text);
+            }
+        }
+
+        // Set options (with defaults if missing)
+        question.setOptionA(options.getOrDefault("A", ""));
+        question.setOptionB(options.getOrDefault("B", ""));
+        question.setOptionC(options.getOrDefault("C", ""));
+        question.setOptionD(options.getOrDefault("D", ""));
+
+        return question;
+    }
+}
@@ -0,0 +1,92 @@
+package com.promptquest.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.promptquest.dto.QuestionPage;
+import com.promptquest.dto.QuestionView;
+import com.promptquest.dto.QuizQuestionView;
+import com.promptquest.repository.QuestionRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.LongFunction;
+
+/**
+ * Database-backed question listings that use constant server memory:
+ * keyset pagination on the id, also used page by page for NDJSON streaming.
+ * Rows are projected directly into immutable records, never into managed entities.
+ *
+ * The {@code includeAnswers} flag selects the review projection (with correct
+ * answer and explanation) or the quiz-taking projection (without).
+ */
+@Service
+public class QuestionListingService {
+
+    public static final int MAX_PAGE_SIZE = 1000;
+
+    static final int NDJSON_PAGE_SIZE = 500;
+
+    @Autowired
+    private QuestionRepository questionRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /**
+     * Get the page of questions following the given id (keyset pagination, no OFFSET scan)
+     */
+    @Transactional(readOnly = true)
+    public QuestionPage<?> getPage(long afterId, int size, boolean includeAnswers) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        PageRequest limit = PageRequest.ofSize(pageSize);
+        return includeAnswers
+                ? page(questionRepository.findViewsAfter(afterId, limit), pageSize, QuestionView::id)
+                : page(questionRepository.findQuizViewsAfter(afterId, limit), pageSize, QuizQuestionView::id);
+    }
+
+    /**
+     * Write all questions as newline-delimited JSON, one question per line.
+     * Each keyset page is read in its own short read transaction, so a slow
+     * client never holds one open for the whole download (which would block
+     * SQLite checkpoints and, in rollback-journal mode, every writer). The
+     * result is therefore not a single snapshot: a question changed during
+     * the download appears in whichever state its page was read in.
+     */
+    public void writeNdjson(OutputStream outputStream, boolean includeAnswers) throws IOException {
+        OutputStream out = new BufferedOutputStream(outputStream, 64 * 1024);
+        PageRequest limit = PageRequest.ofSize(NDJSON_PAGE_SIZE);
+        if (includeAnswers) {
+            writePages(out, afterId -> questionRepository.findViewsAfter(afterId, limit), QuestionView::id);
+        } else {
+            writePages(out, afterId -> questionRepository.findQuizViewsAfter(afterId, limit), QuizQuestionView::id);
+        }
+        out.flush();
+    }
+
+    private <T> void writePages(OutputStream out, LongFunction<List<T>> pageAfter, Function<T, Long> idOf)
+            throws IOException {
+        long afterId = 0;
+        List<T> items;
+        do {
+            items = pageAfter.apply(afterId);
+            for (T item : items) {
+                out.write(objectMapper.writeValueAsBytes(item));
+                out.write('\n');
+            }
+            if (!items.isEmpty()) {
+                afterId = idOf.apply(items.get(items.size() - 1));
+            }
+        } while (items.size() == NDJSON_PAGE_SIZE);
+    }
+
+    private static <T> QuestionPage<T> page(List<T> items, int pageSize, Function<T, Long> idOf) {
+        Long nextCursor = items.size() == pageSize ? idOf.apply(items.get(items.size() - 1)) : null;
+        return new QuestionPage<>(items, nextCursor);
+    }
+}
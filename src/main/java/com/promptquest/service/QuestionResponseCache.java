@@ -0,0 +1,224 @@
+package com.promptquest.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.promptquest.metrics.ServerTiming;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Cache of pre-serialized JSON responses for question listings.
+ *
+ * Each entry holds the identity and gzip encodings of one response together
+ * with a strong ETag, keyed by catalog version and request variant (e.g. the
+ * filter combination). The cache is size-bounded, so variants that are no
+ * longer requested are evicted; entries of older catalog versions are never
+ * served and are dropped as soon as the questions change.
+ */
+@Service
+public class QuestionResponseCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(QuestionResponseCache.class);
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final Cache<Key, CachedResponse> entries;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    public QuestionResponseCache(@Value("${promptquest.response-cache.max-entries:64}") long maxEntries) {
+        this.entries = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .recordStats()
+                .build();
+    }
+
+    @PostConstruct
+    void registerMetrics() {
+        CaffeineCacheMetrics.monitor(meterRegistry, entries, "questionResponses");
+    }
+
+    /**
+     * Get the cached response for a variant of the given catalog version,
+     * serializing the body produced by {@code bodySupplier} on a miss
+     * @param cacheable whether the response may be stored; pass false for variants
+     *                  whose filter values do not occur in the catalog
+     */
+    public CachedResponse get(QuestionCatalog.Snapshot catalog, String variant, boolean cacheable,
+                              Function<QuestionCatalog.Snapshot, Object> bodySupplier) {
+        if (!cacheable) {
+            misses.increment();
+            return serialize(catalog.getVersion(), bodySupplier.apply(catalog));
+        }
+
+        // The version is part of the key, so a response of an older catalog is never served
+        boolean[] created = new boolean[1];
+        CachedResponse cached = entries.get(new Key(catalog.getVersion(), variant), key -> {
+            created[0] = true;
+            return serialize(key.version(), bodySupplier.apply(catalog));
+        });
+        if (created[0]) {
+            misses.increment();
+        } else {
+            hits.increment();
+        }
+        return cached;
+    }
+
+    /**
+     * Drop all cached responses once the questions have changed
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onQuestionsChanged(QuestionsChangedEvent event) {
+        invalidate();
+    }
+
+    public void invalidate() {
+        entries.invalidateAll();
+        invalidations.increment();
+        logger.debug("Question response cache invalidated");
+    }
+
+    /**
+     * Hit/miss counters and current size
+     */
+    public Map<String, Object> getStatistics() {
+        long hitCount = hits.sum();
+        long missCount = misses.sum();
+        long requests = hitCount + missCount;
+
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("hits", hitCount);
+        stats.put("misses", missCount);
+        stats.put("hitRatio", requests > 0 ? (double) hitCount / requests : 0);
+        stats.put("invalidations", invalidations.sum());
+        stats.put("entries", entries.estimatedSize());
+        return stats;
+    }
+
+    private CachedResponse serialize(long version, Object body) {
+        long start = System.nanoTime();
+        try {
+            byte[] identity = objectMapper.writeValueAsBytes(body);
+
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream(identity.length / 4 + 64);
+            try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+                gzip.write(identity);
+            }
+
+            String hash = HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(identity), 0, 12);
+            ServerTiming.addSerialization(System.nanoTime() - start);
+            return new CachedResponse(identity, compressed.toByteArray(), "\"v" + version + "-" + hash + "\"");
+
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize question listing", e);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private record Key(long version, String variant) {
+    }
+
+    /**
+     * Pre-serialized response body in identity and gzip encodings.
+     * The gzip representation has its own strong ETag, derived from the identity one.
+     */
+    public record CachedResponse(byte[] identity, byte[] gzip, String etag) {
+
+        public String gzipEtag() {
+            return etag.substring(0, etag.length() - 1) + "-gz\"";
+        }
+
+        /**
+         * Whether an If-None-Match header matches either representation
+         */
+        public boolean matches(String ifNoneMatch) {
+            if (ifNoneMatch == null) {
+                return false;
+            }
+            String gzipEtag = gzipEtag();
+            for (String candidate : ifNoneMatch.split(",")) {
+                String tag = candidate.trim();
+                if (tag.equals("*") || tag.equals(etag) || tag.equals(gzipEtag)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Whether an Accept-Encoding header allows gzip: an explicit gzip entry
+         * takes precedence over {@code *}, and a q-value of 0 refuses the coding
+         */
+        public static boolean acceptsGzip(String acceptEncoding) {
+            if (acceptEncoding == null) {
+                return false;
+            }
+            double gzip = -1;
+            double wildcard = -1;
+            for (String entry : acceptEncoding.split(",")) {
+                String[] parts = entry.split(";");
+                String coding = parts[0].trim().toLowerCase(Locale.ROOT);
+                if (!coding.equals("gzip") && !coding.equals("*")) {
+                    continue;
+                }
+                double quality = quality(parts);
+                if (coding.equals("gzip")) {
+                    gzip = Math.max(gzip, quality);
+                } else {
+                    wildcard = Math.max(wildcard, quality);
+                }
+            }
+            return (gzip >= 0 ? gzip : wildcard) > 0;
+        }
+
+        /**
+         * The q parameter of one Accept-Encoding entry, 1 when absent and 0 when malformed
+         */
+        private static double quality(String[] parts) {
+            for (int i = 1; i < parts.length; i++) {
+                String parameter = parts[i].trim();
+                if (parameter.length() > 2 && Character.toLowerCase(parameter.charAt(0)) == 'q'
+                        && parameter.charAt(1) == '=') {
+                    try {
+                        return Double.parseDouble(parameter.substring(2).trim());
+                    } catch (NumberFormatException e) {
+                        return 0;
+                    }
+                }
+            }
+            return 1;
+        }
+    }
+}
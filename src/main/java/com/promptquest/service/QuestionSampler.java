@@ -0,0 +1,223 @@
+package com.promptquest.service;
+
+import com.promptquest.dto.QuestionView;
+import com.promptquest.entity.Question;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.random.RandomGenerator;
+
+/**
+ * Random sampling over the questions of a catalog snapshot.
+ *
+ * Question positions are grouped into buckets by (skill, difficulty, degree)
+ * and stored as primitive int arrays. A draw of k questions selects the
+ * matching buckets, picks k distinct positions from their combined range
+ * with Floyd's algorithm and shuffles the result, so each request costs
+ * O(k + number of buckets) regardless of the size of the bank.
+ */
+public final class QuestionSampler {
+
+    private final List<Bucket> buckets;
+
+    private QuestionSampler(List<Bucket> buckets) {
+        this.buckets = buckets;
+    }
+
+    /**
+     * Build the buckets for the given questions; positions refer to indexes in the list
+     */
+    static QuestionSampler build(List<QuestionView> questions) {
+        Map<BucketKey, List<Integer>> grouped = new HashMap<>();
+        for (int i = 0; i < questions.size(); i++) {
+            QuestionView q = questions.get(i);
+            BucketKey key = new BucketKey(normalize(q.skill()), q.difficulty(), normalize(q.degree()));
+            grouped.computeIfAbsent(key, k -> new ArrayList<>()).add(i);
+        }
+
+        List<Bucket> buckets = new ArrayList<>(grouped.size());
+        for (Map.Entry<BucketKey, List<Integer>> entry : grouped.entrySet()) {
+            List<Integer> positions = entry.getValue();
+            int[] array = new int[positions.size()];
+            for (int i = 0; i < array.length; i++) {
+                array[i] = positions.get(i);
+            }
+            buckets.add(new Bucket(entry.getKey(), array));
+        }
+        // Stable bucket order keeps seeded draws reproducible for the same bank
+        buckets.sort(Comparator.comparing(Bucket::key, BucketKey.ORDER));
+        return new QuestionSampler(Collections.unmodifiableList(buckets));
+    }
+
+    /**
+     * Number of questions matching the filter (null filter values match everything)
+     */
+    public int count(String skill, Integer difficulty, String degree) {
+        int total = 0;
+        for (Bucket bucket : matching(skill, difficulty, degree)) {
+            total += bucket.positions.length;
+        }
+        return total;
+    }
+
+    /**
+     * All positions matching the filter, in ascending (id) order
+     */
+    public int[] positions(String skill, Integer difficulty, String degree) {
+        int[] result = concat(matching(skill, difficulty, degree));
+        Arrays.sort(result);
+        return result;
+    }
+
+    /**
+     * Draw up to {@code count} distinct question positions matching the filter,
+     * in random order. Fewer are returned when not enough questions match.
+     */
+    public int[] sample(String skill, Integer difficulty, String degree, int count, RandomGenerator random) {
+        List<Bucket> selected = matching(skill, difficulty, degree);
+
+        // Prefix sums map a position in the combined range back to its bucket
+        int[] offsets = new int[selected.size() + 1];
+        for (int i = 0; i < selected.size(); i++) {
+            offsets[i + 1] = offsets[i] + selected.get(i).positions.length;
+        }
+        int total = offsets[selected.size()];
+        int k = Math.max(0, Math.min(count, total));
+
+        int[] picks = floydSample(total, k, random);
+        int[] result = new int[k];
+        for (int i = 0; i < k; i++) {
+            int bucketIndex = bucketFor(offsets, picks[i]);
+            result[i] = selected.get(bucketIndex).positions[picks[i] - offsets[bucketIndex]];
+        }
+        return result;
+    }
+
+    /**
+     * Positions of all questions whose skill is in {@code skills}, difficulty is within
+     * [minDifficulty, maxDifficulty] and degree is in {@code degrees}. Null or empty
+     * collections and null bounds do not restrict. Positions are grouped by bucket.
+     */
+    public int[] positions(Collection<String> skills, Integer minDifficulty, Integer maxDifficulty,
+                           Collection<String> degrees) {
+        Set<String> skillSet = normalizeAll(skills);
+        Set<String> degreeSet = normalizeAll(degrees);
+        List<Bucket> selected = matching(key ->
+                (skillSet == null || skillSet.contains(key.skill()))
+                        && (minDifficulty == null || (key.difficulty() != null && key.difficulty() >= minDifficulty))
+                        && (maxDifficulty == null || (key.difficulty() != null && key.difficulty() <= maxDifficulty))
+                        && (degreeSet == null || degreeSet.contains(key.degree())));
+        return concat(selected);
+    }
+
+    private List<Bucket> matching(String skill, Integer difficulty, String degree) {
+        String normalizedSkill = normalize(skill);
+        String normalizedDegree = normalize(degree);
+        return matching(key -> key.matches(normalizedSkill, difficulty, normalizedDegree));
+    }
+
+    private List<Bucket> matching(Predicate<BucketKey> filter) {
+        List<Bucket> selected = new ArrayList<>();
+        for (Bucket bucket : buckets) {
+            if (filter.test(bucket.key)) {
+                selected.add(bucket);
+            }
+        }
+        return selected;
+    }
+
+    private static int[] concat(List<Bucket> selected) {
+        int total = 0;
+        for (Bucket bucket : selected) {
+            total += bucket.positions.length;
+        }
+        int[] result = new int[total];
+        int offset = 0;
+        for (Bucket bucket : selected) {
+            System.arraycopy(bucket.positions, 0, result, offset, bucket.positions.length);
+            offset += bucket.positions.length;
+        }
+        return result;
+    }
+
+    private static Set<String> normalizeAll(Collection<String> values) {
+        if (values == null || values.isEmpty()) {
+            return null;
+        }
+        Set<String> normalized = new HashSet<>();
+        for (String value : values) {
+            normalized.add(normalize(value));
+        }
+        return normalized;
+    }
+
+    /**
+     * Floyd's algorithm for k distinct values in [0, n), followed by a
+     * Fisher-Yates shuffle of the k picks so the order is uniform as well
+     */
+    private static int[] floydSample(int n, int k, RandomGenerator random) {
+        Set<Integer> chosen = new HashSet<>(k * 2);
+        int[] picks = new int[k];
+        int size = 0;
+        for (int j = n - k; j < n; j++) {
+            int t = random.nextInt(j + 1);
+            int value = chosen.add(t) ? t : j;
+            if (value == j) {
+                chosen.add(j);
+            }
+            picks[size++] = value;
+        }
+        for (int i = k - 1; i > 0; i--) {
+            int swap = random.nextInt(i + 1);
+            int tmp = picks[i];
+            picks[i] = picks[swap];
+            picks[swap] = tmp;
+        }
+        return picks;
+    }
+
+    private static int bucketFor(int[] offsets, int position) {
+        int index = Arrays.binarySearch(offsets, position);
+        if (index >= 0) {
+            // Skip empty ranges that share the same offset
+            while (offsets[index + 1] == position) {
+                index++;
+            }
+            return index;
+        }
+        return -index - 2;
+    }
+
+    /**
+     * Normalized form used for case-insensitive matching (null for blank values)
+     */
+    public static String normalize(String value) {
+        return Question.normalizeKey(value);
+    }
+
+    private record BucketKey(String skill, Integer difficulty, String degree) {
+
+        static final Comparator<BucketKey> ORDER = Comparator
+                .comparing(BucketKey::skill, Comparator.nullsFirst(Comparator.<String>naturalOrder()))
+                .thenComparing(BucketKey::difficulty, Comparator.nullsFirst(Comparator.<Integer>naturalOrder()))
+                .thenComparing(BucketKey::degree, Comparator.nullsFirst(Comparator.<String>naturalOrder()));
+
+        boolean matches(String skillFilter, Integer difficultyFilter, String degreeFilter) {
+            return (skillFilter == null || skillFilter.equals(skill))
+                    && (difficultyFilter == null || difficultyFilter.equals(difficulty))
+                    && (degreeFilter == null || degreeFilter.equals(degree));
+        }
+    }
+
+    private record Bucket(BucketKey key, int[] positions) {
+    }
+}
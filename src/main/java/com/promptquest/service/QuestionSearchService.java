@@ -0,0 +1,109 @@
+package com.promptquest.service;
+
+import com.promptquest.dto.QuestionSearchHit;
+import com.promptquest.dto.QuestionSearchResult;
+import com.promptquest.repository.QuestionSearchRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Full-text search over the question bank.
+ *
+ * User input is never passed to FTS5 as query syntax: every whitespace
+ * separated term is quoted and all terms must match. A term ending in
+ * {@code *} is a prefix query, e.g. {@code "recurs*"} matches "recursion"
+ * and "recursive".
+ */
+@Service
+public class QuestionSearchService {
+
+    private static final Logger logger = LoggerFactory.getLogger(QuestionSearchService.class);
+
+    private static final int MAX_TERMS = 16;
+
+    @Autowired
+    private QuestionSearchRepository questionSearchRepository;
+
+    @Value("${promptquest.search.max-limit:100}")
+    private int maxLimit;
+
+    private volatile boolean available;
+
+    /**
+     * Create the search index if needed; search stays disabled when the
+     * SQLite build has no FTS5 support
+     */
+    public void initialize() {
+        try {
+            questionSearchRepository.createIndex();
+            available = true;
+        } catch (RuntimeException e) {
+            available = false;
+            logger.warn("Full-text search is not available: {}", e.getMessage());
+        }
+    }
+
+    public boolean isAvailable() {
+        return available;
+    }
+
+    /**
+     * Search questions, options and explanations
+     * @param query search terms; a trailing {@code *} makes a term a prefix query
+     * @param skill optional skill filter (case-insensitive)
+     * @param difficulty optional difficulty filter
+     * @param degree optional degree filter (case-insensitive)
+     * @throws IllegalArgumentException if the query contains no searchable term
+     * @throws IllegalStateException if the search index is not available
+     */
+    public QuestionSearchResult search(String query, String skill, Integer difficulty, String degree,
+                                       int limit, int offset) {
+        if (!available) {
+            throw new IllegalStateException("Full-text search is not available");
+        }
+        String matchExpression = toMatchExpression(query);
+        int pageSize = Math.max(1, Math.min(limit, maxLimit));
+        int start = Math.max(0, offset);
+
+        // One extra row tells whether another page follows without counting all matches
+        List<QuestionSearchHit> hits = questionSearchRepository.search(matchExpression,
+                QuestionSampler.normalize(skill), difficulty, QuestionSampler.normalize(degree), pageSize + 1, start);
+        boolean hasMore = hits.size() > pageSize;
+        if (hasMore) {
+            hits = hits.subList(0, pageSize);
+        }
+        return new QuestionSearchResult(query.trim(), hits, pageSize, start, hasMore);
+    }
+
+    /**
+     * Build an FTS5 query from user input: quoted terms joined with AND,
+     * keeping a trailing {@code *} as prefix operator
+     */
+    static String toMatchExpression(String query) {
+        if (query == null) {
+            throw new IllegalArgumentException("Search query must not be empty");
+        }
+        List<String> terms = new ArrayList<>();
+        for (String raw : query.trim().split("\\s+")) {
+            boolean prefix = raw.endsWith("*");
+            String term = raw.replace("\"", "").replace("*", "");
+            if (term.isEmpty()) {
+                continue;
+            }
+            terms.add("\"" + term + "\"" + (prefix ? "*" : ""));
+            if (terms.size() == MAX_TERMS) {
+                break;
+            }
+        }
+        if (terms.isEmpty()) {
+            throw new IllegalArgumentException("Search query must contain at least one term");
+        }
+        return String.join(" AND ", terms);
+    }
+}
@@ -0,0 +1,196 @@
+package com.promptquest.service;
+
+import com.promptquest.dto.QuestionGroupCount;
+import com.promptquest.repository.CatalogStateRepository;
+import com.promptquest.repository.QuestionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Question statistics maintained as in-memory counters.
+ *
+ * Counts per (skill, area, degree, difficulty) group are loaded with a single
+ * grouped query and then kept up to date from the {@link QuestionsChangedEvent}s
+ * published by imports, so reading the statistics is a snapshot read that does
+ * not touch the database.
+ *
+ * The counters are tagged with the data version they reflect (see
+ * {@link CatalogStateRepository}). A change is applied as a delta only if its
+ * transaction wrote the next version; a change already contained in the
+ * counters is ignored, and any other (a gap, or a batched import whose
+ * version is unknown) triggers a reload, so rows are never counted twice.
+ */
+@Service
+public class QuestionStatisticsService {
+
+    private static final Logger logger = LoggerFactory.getLogger(QuestionStatisticsService.class);
+
+    private static final Comparator<String> NULLS_FIRST = Comparator.nullsFirst(Comparator.naturalOrder());
+
+    @Autowired
+    private QuestionRepository questionRepository;
+
+    @Autowired
+    private CatalogStateRepository catalogStateRepository;
+
+    private final TransactionTemplate readTransaction;
+
+    private List<QuestionGroupCount> groups;
+
+    // Data version the counters reflect
+    private long dataVersion = -1;
+
+    private volatile Map<String, Object> statistics;
+
+    public QuestionStatisticsService(PlatformTransactionManager transactionManager) {
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.readTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Get the current statistics snapshot, loading the counters on first access
+     */
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> current = statistics;
+        if (current == null) {
+            synchronized (this) {
+                if (statistics == null) {
+                    reload();
+                }
+                current = statistics;
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Recompute all counters with one grouped aggregation query
+     */
+    public synchronized void reload() {
+        long start = System.currentTimeMillis();
+        // The data version is read in the same transaction, so it matches the counts
+        long[] version = new long[1];
+        List<QuestionGroupCount> loaded = readTransaction.execute(status -> {
+            version[0] = catalogStateRepository.getState().dataVersion();
+            return questionRepository.countGroupedBySkillAreaDegreeDifficulty();
+        });
+        publish(loaded, version[0]);
+        logger.debug("Question statistics loaded in {} ms", System.currentTimeMillis() - start);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        getStatistics();
+    }
+
+    /**
+     * Note the data version written by the modifying transaction (bumped by the
+     * catalog's listener, which runs first) and apply the change once that
+     * transaction has committed. Events published outside a transaction apply at once.
+     */
+    @EventListener
+    @Order(Ordered.HIGHEST_PRECEDENCE + 1)
+    public void onQuestionsChanged(QuestionsChangedEvent event) {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            apply(event, -1);
+            return;
+        }
+        long version = catalogStateRepository.getState().dataVersion();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                apply(event, version);
+            }
+        });
+    }
+
+    /**
+     * @param eventVersion data version written by the change, or -1 if unknown
+     */
+    synchronized void apply(QuestionsChangedEvent event, long eventVersion) {
+        if (groups == null) {
+            // Not loaded yet; the first read will see the committed rows
+            return;
+        }
+        if (eventVersion >= 0 && eventVersion <= dataVersion) {
+            // Committed before the counters were loaded, so already counted
+            return;
+        }
+        if (eventVersion < 0 || eventVersion != dataVersion + 1) {
+            reload();
+        } else if (event.cleared()) {
+            publish(event.added() != null ? event.added() : List.of(), eventVersion);
+        } else if (event.added() != null) {
+            QuestionGroupCounter counter = new QuestionGroupCounter();
+            groups.forEach(counter::add);
+            event.added().forEach(counter::add);
+            publish(counter.toList(), eventVersion);
+        } else {
+            reload();
+        }
+    }
+
+    private void publish(List<QuestionGroupCount> newGroups, long version) {
+        groups = List.copyOf(newGroups);
+        dataVersion = version;
+        statistics = buildStatistics(groups);
+    }
+
+    private static Map<String, Object> buildStatistics(List<QuestionGroupCount> groups) {
+        long total = 0;
+        TreeSet<String> skills = new TreeSet<>(NULLS_FIRST);
+        TreeSet<String> areas = new TreeSet<>(NULLS_FIRST);
+        TreeSet<String> degrees = new TreeSet<>(NULLS_FIRST);
+        Map<Integer, Long> difficultyCount = new LinkedHashMap<>();
+        for (int i = 1; i <= 5; i++) {
+            difficultyCount.put(i, 0L);
+        }
+        // skill -> difficulty -> degree -> count
+        Map<String, Map<Integer, Map<String, Long>>> matrix = new TreeMap<>();
+
+        for (QuestionGroupCount group : groups) {
+            total += group.count();
+            skills.add(group.skill());
+            areas.add(group.area());
+            degrees.add(group.degree());
+            if (group.difficulty() != null) {
+                difficultyCount.merge(group.difficulty(), group.count(), Long::sum);
+                matrix.computeIfAbsent(Objects.toString(group.skill(), ""), k -> new TreeMap<>())
+                        .computeIfAbsent(group.difficulty(), k -> new TreeMap<>())
+                        .merge(Objects.toString(group.degree(), ""), group.count(), Long::sum);
+            }
+        }
+
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("totalQuestions", total);
+        stats.put("skills", Collections.unmodifiableList(new ArrayList<>(skills)));
+        stats.put("areas", Collections.unmodifiableList(new ArrayList<>(areas)));
+        stats.put("degrees", Collections.unmodifiableList(new ArrayList<>(degrees)));
+        stats.put("difficultyDistribution", Collections.unmodifiableMap(difficultyCount));
+        stats.put("skillDifficultyDegreeMatrix", Collections.unmodifiableMap(matrix));
+        return Collections.unmodifiableMap(stats);
+    }
+}
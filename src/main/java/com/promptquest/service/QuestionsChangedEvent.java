@@ -0,0 +1,36 @@
+package com.promptquest.service;
+
+import com.promptquest.dto.QuestionGroupCount;
+
+import java.util.List;
+
+/**
+ * Published whenever the questions table is modified (import or clear).
+ * Listeners that keep derived in-memory state refresh themselves after commit.
+ *
+ * @param source short description of the change (e.g. "import", "clear")
+ * @param cleared whether all questions were removed (before {@code added} were written)
+ * @param added questions added by the change, grouped by skill/area/degree/difficulty;
+ *              null when the change is not a pure addition and derived state must be rebuilt
+ */
+public record QuestionsChangedEvent(String source, boolean cleared, List<QuestionGroupCount> added) {
+
+    public QuestionsChangedEvent(String source) {
+        this(source, false, null);
+    }
+
+    public static QuestionsChangedEvent clear() {
+        return new QuestionsChangedEvent("clear", true, List.of());
+    }
+
+    public static QuestionsChangedEvent imported(List<QuestionGroupCount> added) {
+        return new QuestionsChangedEvent("import", false, List.copyOf(added));
+    }
+
+    /**
+     * All questions were removed and replaced by the added ones
+     */
+    public static QuestionsChangedEvent replaced(List<QuestionGroupCount> added) {
+        return new QuestionsChangedEvent("import", true, List.copyOf(added));
+    }
+}
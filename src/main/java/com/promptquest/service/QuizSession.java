@@ -0,0 +1,78 @@
+package com.promptquest.service;
+
+import com.promptquest.dto.QuestionView;
+
+import java.time.Instant;
+import java.util.Arrays;
+
+/**
+ * Server-side quiz session: the questions handed to one candidate, their answer key and the start time.
+ * Immutable; the question views are shared with the catalog snapshot the session was created from.
+ */
+public final class QuizSession {
+
+    private final String id;
+    private final long catalogVersion;
+    private final Instant startedAt;
+    private final long[] questionIds;
+    private final byte[] answerKey;
+    private final QuestionView[] questions;
+
+    QuizSession(String id, long catalogVersion, Instant startedAt, QuestionView[] questions) {
+        this.id = id;
+        this.catalogVersion = catalogVersion;
+        this.startedAt = startedAt;
+        this.questions = questions;
+        this.questionIds = new long[questions.length];
+        this.answerKey = new byte[questions.length];
+        for (int i = 0; i < questions.length; i++) {
+            questionIds[i] = questions[i].id();
+            answerKey[i] = AnswerKey.encode(questions[i].correctAnswer());
+        }
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    /**
+     * Persistent data version of the question bank the session was drawn from (see CatalogState), or -1 if unknown
+     */
+    public long getCatalogVersion() {
+        return catalogVersion;
+    }
+
+    public Instant getStartedAt() {
+        return startedAt;
+    }
+
+    public int size() {
+        return questions.length;
+    }
+
+    public QuestionView getQuestion(int index) {
+        return questions[index];
+    }
+
+    /**
+     * Position of the question in this session, or -1 if it is not part of it
+     */
+    public int indexOf(long questionId) {
+        for (int i = 0; i < questionIds.length; i++) {
+            if (questionIds[i] == questionId) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    public boolean isCorrect(int index, String answer) {
+        return AnswerKey.matches(answerKey[index], answer);
+    }
+
+    @Override
+    public String toString() {
+        return "QuizSession{id='" + id + "', catalogVersion=" + catalogVersion
+                + ", startedAt=" + startedAt + ", questionIds=" + Arrays.toString(questionIds) + '}';
+    }
+}
@@ -0,0 +1,120 @@
+package com.promptquest.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.promptquest.dto.QuestionView;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.random.RandomGenerator;
+
+/**
+ * Issues and holds server-side quiz sessions.
+ *
+ * Sessions live in a size-bounded in-memory cache: they expire a fixed time
+ * after they were started, and once the cache is full Caffeine evicts entries
+ * by its frequency-based admission policy. Grading a session is a local lookup
+ * with no database access. Session length is capped by
+ * {@code promptquest.sessions.max-questions}, which bounds the memory a full
+ * cache can hold.
+ */
+@Service
+public class QuizSessionService {
+
+    @Autowired
+    private QuestionCatalog questionCatalog;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${promptquest.sessions.max-questions:200}")
+    private int maxQuestions;
+
+    private final Duration ttl;
+    private final Cache<String, QuizSession> sessions;
+
+    public QuizSessionService(@Value("${promptquest.sessions.max-size:10000}") long maxSize,
+                              @Value("${promptquest.sessions.ttl:2h}") Duration ttl) {
+        this.ttl = ttl;
+        this.sessions = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+
+    @PostConstruct
+    void registerMetrics() {
+        CaffeineCacheMetrics.monitor(meterRegistry, sessions, "quizSessions");
+    }
+
+    /**
+     * Start a session with up to {@code count} random questions matching the filter
+     * (at most {@code promptquest.sessions.max-questions})
+     * @throws IllegalArgumentException if count is not positive
+     */
+    public QuizSession start(int count, String skill, Integer difficulty, String degree, RandomGenerator random) {
+        if (count <= 0) {
+            throw new IllegalArgumentException("Question count must be positive");
+        }
+        QuestionCatalog.Snapshot catalog = questionCatalog.current();
+        int[] positions = catalog.getSampler().sample(skill, difficulty, degree,
+                Math.min(count, maxQuestions), random);
+
+        QuestionView[] questions = new QuestionView[positions.length];
+        for (int i = 0; i < positions.length; i++) {
+            questions[i] = catalog.get(positions[i]);
+        }
+
+        QuizSession session = new QuizSession(UUID.randomUUID().toString(), catalog.getDataVersion(),
+                Instant.now(), questions);
+        sessions.put(session.getId(), session);
+        return session;
+    }
+
+    /**
+     * Get an active session, or null if it is unknown or has expired
+     */
+    public QuizSession find(String sessionId) {
+        return sessions.getIfPresent(sessionId);
+    }
+
+    /**
+     * Remove an active session for submission. The removal is atomic, so of several
+     * concurrent submits of the same session only one gets it back.
+     * @return the session, or null if it is unknown, expired or already submitted
+     */
+    public QuizSession take(String sessionId) {
+        // The lookup counts towards the hit ratio; the conditional remove decides who submits
+        QuizSession session = sessions.getIfPresent(sessionId);
+        return session != null && sessions.asMap().remove(sessionId, session) ? session : null;
+    }
+
+    public Instant expiresAt(QuizSession session) {
+        return session.getStartedAt().plus(ttl);
+    }
+
+    /**
+     * Cache size, eviction count and hit ratio
+     */
+    public Map<String, Object> getStatistics() {
+        CacheStats stats = sessions.stats();
+        Map<String, Object> result = new HashMap<>();
+        result.put("activeSessions", sessions.estimatedSize());
+        result.put("hits", stats.hitCount());
+        result.put("misses", stats.missCount());
+        result.put("hitRatio", stats.hitRate());
+        result.put("evictions", stats.evictionCount());
+        return result;
+    }
+}
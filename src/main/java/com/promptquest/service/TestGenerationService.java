@@ -0,0 +1,135 @@
+package com.promptquest.service;
+
+import com.promptquest.dto.GeneratedTest;
+import com.promptquest.dto.QuizQuestionView;
+import com.promptquest.dto.TestBlueprint;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
+import java.util.stream.IntStream;
+
+/**
+ * Generates tests from blueprints of (filter, count) slots.
+ *
+ * Candidates for every slot come from the sampler buckets of one catalog
+ * snapshot, so no database query is involved. Slots are filled from the most
+ * to the least constrained, sharing one bitset of used positions so that no
+ * question appears twice, and each slot is drawn with a partial Fisher-Yates
+ * shuffle over its candidates.
+ */
+@Service
+public class TestGenerationService {
+
+    public static final int MAX_QUESTIONS = 1000;
+
+    @Autowired
+    private QuestionCatalog questionCatalog;
+
+    /**
+     * Fill every slot of the blueprint; slots that cannot be filled completely report a shortfall
+     * @throws IllegalArgumentException if the blueprint is empty or malformed
+     */
+    public GeneratedTest generate(TestBlueprint blueprint) {
+        List<TestBlueprint.Slot> slots = validate(blueprint);
+        QuestionCatalog.Snapshot catalog = questionCatalog.current();
+        QuestionSampler sampler = catalog.getSampler();
+        RandomGenerator random = blueprint.seed() != null
+                ? new SplittableRandom(blueprint.seed())
+                : ThreadLocalRandom.current();
+
+        BitSet used = new BitSet(catalog.size());
+        if (blueprint.excludeIds() != null) {
+            for (Long id : blueprint.excludeIds()) {
+                int index = id != null ? catalog.indexOf(id) : -1;
+                if (index >= 0) {
+                    used.set(index);
+                }
+            }
+        }
+
+        int[][] candidates = new int[slots.size()][];
+        for (int i = 0; i < slots.size(); i++) {
+            TestBlueprint.Slot slot = slots.get(i);
+            candidates[i] = sampler.positions(slot.skills(), slot.minDifficulty(), slot.maxDifficulty(), slot.degrees());
+        }
+
+        // Most constrained slots first, so broad slots don't take the few questions a narrow slot needs
+        int[] fillOrder = IntStream.range(0, slots.size()).boxed()
+                .sorted(Comparator.comparingInt(i -> candidates[i].length))
+                .mapToInt(Integer::intValue)
+                .toArray();
+
+        int[][] picks = new int[slots.size()][];
+        int[] available = new int[slots.size()];
+        for (int i : fillOrder) {
+            available[i] = candidates[i].length;
+            picks[i] = pick(candidates[i], slots.get(i).count(), used, random);
+        }
+
+        List<GeneratedTest.SlotResult> slotResults = new ArrayList<>(slots.size());
+        List<QuizQuestionView> questions = new ArrayList<>();
+        int requested = 0;
+        for (int i = 0; i < slots.size(); i++) {
+            TestBlueprint.Slot slot = slots.get(i);
+            List<Long> ids = new ArrayList<>(picks[i].length);
+            for (int position : picks[i]) {
+                QuizQuestionView question = catalog.getQuizQuestions().get(position);
+                questions.add(question);
+                ids.add(question.id());
+            }
+            requested += slot.count();
+            slotResults.add(new GeneratedTest.SlotResult(slot.label(), slot.count(), available[i],
+                    picks[i].length, slot.count() - picks[i].length, ids));
+        }
+
+        return new GeneratedTest(catalog.getVersion(), requested, questions.size(), slotResults, questions);
+    }
+
+    /**
+     * Draw up to {@code count} unused positions from the candidates (which are consumed)
+     */
+    private static int[] pick(int[] candidates, int count, BitSet used, RandomGenerator random) {
+        int[] picked = new int[Math.min(count, candidates.length)];
+        int filled = 0;
+        int remaining = candidates.length;
+        while (filled < picked.length && remaining > 0) {
+            int j = random.nextInt(remaining);
+            int position = candidates[j];
+            candidates[j] = candidates[--remaining];
+            if (!used.get(position)) {
+                used.set(position);
+                picked[filled++] = position;
+            }
+        }
+        return filled == picked.length ? picked : Arrays.copyOf(picked, filled);
+    }
+
+    private static List<TestBlueprint.Slot> validate(TestBlueprint blueprint) {
+        if (blueprint == null || blueprint.slots() == null || blueprint.slots().isEmpty()) {
+            throw new IllegalArgumentException("Blueprint must contain at least one slot");
+        }
+        // Summed as long so that huge slot counts cannot wrap around below the limit
+        long total = 0;
+        for (TestBlueprint.Slot slot : blueprint.slots()) {
+            if (slot == null || slot.count() < 0) {
+                throw new IllegalArgumentException("Slot count must not be negative");
+            }
+            if (slot.count() > MAX_QUESTIONS) {
+                throw new IllegalArgumentException("A slot may request at most " + MAX_QUESTIONS + " questions");
+            }
+            total += slot.count();
+        }
+        if (total > MAX_QUESTIONS) {
+            throw new IllegalArgumentException("Blueprint requests more than " + MAX_QUESTIONS + " questions");
+        }
+        return blueprint.slots();
+    }
+}
@@ -0,0 +1,113 @@
+package com.promptquest.synthetic;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.promptquest.dto.QuestionView;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Deterministic synthetic question banks, shared by the benchmarks and the
+ * load test (both the {@code benchmark} and {@code loadtest} profiles add
+ * {@code src/synthetic/java} to the test sources).
+ *
+ * The same size and seed always give the same bank; different seeds give
+ * different question texts, so repeated imports add new questions.
+ */
+public final class SyntheticQuestionBank {
+
+    public static final String[] SKILLS = {"java", "spring boot", "sql", "python", "javascript", "docker", "git", "kubernetes"};
+    public static final String[] AREAS = {"Programming", "Databases", "Frontend", "DevOps"};
+    public static final String[] DEGREES = {"junior", "mid", "senior"};
+    public static final String[] ANSWERS = {"A", "B", "C", "D"};
+
+    private SyntheticQuestionBank() {
+    }
+
+    /**
+     * Questions with ids 1..size, as held by the catalog
+     */
+    public static List<QuestionView> views(int size) {
+        return views(size, 0);
+    }
+
+    /**
+     * Questions with ids 1..size; {@code seed} varies texts and attributes between banks
+     */
+    public static List<QuestionView> views(int size, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        List<QuestionView> views = new ArrayList<>(size);
+        for (int i = 1; i <= size; i++) {
+            String topic = seed + "-" + i;
+            views.add(new QuestionView((long) i, questionText(topic, i), "Option A " + topic, "Option B " + topic,
+                    "Option C " + topic, "Option D " + topic, ANSWERS[random.nextInt(ANSWERS.length)],
+                    explanation(topic, i), AREAS[random.nextInt(AREAS.length)],
+                    SKILLS[random.nextInt(SKILLS.length)], 1 + random.nextInt(5),
+                    DEGREES[random.nextInt(DEGREES.length)]));
+        }
+        return views;
+    }
+
+    /**
+     * The bank of {@link #views(int)} in the JSON import format
+     */
+    public static byte[] json(int size) {
+        return json(size, 0);
+    }
+
+    /**
+     * The bank of {@link #views(int, long)} in the JSON import format
+     */
+    public static byte[] json(int size, long seed) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(size * 400);
+        try (JsonGenerator generator = new JsonFactory().createGenerator(out, JsonEncoding.UTF8)) {
+            generator.writeStartObject();
+            generator.writeArrayFieldStart("questions");
+            for (QuestionView q : views(size, seed)) {
+                generator.writeStartObject();
+                generator.writeStringField("question", q.question());
+                generator.writeArrayFieldStart("options");
+                writeOption(generator, "A", q.optionA());
+                writeOption(generator, "B", q.optionB());
+                writeOption(generator, "C", q.optionC());
+                writeOption(generator, "D", q.optionD());
+                generator.writeEndArray();
+                generator.writeStringField("answer", q.correctAnswer());
+                generator.writeStringField("explanation", q.explanation());
+                generator.writeNumberField("difficulty", q.difficulty());
+                generator.writeStringField("area", q.area());
+                generator.writeStringField("skill", q.skill());
+                generator.writeStringField("degree", q.degree());
+                generator.writeEndObject();
+            }
+            generator.writeEndArray();
+            generator.writeEndObject();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    private static void writeOption(JsonGenerator generator, String key, String text) throws IOException {
+        generator.writeStartObject();
+        generator.writeStringField("key", key);
+        generator.writeStringField("text", text);
+        generator.writeEndObject();
+    }
+
+    private static String questionText(String topic, int i) {
+        return "Synthetic question " + topic + ": which of the following statements about topic " + (i % 97)
+                + " is correct?";
+    }
+
+    private static String explanation(String topic, int i) {
+        return "Explanation for question " + topic + ". The correct option follows from the definition of topic "
+                + (i % 97) + " and the behaviour described in the documentation.";
+    }
+}
@@ -0,0 +1,38 @@
+package com.promptquest;
+
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Base class of the Spring Boot tests: the application runs against a SQLite
+ * file in a temporary directory (deleted when the JVM exits), with startup
+ * import, catalog snapshot file and attempt log switched off. Test classes
+ * share the database through the cached context and clear the tables they use.
+ */
+@SpringBootTest(properties = {
+        "promptquest.auto-initialize=false",
+        "promptquest.catalog-snapshot.enabled=false",
+        "promptquest.attempts.enabled=false"
+})
+public abstract class SqliteSpringBootTest {
+
+    @DynamicPropertySource
+    static void temporaryDatabase(DynamicPropertyRegistry registry) throws IOException {
+        Path directory = Files.createTempDirectory("promptquest-test");
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            try {
+                FileSystemUtils.deleteRecursively(directory);
+            } catch (IOException e) {
+                // Leave it to the OS temp cleanup
+            }
+        }));
+        registry.add("spring.datasource.url", () -> "jdbc:sqlite:" + directory.resolve("test.db").toAbsolutePath());
+        registry.add("promptquest.import.job-dir", () -> directory.resolve("import-jobs").toString());
+    }
+}
@@ -0,0 +1,86 @@
+package com.promptquest.metrics;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ServerTimingJacksonConverterTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final ServerTimingJacksonConverter converter = new ServerTimingJacksonConverter(objectMapper, 1024);
+
+    @AfterEach
+    void clearTiming() {
+        ServerTiming.clear();
+    }
+
+    @Test
+    void smallBodyIsWrittenInOnePiece() throws IOException {
+        RecordingMessage message = new RecordingMessage();
+        List<String> body = List.of("a", "b");
+
+        converter.write(body, MediaType.APPLICATION_JSON, message);
+
+        assertArrayEquals(objectMapper.writeValueAsBytes(body), message.body.toByteArray());
+        assertEquals(1, message.writes);
+    }
+
+    @Test
+    void largeBodyIsStreamedPastTheLimit() throws IOException {
+        ServerTiming.start();
+        RecordingMessage message = new RecordingMessage();
+        List<String> body = Collections.nCopies(10_000, "question");
+
+        converter.write(body, MediaType.APPLICATION_JSON, message);
+
+        assertArrayEquals(objectMapper.writeValueAsBytes(body), message.body.toByteArray());
+        // The first write carries at most the buffered part, the rest follows directly
+        assertTrue(message.firstWrite <= 1024);
+        assertTrue(message.writes > 1);
+    }
+
+    private static class RecordingMessage implements HttpOutputMessage {
+
+        private final HttpHeaders headers = new HttpHeaders();
+        private final ByteArrayOutputStream body = new ByteArrayOutputStream();
+        private int writes;
+        private int firstWrite = -1;
+
+        @Override
+        public OutputStream getBody() {
+            return new OutputStream() {
+                @Override
+                public void write(int b) {
+                    write(new byte[]{(byte) b}, 0, 1);
+                }
+
+                @Override
+                public void write(byte[] b, int off, int len) {
+                    if (firstWrite < 0) {
+                        firstWrite = len;
+                    }
+                    writes++;
+                    body.write(b, off, len);
+                }
+            };
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+    }
+}
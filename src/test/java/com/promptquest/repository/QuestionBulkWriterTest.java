@@ -0,0 +1,93 @@
+package com.promptquest.repository;
+
+import com.promptquest.SqliteSpringBootTest;
+import com.promptquest.entity.Question;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Id reservation of the bulk insert path, which shares the id block row with
+ * Hibernate's pooled generator and must never hand out an id twice.
+ */
+class QuestionBulkWriterTest extends SqliteSpringBootTest {
+
+    @Autowired
+    private QuestionBulkWriter bulkWriter;
+
+    @Autowired
+    private QuestionRepository questionRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private int created;
+
+    @BeforeEach
+    void clearQuestions() {
+        questionRepository.deleteAll();
+    }
+
+    @Test
+    void consecutiveReservationsDoNotOverlap() {
+        long first = bulkWriter.reserveIds(10);
+        long second = bulkWriter.reserveIds(5);
+        long third = bulkWriter.reserveIds(1);
+
+        assertTrue(first > 0);
+        assertEquals(first + 10, second);
+        assertEquals(second + 5, third);
+    }
+
+    @Test
+    void reservationStartsAboveHighestStoredId() {
+        jdbcTemplate.update("INSERT INTO questions (id, question, option_a, option_b, option_c, option_d, "
+                + "correct_answer) VALUES (?, 'Written elsewhere', 'a', 'b', 'c', 'd', 'A')", 1_000_000L);
+
+        assertTrue(bulkWriter.reserveIds(3) > 1_000_000L);
+    }
+
+    @Test
+    void bulkAndGeneratedIdsDoNotCollide() {
+        List<Question> saved = new ArrayList<>(questionRepository.saveAll(questions(3)));
+        List<Question> bulk = questions(50);
+        bulkWriter.insert(bulk);
+        saved.addAll(questionRepository.saveAll(questions(3)));
+
+        Set<Long> ids = new HashSet<>();
+        saved.forEach(question -> ids.add(question.getId()));
+        bulk.forEach(question -> ids.add(question.getId()));
+        assertEquals(56, ids.size());
+        assertEquals(56, questionRepository.count());
+    }
+
+    @Test
+    void bulkInsertAssignsConsecutiveIds() {
+        List<Question> bulk = questions(20);
+        bulkWriter.insert(bulk);
+
+        long first = bulk.get(0).getId();
+        for (int i = 0; i < bulk.size(); i++) {
+            assertEquals(first + i, bulk.get(i).getId());
+        }
+    }
+
+    private List<Question> questions(int count) {
+        List<Question> result = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int n = created++;
+            result.add(new Question("Question " + n, "a", "b", "c", "d", "A", null, n % 5 + 1,
+                    "Area", "Skill", "mid"));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,123 @@
+package com.promptquest.repository;
+
+import com.promptquest.SqliteSpringBootTest;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Guards the normalized *_key lookups against query plan regressions: every
+ * finder that filters on a key column must be answered from one of the
+ * idx_questions_* indexes instead of scanning the questions table.
+ *
+ * The SQL Hibernate actually generates for each finder is captured with a
+ * statement inspector and run through EXPLAIN QUERY PLAN on a temporary
+ * SQLite database created from the entity mappings.
+ */
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.promptquest.repository.QuestionRepositoryQueryPlanTest$RecordingStatementInspector")
+class QuestionRepositoryQueryPlanTest extends SqliteSpringBootTest {
+
+    private static final Pattern INDEX_USE = Pattern.compile("USING (COVERING )?INDEX idx_questions_");
+
+    @Autowired
+    private QuestionRepository questionRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void clearStatements() {
+        RecordingStatementInspector.STATEMENTS.clear();
+    }
+
+    @Test
+    void findBySkillKeyUsesIndex() {
+        assertIndexed(() -> questionRepository.findBySkillKey("java"));
+    }
+
+    @Test
+    void findByAreaKeyUsesIndex() {
+        assertIndexed(() -> questionRepository.findByAreaKey("backend"));
+    }
+
+    @Test
+    void findByDegreeKeyUsesIndex() {
+        assertIndexed(() -> questionRepository.findByDegreeKey("bachelor"));
+    }
+
+    @Test
+    void findBySkillKeyAndDifficultyUsesIndex() {
+        assertIndexed(() -> questionRepository.findBySkillKeyAndDifficulty("java", 3));
+    }
+
+    @Test
+    void findByAreaKeyAndDegreeKeyUsesIndex() {
+        assertIndexed(() -> questionRepository.findByAreaKeyAndDegreeKey("backend", "bachelor"));
+    }
+
+    @Test
+    void findRandomQuestionsBySkillKeyUsesIndex() {
+        assertIndexed(() -> questionRepository.findRandomQuestionsBySkillKey("java", 10));
+    }
+
+    @Test
+    void findQuestionsForTestByKeyUsesIndex() {
+        assertIndexed(() -> questionRepository.findQuestionsForTestByKey("java", 3, 10));
+    }
+
+    @Test
+    void countBySkillKeyUsesIndex() {
+        assertIndexed(() -> questionRepository.countBySkillKey("java"));
+    }
+
+    /**
+     * Run the finder, then check the plan of every statement it sent against the questions table
+     */
+    private void assertIndexed(Runnable finder) {
+        finder.run();
+        List<String> statements = new ArrayList<>(RecordingStatementInspector.STATEMENTS);
+        assertFalse(statements.isEmpty(), "No SQL was captured");
+
+        for (String sql : statements) {
+            String plan = explain(sql);
+            assertTrue(INDEX_USE.matcher(plan).find(), () -> "No idx_questions_* index in plan of " + sql + ":\n" + plan);
+            assertFalse(plan.contains("SCAN "), () -> "Table scan in plan of " + sql + ":\n" + plan);
+        }
+    }
+
+    private String explain(String sql) {
+        // Every parameter is bound to 1: a value of any type keeps the index usable, and LIMIT needs an integer
+        int parameters = sql.length() - sql.replace("?", "").length();
+        Object[] values = Collections.nCopies(parameters, (Object) 1).toArray();
+        List<String> details = jdbcTemplate.query("EXPLAIN QUERY PLAN " + sql,
+                (rs, rowNum) -> rs.getString("detail"), values);
+        assertFalse(details.isEmpty(), () -> "Empty plan for " + sql);
+        return String.join("\n", details);
+    }
+
+    /**
+     * Records the SQL of every statement Hibernate prepares
+     */
+    public static class RecordingStatementInspector implements StatementInspector {
+
+        static final List<String> STATEMENTS = Collections.synchronizedList(new ArrayList<>());
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.promptquest.service;
+
+import com.promptquest.dto.QuestionView;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AdaptivePoolsTest {
+
+    @Test
+    void strideWalkVisitsEveryPositionOnce() {
+        SplittableRandom random = new SplittableRandom(7);
+        for (int n = 1; n <= 60; n++) {
+            List<QuestionView> questions = questions(n, 3);
+            AdaptivePools pools = AdaptivePools.build(questions, positions(n), n);
+            assertEquals(n, pools.size(3));
+
+            for (int attempt = 0; attempt < 20; attempt++) {
+                int start = random.nextInt(n);
+                int stride = pools.randomStride(3, random);
+                Set<Integer> seen = new HashSet<>();
+                for (int k = 0; k < n; k++) {
+                    seen.add(pools.positionAt(3, start, stride, k));
+                }
+                assertEquals(n, seen.size(), "pool of " + n + " with stride " + stride);
+            }
+        }
+    }
+
+    @Test
+    void splitsByDifficultyAndSkipsInvalid() {
+        List<QuestionView> questions = new ArrayList<>();
+        Integer[] difficulties = {1, 2, 2, 5, null, 0, 6, 5};
+        for (int i = 0; i < difficulties.length; i++) {
+            questions.add(question(i + 1, difficulties[i]));
+        }
+        AdaptivePools pools = AdaptivePools.build(questions, positions(questions.size()), 1);
+
+        assertEquals(1, pools.size(1));
+        assertEquals(2, pools.size(2));
+        assertEquals(0, pools.size(3));
+        assertEquals(2, pools.size(5));
+        assertEquals(5, pools.size());
+    }
+
+    @Test
+    void strideIsCoprimeToPoolSize() {
+        SplittableRandom random = new SplittableRandom(11);
+        AdaptivePools pools = AdaptivePools.build(questions(36, 4), positions(36), 3);
+        for (int i = 0; i < 100; i++) {
+            int stride = pools.randomStride(4, random);
+            assertTrue(stride >= 1 && stride < 36);
+            assertTrue(stride % 2 != 0 && stride % 3 != 0, "stride " + stride + " shares a factor with 36");
+        }
+    }
+
+    private static List<QuestionView> questions(int n, int difficulty) {
+        List<QuestionView> questions = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            questions.add(question(i + 1, difficulty));
+        }
+        return questions;
+    }
+
+    private static QuestionView question(long id, Integer difficulty) {
+        return new QuestionView(id, "Question " + id, "a", "b", "c", "d", "A", "", "area", "skill",
+                difficulty, "degree");
+    }
+
+    private static int[] positions(int n) {
+        int[] positions = new int[n];
+        for (int i = 0; i < n; i++) {
+            positions[i] = i;
+        }
+        return positions;
+    }
+}
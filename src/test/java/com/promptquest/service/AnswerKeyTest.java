@@ -0,0 +1,49 @@
+package com.promptquest.service;
+
+import com.promptquest.dto.QuestionView;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AnswerKeyTest {
+
+    @Test
+    void encodesOnlyLettersAToD() {
+        assertEquals((byte) 'A', AnswerKey.encode("A"));
+        assertEquals((byte) 'D', AnswerKey.encode("D"));
+        assertEquals(AnswerKey.NONE, AnswerKey.encode("E"));
+        assertEquals(AnswerKey.NONE, AnswerKey.encode("a"));
+        assertEquals(AnswerKey.NONE, AnswerKey.encode("AB"));
+        assertEquals(AnswerKey.NONE, AnswerKey.encode(""));
+        assertEquals(AnswerKey.NONE, AnswerKey.encode(null));
+        // U+0141 and U+0241 share the low byte of 'A'
+        assertEquals(AnswerKey.NONE, AnswerKey.encode("Ł"));
+        assertEquals(AnswerKey.NONE, AnswerKey.encode("Ɂ"));
+    }
+
+    @Test
+    void invalidAnswersAreNeverCorrect() {
+        assertFalse(AnswerKey.matches(AnswerKey.NONE, null));
+        assertFalse(AnswerKey.matches(AnswerKey.NONE, "x"));
+        assertFalse(AnswerKey.matches(AnswerKey.encode("A"), "Ł"));
+        assertTrue(AnswerKey.matches(AnswerKey.encode("A"), "A"));
+    }
+
+    @Test
+    void catalogAndSessionGradeNonAsciiAnswersAsWrong() {
+        QuestionView question = new QuestionView(1L, "Question", "a", "b", "c", "d", "A", null,
+                "Area", "Skill", 1, "mid");
+        QuestionCatalog.Snapshot catalog = new QuestionCatalog.Snapshot(1, List.of(question));
+        QuizSession session = new QuizSession("session", 1, Instant.now(), new QuestionView[]{question});
+
+        assertTrue(catalog.isCorrect(0, "A"));
+        assertFalse(catalog.isCorrect(0, "Ł"));
+        assertTrue(session.isCorrect(0, "A"));
+        assertFalse(session.isCorrect(0, "Ł"));
+    }
+}
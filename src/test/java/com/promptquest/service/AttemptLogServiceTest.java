@@ -0,0 +1,206 @@
+package com.promptquest.service;
+
+import com.promptquest.dto.AttemptEvent;
+import com.promptquest.dto.QuestionResult;
+import com.promptquest.dto.QuizResult;
+import com.promptquest.repository.AttemptLogWriter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Overflow policies of the attempt queue and batching of the writer thread,
+ * with the database writes recorded by a mocked {@link AttemptLogWriter}
+ */
+class AttemptLogServiceTest {
+
+    private final AttemptLogWriter attemptLogWriter = mock(AttemptLogWriter.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    // Session ids of each written batch, in write order
+    private final List<List<String>> batches = new CopyOnWriteArrayList<>();
+
+    private AttemptLogService service;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (ReflectionTestUtils.getField(service, "writer") != null) {
+            service.shutdown();
+        }
+    }
+
+    @Test
+    void dropDiscardsNewAttemptsWhenFull() {
+        service = service(3, AttemptLogService.OverflowPolicy.DROP, 100, Duration.ofSeconds(1));
+        for (int i = 0; i < 5; i++) {
+            record("s" + i);
+        }
+
+        assertEquals(List.of("s0", "s1", "s2"), queued());
+        assertEquals(5L, statistic("accepted"));
+        assertEquals(2L, statistic("dropped"));
+        assertEquals(2.0, meterRegistry.counter("promptquest.attempts.dropped").count());
+    }
+
+    @Test
+    void dropOldestKeepsNewestAttempts() {
+        service = service(3, AttemptLogService.OverflowPolicy.DROP_OLDEST, 100, Duration.ofSeconds(1));
+        for (int i = 0; i < 5; i++) {
+            record("s" + i);
+        }
+
+        assertEquals(List.of("s2", "s3", "s4"), queued());
+        assertEquals(2L, statistic("dropped"));
+    }
+
+    @Test
+    void blockWaitsForTheOfferTimeoutThenDrops() {
+        service = service(1, AttemptLogService.OverflowPolicy.BLOCK, 100, Duration.ofSeconds(1));
+        ReflectionTestUtils.setField(service, "offerTimeout", Duration.ofMillis(200));
+        record("s0");
+
+        long start = System.nanoTime();
+        record("s1");
+        long waitedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        assertTrue(waitedMillis >= 150, () -> "Waited only " + waitedMillis + " ms");
+        assertEquals(List.of("s0"), queued());
+        assertEquals(1L, statistic("dropped"));
+    }
+
+    @Test
+    void answerCountsIncludeDroppedAttempts() {
+        service = service(1, AttemptLogService.OverflowPolicy.DROP, 100, Duration.ofSeconds(1));
+        record("s0");
+        record("s1");
+
+        assertEquals(1L, statistic("dropped"));
+        assertEquals(1L, statistic("questionsTracked"));
+        AnswerStatistics statistics = (AnswerStatistics) ReflectionTestUtils.getField(service, "statistics");
+        // Both attempts picked A, correctly
+        assertEquals(2L, statistics.get(7L)[0]);
+        assertEquals(2L, statistics.get(7L)[AnswerStatistics.UNANSWERED + 1]);
+    }
+
+    @Test
+    void writerFillsBatchesUpToBatchSize() throws InterruptedException {
+        service = service(100, AttemptLogService.OverflowPolicy.DROP, 3, Duration.ofMillis(100));
+        for (int i = 0; i < 7; i++) {
+            record("s" + i);
+        }
+        service.start();
+        awaitPersisted(7);
+
+        assertEquals(List.of(List.of("s0", "s1", "s2"), List.of("s3", "s4", "s5"), List.of("s6")), batches);
+        assertEquals(3L, statistic("batches"));
+    }
+
+    @Test
+    void writerCollectsAttemptsArrivingWithinTheFlushInterval() throws InterruptedException {
+        service = service(100, AttemptLogService.OverflowPolicy.DROP, 100, Duration.ofSeconds(2));
+        service.start();
+        record("s0");
+        Thread.sleep(100);
+        record("s1");
+        record("s2");
+        awaitPersisted(3);
+
+        assertEquals(List.of(List.of("s0", "s1", "s2")), batches);
+    }
+
+    @Test
+    void shutdownWritesQueuedAttempts() throws InterruptedException {
+        service = service(100, AttemptLogService.OverflowPolicy.DROP, 2, Duration.ofMinutes(1));
+        service.start();
+        for (int i = 0; i < 5; i++) {
+            record("s" + i);
+        }
+        service.shutdown();
+
+        assertEquals(5L, statistic("persisted"));
+        assertEquals(List.of("s0", "s1", "s2", "s3", "s4"), batches.stream().flatMap(List::stream).toList());
+    }
+
+    @Test
+    void failedBatchesAreCountedAndTheWriterContinues() throws InterruptedException {
+        service = service(100, AttemptLogService.OverflowPolicy.DROP, 2, Duration.ofMillis(50));
+        doAnswer(invocation -> {
+            List<AttemptEvent> attempts = invocation.getArgument(0);
+            if (batches.isEmpty()) {
+                batches.add(List.of());
+                throw new IllegalStateException("database is locked");
+            }
+            batches.add(attempts.stream().map(AttemptEvent::sessionId).toList());
+            return null;
+        }).when(attemptLogWriter).insert(anyList());
+        for (int i = 0; i < 4; i++) {
+            record("s" + i);
+        }
+        service.start();
+        awaitPersisted(2);
+
+        assertEquals(2L, statistic("failed"));
+        assertEquals(List.of("s2", "s3"), batches.get(1));
+    }
+
+    private AttemptLogService service(int capacity, AttemptLogService.OverflowPolicy policy, int batchSize,
+                                      Duration flushInterval) {
+        AttemptLogService created = new AttemptLogService(capacity);
+        ReflectionTestUtils.setField(created, "attemptLogWriter", attemptLogWriter);
+        ReflectionTestUtils.setField(created, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.setField(created, "enabled", true);
+        ReflectionTestUtils.setField(created, "batchSize", batchSize);
+        ReflectionTestUtils.setField(created, "flushInterval", flushInterval);
+        ReflectionTestUtils.setField(created, "overflowPolicy", policy);
+        ReflectionTestUtils.setField(created, "offerTimeout", Duration.ofMillis(50));
+
+        // Copies, since the writer reuses its batch list
+        doAnswer(invocation -> {
+            List<AttemptEvent> attempts = invocation.getArgument(0);
+            batches.add(attempts.stream().map(AttemptEvent::sessionId).toList());
+            return null;
+        }).when(attemptLogWriter).insert(anyList());
+        return created;
+    }
+
+    private void record(String sessionId) {
+        QuestionResult answer = new QuestionResult(7L, "Question", "A", "A", true, null, "a", "b", "c", "d",
+                1, "Area", "Skill", "mid");
+        service.record("session", sessionId, 1, new QuizResult(1, 1, 100.0, List.of(answer)));
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<String> queued() {
+        Iterable<AttemptEvent> queue = (Iterable<AttemptEvent>) ReflectionTestUtils.getField(service, "queue");
+        List<String> sessionIds = new ArrayList<>();
+        queue.forEach(attempt -> sessionIds.add(attempt.sessionId()));
+        return sessionIds;
+    }
+
+    private Object statistic(String name) {
+        Map<String, Object> statistics = service.getStatistics();
+        Object value = statistics.get(name);
+        return value instanceof Integer count ? (long) count : value;
+    }
+
+    private void awaitPersisted(long count) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while ((long) statistic("persisted") < count) {
+            assertTrue(System.currentTimeMillis() < deadline, "Attempts were not written");
+            Thread.sleep(10);
+        }
+    }
+}
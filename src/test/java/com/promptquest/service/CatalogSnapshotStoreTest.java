@@ -0,0 +1,82 @@
+package com.promptquest.service;
+
+import com.promptquest.dto.QuestionView;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class CatalogSnapshotStoreTest {
+
+    @TempDir
+    Path directory;
+
+    private CatalogSnapshotStore store;
+    private Path path;
+
+    @BeforeEach
+    void setUp() {
+        path = directory.resolve("catalog.snapshot");
+        store = new CatalogSnapshotStore();
+        ReflectionTestUtils.setField(store, "enabled", true);
+        ReflectionTestUtils.setField(store, "path", path);
+    }
+
+    @Test
+    void roundTripsQuestionsVersionAndDatabaseId() throws IOException {
+        List<QuestionView> questions = List.of(
+                new QuestionView(1L, "What is a JVM?", "A", "B", "C", "D", "B", "Because.", "Programming", "Java", 2, "Bachelor"),
+                new QuestionView(5L, "Ünïcödé – ok?", "", null, "c", "d", "A", null, null, "Java", null, null),
+                new QuestionView(9L, "SELECT?", "1", "2", "3", "4", null, "", "Data", "SQL", 5, "Master"));
+        UUID databaseId = UUID.randomUUID();
+        store.write(new QuestionCatalog.Snapshot(3, 42, databaseId, questions));
+
+        CatalogSnapshotStore.Contents contents = store.read();
+        assertNotNull(contents);
+        assertEquals(42, contents.dataVersion());
+        assertEquals(databaseId, contents.databaseId());
+        assertEquals(questions, contents.questions());
+    }
+
+    @Test
+    void ignoresCorruptBody() throws IOException {
+        store.write(new QuestionCatalog.Snapshot(1, 7, UUID.randomUUID(), List.of(
+                new QuestionView(1L, "Question", "a", "b", "c", "d", "A", "", "Area", "Skill", 1, "Degree"))));
+
+        try (RandomAccessFile file = new RandomAccessFile(path.toFile(), "rw")) {
+            long last = file.length() - 1;
+            file.seek(last);
+            int value = file.read();
+            file.seek(last);
+            file.write(value ^ 0xFF);
+        }
+        assertNull(store.read());
+    }
+
+    @Test
+    void ignoresTruncatedFile() throws IOException {
+        store.write(new QuestionCatalog.Snapshot(1, 7, UUID.randomUUID(), List.of(
+                new QuestionView(1L, "Question", "a", "b", "c", "d", "A", "", "Area", "Skill", 1, "Degree"))));
+
+        byte[] bytes = Files.readAllBytes(path);
+        Files.write(path, Arrays.copyOf(bytes, bytes.length - 3));
+        assertNull(store.read());
+    }
+
+    @Test
+    void missingFileReadsAsNull() {
+        assertNull(store.read());
+    }
+}
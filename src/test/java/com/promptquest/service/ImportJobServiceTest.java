@@ -0,0 +1,179 @@
+package com.promptquest.service;
+
+import com.promptquest.entity.Question;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Batching, cancellation and resume of import jobs, with the database writes
+ * recorded by a mocked {@link JsonImportService}
+ */
+class ImportJobServiceTest {
+
+    @TempDir
+    Path jobDirectory;
+
+    private final ImportJobService service = new ImportJobService();
+    private final JsonImportService jsonImportService = mock(JsonImportService.class);
+    private final List<Object> events = new CopyOnWriteArrayList<>();
+
+    // Committed batches (question texts) and their clear flags, in commit order
+    private final List<List<String>> batches = new CopyOnWriteArrayList<>();
+    private final List<Boolean> clears = new CopyOnWriteArrayList<>();
+
+    private volatile int cancelAfterBatches = Integer.MAX_VALUE;
+    private volatile int failAtBatch = -1;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(service, "jsonImportService", jsonImportService);
+        ReflectionTestUtils.setField(service, "eventPublisher", (ApplicationEventPublisher) events::add);
+        ReflectionTestUtils.setField(service, "commitSize", 3);
+        ReflectionTestUtils.setField(service, "jobDirectory", jobDirectory);
+        ReflectionTestUtils.setField(service, "maxRetainedJobs", 50);
+
+        doAnswer(invocation -> {
+            if (batches.size() == failAtBatch) {
+                failAtBatch = -1;
+                throw new IllegalStateException("database is locked");
+            }
+            List<Question> questions = invocation.getArgument(0);
+            batches.add(questions.stream().map(Question::getQuestion).toList());
+            clears.add(invocation.getArgument(1));
+            if (batches.size() == cancelAfterBatches) {
+                service.list().forEach(service::cancel);
+            }
+            return null;
+        }).when(jsonImportService).saveBatch(anyList(), anyBoolean());
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    void commitsInBatchesAndDeletesFileWhenDone() throws Exception {
+        ImportJob job = service.submit(json(7), "bank.json", false);
+        await(job);
+
+        assertEquals(ImportJob.Status.COMPLETED, job.getStatus());
+        assertEquals(List.of(texts(0, 3), texts(3, 6), texts(6, 7)), batches);
+        assertEquals(List.of(false, false, false), clears);
+        assertEquals(7, job.getRecordsWritten());
+        assertFalse(Files.exists(job.getFile()));
+        assertEquals(1, events.size());
+        assertFalse(((QuestionsChangedEvent) events.get(0)).cleared());
+    }
+
+    @Test
+    void resumeAfterCancelSkipsCommittedQuestionsAndClearsOnce() throws Exception {
+        cancelAfterBatches = 2;
+        ImportJob job = service.submit(json(10), "bank.json", true);
+        await(job);
+
+        assertEquals(ImportJob.Status.CANCELLED, job.getStatus());
+        assertEquals(6, job.getRecordsWritten());
+        assertTrue(Files.exists(job.getFile()));
+        assertFalse(job.isClearPending());
+
+        cancelAfterBatches = Integer.MAX_VALUE;
+        assertTrue(service.resume(job));
+        await(job);
+
+        assertEquals(ImportJob.Status.COMPLETED, job.getStatus());
+        assertEquals(10, job.getRecordsWritten());
+        assertEquals(List.of(texts(0, 3), texts(3, 6), texts(6, 9), texts(9, 10)), batches);
+        assertEquals(List.of(true, false, false, false), clears);
+        // The cancelled run replaced the bank, the resumed one only added to it
+        assertEquals(2, events.size());
+        assertTrue(((QuestionsChangedEvent) events.get(0)).cleared());
+        assertFalse(((QuestionsChangedEvent) events.get(1)).cleared());
+    }
+
+    @Test
+    void resumeAfterFailedFirstBatchStillClears() throws Exception {
+        failAtBatch = 0;
+        ImportJob job = service.submit(json(4), "bank.json", true);
+        await(job);
+
+        assertEquals(ImportJob.Status.FAILED, job.getStatus());
+        assertEquals(0, job.getRecordsWritten());
+        assertTrue(job.isClearPending());
+        assertTrue(events.isEmpty());
+
+        assertTrue(service.resume(job));
+        await(job);
+
+        assertEquals(ImportJob.Status.COMPLETED, job.getStatus());
+        assertEquals(List.of(texts(0, 3), texts(3, 4)), batches);
+        assertEquals(List.of(true, false), clears);
+    }
+
+    @Test
+    void clearImportOfEmptyFileStillClears() throws Exception {
+        ImportJob job = service.submit(json(0), "empty.json", true);
+        await(job);
+
+        assertEquals(ImportJob.Status.COMPLETED, job.getStatus());
+        assertEquals(List.of(List.of()), batches);
+        assertEquals(List.of(true), clears);
+    }
+
+    @Test
+    void finishedJobsCannotBeCancelledAndCompletedOnesNotResumed() throws Exception {
+        ImportJob job = service.submit(json(2), "bank.json", false);
+        await(job);
+
+        assertFalse(service.cancel(job));
+        assertFalse(service.resume(job));
+        assertTrue(service.remove(job));
+        assertNull(service.find(job.getId()));
+    }
+
+    private static void await(ImportJob job) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!job.getStatus().isFinished()) {
+            assertTrue(System.currentTimeMillis() < deadline, "Import job did not finish");
+            Thread.sleep(10);
+        }
+    }
+
+    private static List<String> texts(int from, int to) {
+        return IntStream.range(from, to).mapToObj(i -> "Question " + i).toList();
+    }
+
+    private static ByteArrayInputStream json(int count) throws IOException {
+        List<String> entries = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            entries.add("{\"question\":\"Question " + i + "\",\"options\":[{\"key\":\"A\",\"text\":\"a\"}],"
+                    + "\"answer\":\"A\",\"explanation\":\"\",\"difficulty\":1,\"area\":\"Area\","
+                    + "\"skill\":\"Skill\",\"degree\":\"mid\"}");
+        }
+        String document = "{\"questions\":[" + String.join(",", entries) + "]}";
+        return new ByteArrayInputStream(document.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,111 @@
+package com.promptquest.service;
+
+import com.promptquest.SqliteSpringBootTest;
+import com.promptquest.dto.ImportSummary;
+import com.promptquest.entity.Question;
+import com.promptquest.repository.CatalogStateRepository;
+import com.promptquest.repository.QuestionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+/**
+ * Delta imports: the summary counts, ids kept across updates, and no data
+ * version bump when nothing changed
+ */
+class JsonImportServiceTest extends SqliteSpringBootTest {
+
+    @Autowired
+    private JsonImportService jsonImportService;
+
+    @Autowired
+    private QuestionRepository questionRepository;
+
+    @Autowired
+    private CatalogStateRepository catalogStateRepository;
+
+    @BeforeEach
+    void clearQuestions() {
+        questionRepository.deleteAll();
+    }
+
+    @Test
+    void firstDeltaImportAddsEverything() {
+        ImportSummary summary = importDelta(entry("Java", "One?", "A", "x"), entry("Java", "Two?", "B", "x"));
+
+        assertEquals(new ImportSummary(2, 0, 0, 0), summary);
+        assertEquals(2, questionRepository.count());
+    }
+
+    @Test
+    void identicalFileWritesNothing() {
+        importDelta(entry("Java", "One?", "A", "x"), entry("SQL", "Two?", "B", "x"));
+        long dataVersion = catalogStateRepository.getState().dataVersion();
+
+        ImportSummary summary = importDelta(entry("Java", "One?", "A", "x"), entry("SQL", "Two?", "B", "x"));
+
+        assertEquals(new ImportSummary(0, 0, 0, 2), summary);
+        assertEquals(0, summary.writes());
+        assertEquals(dataVersion, catalogStateRepository.getState().dataVersion());
+    }
+
+    @Test
+    void countsAddedChangedRemovedAndUnchanged() {
+        importDelta(entry("Java", "Kept?", "A", "x"), entry("Java", "Edited?", "A", "x"),
+                entry("Java", "Dropped?", "A", "x"));
+        Map<String, Long> before = idsByText();
+        long dataVersion = catalogStateRepository.getState().dataVersion();
+
+        // Question text and skill identify a question; answer and explanation are content
+        ImportSummary summary = importDelta(entry("Java", "Kept?", "A", "x"), entry("Java", "Edited?", "C", "y"),
+                entry("Java", "New?", "A", "x"), entry("SQL", "Kept?", "A", "x"));
+
+        assertEquals(new ImportSummary(2, 1, 1, 1), summary);
+        assertEquals(5, summary.writes());
+        Map<String, Long> after = idsByText();
+        assertEquals(before.get("Java/Kept?"), after.get("Java/Kept?"));
+        assertEquals(before.get("Java/Edited?"), after.get("Java/Edited?"));
+        assertEquals(4, after.size());
+        assertEquals("C", questionRepository.findById(after.get("Java/Edited?")).orElseThrow().getCorrectAnswer());
+        assertNotEquals(dataVersion, catalogStateRepository.getState().dataVersion());
+    }
+
+    @Test
+    void matchesDuplicatesOneToOne() {
+        importDelta(entry("Java", "Twice?", "A", "x"));
+
+        ImportSummary grown = importDelta(entry("Java", "Twice?", "A", "x"), entry("Java", "Twice?", "A", "x"));
+        assertEquals(new ImportSummary(1, 0, 0, 1), grown);
+
+        ImportSummary shrunk = importDelta(entry("Java", "Twice?", "A", "x"));
+        assertEquals(new ImportSummary(0, 0, 1, 1), shrunk);
+        assertEquals(1, questionRepository.count());
+    }
+
+    private ImportSummary importDelta(String... entries) {
+        String document = "{\"questions\":[" + String.join(",", entries) + "]}";
+        return jsonImportService.importDelta(new ByteArrayInputStream(document.getBytes(StandardCharsets.UTF_8)),
+                "test");
+    }
+
+    private Map<String, Long> idsByText() {
+        return questionRepository.findAll().stream()
+                .collect(Collectors.toMap(q -> q.getSkill() + "/" + q.getQuestion(), Question::getId,
+                        (a, b) -> a));
+    }
+
+    private static String entry(String skill, String question, String answer, String explanation) {
+        return "{\"question\":\"" + question + "\",\"options\":[{\"key\":\"A\",\"text\":\"a\"},"
+                + "{\"key\":\"B\",\"text\":\"b\"},{\"key\":\"C\",\"text\":\"c\"}],\"answer\":\"" + answer
+                + "\",\"explanation\":\"" + explanation + "\",\"difficulty\":2,\"area\":\"Area\",\"skill\":\""
+                + skill + "\",\"degree\":\"mid\"}";
+    }
+}
@@ -0,0 +1,247 @@
+package com.promptquest.service;
+
+import com.promptquest.dto.ImportFileResult;
+import com.promptquest.dto.MultiFileImportReport;
+import com.promptquest.entity.Question;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Parallel parsing into one writer: per-file results, the single clear,
+ * backpressure on the parsers and failure handling, with the database writes
+ * recorded by a mocked {@link JsonImportService}
+ */
+class MultiFileImportServiceTest {
+
+    @TempDir
+    Path directory;
+
+    private final MultiFileImportService service = new MultiFileImportService(new DefaultResourceLoader());
+    private final JsonImportService jsonImportService = mock(JsonImportService.class);
+    private final List<Object> events = new CopyOnWriteArrayList<>();
+
+    // Committed batches (question texts) and their clear flags, in commit order
+    private final List<List<String>> batches = new CopyOnWriteArrayList<>();
+    private final List<Boolean> clears = new CopyOnWriteArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(service, "jsonImportService", jsonImportService);
+        ReflectionTestUtils.setField(service, "eventPublisher", (ApplicationEventPublisher) events::add);
+        ReflectionTestUtils.setField(service, "commitSize", 2);
+        ReflectionTestUtils.setField(service, "parallelism", 3);
+        ReflectionTestUtils.setField(service, "queueCapacity", 4);
+        ReflectionTestUtils.setField(service, "importRoot", directory);
+
+        doAnswer(invocation -> {
+            List<Question> questions = invocation.getArgument(0);
+            batches.add(questions.stream().map(Question::getQuestion).toList());
+            clears.add(invocation.getArgument(1));
+            return null;
+        }).when(jsonImportService).saveBatch(anyList(), anyBoolean());
+    }
+
+    @Test
+    void reportsEveryFileAndClearsWithFirstBatchOnly() throws IOException {
+        write("a.json", json("a", 5, false));
+        writeGzip("b.json.gz", json("b", 4, false));
+        write("c.json", json("c", 0, false));
+        write("ignored.txt", json("x", 3, false));
+
+        MultiFileImportReport report = service.importFiles(directory.toString(), true);
+
+        assertEquals(3, report.files());
+        assertEquals(0, report.failedFiles());
+        assertEquals(9, report.parsed());
+        assertEquals(9, report.written());
+        assertEquals(List.of(5, 4, 0), report.results().stream().map(ImportFileResult::written).toList());
+        assertTrue(report.results().stream().allMatch(result -> result.error() == null));
+
+        // Batches of different files interleave, but each file's questions stay in order
+        assertEquals(5, batches.size());
+        assertEquals(List.of("a0", "a1", "a2", "a3", "a4"), texts("a"));
+        assertEquals(List.of("b0", "b1", "b2", "b3"), texts("b"));
+        assertEquals(1, clears.stream().filter(clear -> clear).count());
+        assertTrue(clears.get(0));
+        assertEquals(1, events.size());
+        assertTrue(((QuestionsChangedEvent) events.get(0)).cleared());
+    }
+
+    @Test
+    void brokenFileIsReportedWithoutStoppingTheOthers() throws IOException {
+        write("a.json", json("a", 4, false));
+        write("b.json", json("b", 3, true));
+        write("c.json", json("c", 3, false));
+
+        MultiFileImportReport report = service.importFiles(directory.toString(), false);
+
+        assertEquals(1, report.failedFiles());
+        ImportFileResult broken = report.results().get(1);
+        assertNotNull(broken.error());
+        assertEquals(3, broken.parsed());
+        // The last, incomplete batch of the broken file is never written
+        assertEquals(2, broken.written());
+        assertNull(report.results().get(0).error());
+        assertEquals(4, report.results().get(0).written());
+        assertEquals(3, report.results().get(2).written());
+        assertEquals(10, report.parsed());
+        assertEquals(9, report.written());
+        assertEquals(List.of("b0", "b1"), texts("b"));
+    }
+
+    @Test
+    void emptyFilesReplaceTheBankUnlessOneFailed() throws IOException {
+        write("a.json", json("a", 0, false));
+        service.importFiles(directory.toString(), true);
+        assertEquals(List.of(List.of()), batches);
+        assertEquals(List.of(true), clears);
+
+        batches.clear();
+        clears.clear();
+        events.clear();
+        write("b.json", json("b", 0, true));
+        MultiFileImportReport report = service.importFiles(directory.toString(), true);
+
+        assertEquals(1, report.failedFiles());
+        assertTrue(batches.isEmpty());
+        assertTrue(events.isEmpty());
+    }
+
+    @Test
+    void parsersWaitForASlowWriter() throws Exception {
+        ReflectionTestUtils.setField(service, "commitSize", 1);
+        ReflectionTestUtils.setField(service, "parallelism", 1);
+        ReflectionTestUtils.setField(service, "queueCapacity", 1);
+        write("a.json", json("a", 20, false));
+
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            List<Question> questions = invocation.getArgument(0);
+            batches.add(questions.stream().map(Question::getQuestion).toList());
+            release.await(10, TimeUnit.SECONDS);
+            return null;
+        }).when(jsonImportService).saveBatch(anyList(), anyBoolean());
+
+        CompletableFuture<MultiFileImportReport> result = CompletableFuture.supplyAsync(() -> {
+            try {
+                return service.importFiles(directory.toString(), false);
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+
+        // With the writer stuck in its first batch and one queue slot, the parser must block in enqueue
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!parserIsWaiting()) {
+            assertTrue(System.currentTimeMillis() < deadline, "Parser never waited for queue space");
+            Thread.sleep(10);
+        }
+        Thread.sleep(200);
+        assertTrue(parserIsWaiting());
+        assertEquals(1, batches.size());
+
+        release.countDown();
+        MultiFileImportReport report = result.get(10, TimeUnit.SECONDS);
+        assertEquals(20, report.written());
+        assertEquals(20, batches.size());
+    }
+
+    @Test
+    void writerFailureReleasesWaitingParsers() throws IOException {
+        ReflectionTestUtils.setField(service, "commitSize", 1);
+        ReflectionTestUtils.setField(service, "queueCapacity", 1);
+        for (String name : List.of("a", "b", "c")) {
+            write(name + ".json", json(name, 50, false));
+        }
+        doAnswer(invocation -> {
+            throw new IllegalStateException("database is locked");
+        }).when(jsonImportService).saveBatch(anyList(), anyBoolean());
+
+        assertTimeoutPreemptively(Duration.ofSeconds(10), () -> {
+            assertThrows(IllegalStateException.class, () -> service.importFiles(directory.toString(), true));
+        });
+        assertTrue(events.isEmpty());
+    }
+
+    @Test
+    void rootLocationsMustStayInsideTheRoot() throws IOException {
+        Files.createDirectories(directory.resolve("banks"));
+        write("banks/a.json", json("a", 1, false));
+
+        assertEquals(1, service.importFilesFromRoot("banks", false).written());
+        assertThrows(IllegalArgumentException.class, () -> service.importFilesFromRoot("../banks", false));
+        assertThrows(IllegalArgumentException.class, () -> service.importFilesFromRoot("/tmp", false));
+        assertThrows(IllegalArgumentException.class, () -> service.importFilesFromRoot("file:banks", false));
+        assertFalse(service.isMultiFileLocation(directory.resolve("banks/a.json").toString()));
+    }
+
+    private List<String> texts(String file) {
+        return batches.stream().flatMap(List::stream).filter(text -> text.startsWith(file)).toList();
+    }
+
+    private static boolean parserIsWaiting() {
+        return Thread.getAllStackTraces().entrySet().stream()
+                .filter(thread -> thread.getKey().getState() == Thread.State.TIMED_WAITING)
+                .anyMatch(thread -> Arrays.stream(thread.getValue())
+                        .anyMatch(frame -> frame.getClassName().equals(MultiFileImportService.class.getName())
+                                && frame.getMethodName().equals("enqueue")));
+    }
+
+    private void write(String name, String content) throws IOException {
+        Files.writeString(directory.resolve(name), content);
+    }
+
+    private void writeGzip(String name, String content) throws IOException {
+        try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(directory.resolve(name)))) {
+            out.write(content.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    /**
+     * A file of {@code count} questions named prefix0, prefix1, ...; a truncated file breaks off after them
+     */
+    private static String json(String prefix, int count, boolean truncated) {
+        List<String> entries = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            entries.add("{\"question\":\"" + prefix + i + "\",\"options\":[{\"key\":\"A\",\"text\":\"a\"}],"
+                    + "\"answer\":\"A\",\"explanation\":\"\",\"difficulty\":1,\"area\":\"Area\","
+                    + "\"skill\":\"Skill\",\"degree\":\"mid\"}");
+        }
+        if (truncated) {
+            entries.add("{\"question\": ");
+            return "{\"questions\":[" + String.join(",", entries);
+        }
+        return "{\"questions\":[" + String.join(",", entries) + "]}";
+    }
+}
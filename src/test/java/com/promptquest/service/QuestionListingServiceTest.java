@@ -0,0 +1,167 @@
+package com.promptquest.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.promptquest.SqliteSpringBootTest;
+import com.promptquest.dto.QuestionPage;
+import com.promptquest.dto.QuestionView;
+import com.promptquest.dto.QuizQuestionView;
+import com.promptquest.entity.Question;
+import com.promptquest.repository.QuestionBulkWriter;
+import com.promptquest.repository.QuestionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Keyset pagination: walking the cursors, or streaming NDJSON page by page, must
+ * visit every question exactly once, in id order.
+ */
+class QuestionListingServiceTest extends SqliteSpringBootTest {
+
+    @Autowired
+    private QuestionListingService listingService;
+
+    @Autowired
+    private QuestionBulkWriter bulkWriter;
+
+    @Autowired
+    private QuestionRepository questionRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final List<Long> ids = new ArrayList<>();
+
+    @BeforeEach
+    void createQuestions() {
+        questionRepository.deleteAll();
+        List<Question> questions = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            questions.add(new Question("Question " + i, "a", "b", "c", "d", "A", "Because", i % 5 + 1,
+                    "Area", "Skill", "mid"));
+        }
+        bulkWriter.insert(questions);
+        questions.forEach(question -> ids.add(question.getId()));
+    }
+
+    @Test
+    void walksEveryQuestionOnceInIdOrder() {
+        List<Long> visited = new ArrayList<>();
+        long after = 0;
+        int pages = 0;
+        while (true) {
+            QuestionPage<?> page = listingService.getPage(after, 10, true);
+            pages++;
+            for (Object item : page.items()) {
+                visited.add(((QuestionView) item).id());
+            }
+            if (page.nextCursor() == null) {
+                assertTrue(page.items().size() < 10);
+                break;
+            }
+            assertEquals(visited.get(visited.size() - 1), page.nextCursor());
+            after = page.nextCursor();
+        }
+        assertEquals(ids, visited);
+        assertEquals(3, pages);
+    }
+
+    @Test
+    void cursorInsideRangeStartsAfterIt() {
+        long after = ids.get(4);
+        QuestionPage<?> page = listingService.getPage(after, 3, true);
+
+        assertEquals(List.of(ids.get(5), ids.get(6), ids.get(7)),
+                page.items().stream().map(item -> ((QuestionView) item).id()).toList());
+        assertEquals(ids.get(7), page.nextCursor());
+    }
+
+    @Test
+    void fullLastPageIsFollowedByEmptyPage() {
+        QuestionPage<?> page = listingService.getPage(ids.get(19), 5, true);
+        assertEquals(5, page.items().size());
+        assertEquals(ids.get(24), page.nextCursor());
+
+        QuestionPage<?> last = listingService.getPage(page.nextCursor(), 5, true);
+        assertTrue(last.items().isEmpty());
+        assertNull(last.nextCursor());
+    }
+
+    @Test
+    void pageSizeIsClamped() {
+        assertEquals(1, listingService.getPage(0, 0, true).items().size());
+        assertEquals(25, listingService.getPage(0, QuestionListingService.MAX_PAGE_SIZE + 1, true).items().size());
+    }
+
+    @Test
+    void quizProjectionOmitsAnswers() {
+        QuestionPage<?> page = listingService.getPage(0, 5, false);
+        assertEquals(5, page.items().size());
+        page.items().forEach(item -> assertInstanceOf(QuizQuestionView.class, item));
+        assertEquals(ids.get(4), page.nextCursor());
+    }
+
+    @Test
+    void ndjsonCrossesPageBoundaries() throws IOException {
+        addQuestions(2 * QuestionListingService.NDJSON_PAGE_SIZE - ids.size());
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        listingService.writeNdjson(out, false);
+
+        List<Long> written = new ArrayList<>();
+        for (String line : out.toString(StandardCharsets.UTF_8).split("\n")) {
+            JsonNode question = objectMapper.readTree(line);
+            assertFalse(question.has("correctAnswer"));
+            written.add(question.get("id").asLong());
+        }
+        assertEquals(ids, written);
+    }
+
+    @Test
+    void ndjsonHoldsNoTransactionWhileWriting() throws IOException {
+        // Enough rows to overflow the 64 KiB output buffer several times, so the client sees writes mid-download
+        addQuestions(3 * QuestionListingService.NDJSON_PAGE_SIZE);
+        List<Boolean> transactionActive = new ArrayList<>();
+        OutputStream client = new OutputStream() {
+            @Override
+            public void write(int b) {
+                transactionActive.add(TransactionSynchronizationManager.isActualTransactionActive());
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) {
+                transactionActive.add(TransactionSynchronizationManager.isActualTransactionActive());
+            }
+        };
+
+        listingService.writeNdjson(client, true);
+
+        assertTrue(transactionActive.size() > 1);
+        assertFalse(transactionActive.contains(true));
+    }
+
+    private void addQuestions(int count) {
+        List<Question> questions = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            questions.add(new Question("Extra question " + i, "a", "b", "c", "d", "A", "Because", i % 5 + 1,
+                    "Area", "Skill", "mid"));
+        }
+        bulkWriter.insert(questions);
+        questions.forEach(question -> ids.add(question.getId()));
+    }
+}
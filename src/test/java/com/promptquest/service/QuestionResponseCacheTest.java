@@ -0,0 +1,42 @@
+package com.promptquest.service;
+
+import org.junit.jupiter.api.Test;
+
+import static com.promptquest.service.QuestionResponseCache.CachedResponse.acceptsGzip;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class QuestionResponseCacheTest {
+
+    @Test
+    void acceptsGzipWhenListed() {
+        assertTrue(acceptsGzip("gzip"));
+        assertTrue(acceptsGzip("deflate, gzip, br"));
+        assertTrue(acceptsGzip("GZIP;q=0.5"));
+        assertTrue(acceptsGzip("br;q=1.0, gzip;q=0.001"));
+    }
+
+    @Test
+    void refusesGzipWithZeroQuality() {
+        assertFalse(acceptsGzip("gzip;q=0"));
+        assertFalse(acceptsGzip("gzip; q=0.0, identity"));
+        assertFalse(acceptsGzip("gzip;q=0, *"));
+        assertFalse(acceptsGzip("gzip;q=invalid"));
+    }
+
+    @Test
+    void fallsBackToWildcard() {
+        assertTrue(acceptsGzip("*"));
+        assertTrue(acceptsGzip("br, *;q=0.1"));
+        assertFalse(acceptsGzip("*;q=0"));
+        assertTrue(acceptsGzip("gzip, *;q=0"));
+    }
+
+    @Test
+    void refusesGzipWhenAbsent() {
+        assertFalse(acceptsGzip(null));
+        assertFalse(acceptsGzip(""));
+        assertFalse(acceptsGzip("identity"));
+        assertFalse(acceptsGzip("x-gzipped, br"));
+    }
+}
@@ -0,0 +1,95 @@
+package com.promptquest.service;
+
+import com.promptquest.dto.QuestionView;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class QuestionSamplerTest {
+
+    private static final String[] SKILLS = {"Java", "SQL", "Python"};
+    private static final String[] DEGREES = {"Bachelor", "Master"};
+
+    private final List<QuestionView> questions = questions(300);
+    private final QuestionSampler sampler = QuestionSampler.build(questions);
+
+    @Test
+    void samplesDistinctMatchingPositions() {
+        SplittableRandom random = new SplittableRandom(1);
+        for (int round = 0; round < 200; round++) {
+            int[] sample = sampler.sample("java", 3, null, 7, random);
+            assertEquals(7, sample.length);
+            assertEquals(7, distinct(sample).size());
+            for (int position : sample) {
+                QuestionView q = questions.get(position);
+                assertEquals("Java", q.skill());
+                assertEquals(3, q.difficulty());
+            }
+        }
+    }
+
+    @Test
+    void returnsAllMatchesWhenFewerThanRequested() {
+        int matching = sampler.count("sql", 5, "master");
+        assertTrue(matching > 0);
+
+        int[] sample = sampler.sample("SQL", 5, "Master", matching + 10, new SplittableRandom(2));
+        assertEquals(matching, sample.length);
+        int[] sorted = sample.clone();
+        Arrays.sort(sorted);
+        assertArrayEquals(sampler.positions("sql", 5, "master"), sorted);
+    }
+
+    @Test
+    void returnsNothingWithoutMatches() {
+        assertEquals(0, sampler.sample("Rust", null, null, 10, new SplittableRandom(3)).length);
+        assertEquals(0, sampler.sample("Java", null, null, 0, new SplittableRandom(3)).length);
+        assertEquals(0, sampler.sample("Java", null, null, -1, new SplittableRandom(3)).length);
+    }
+
+    @Test
+    void coversEveryPositionAcrossBuckets() {
+        // Without a filter every bucket takes part, so repeated draws must reach every question
+        Set<Integer> seen = new HashSet<>();
+        SplittableRandom random = new SplittableRandom(4);
+        for (int round = 0; round < 500 && seen.size() < questions.size(); round++) {
+            for (int position : sampler.sample(null, null, null, 20, random)) {
+                seen.add(position);
+            }
+        }
+        assertEquals(questions.size(), seen.size());
+    }
+
+    @Test
+    void sameSeedGivesSameSample() {
+        int[] first = sampler.sample(null, 2, null, 15, new SplittableRandom(42));
+        int[] second = QuestionSampler.build(questions).sample(null, 2, null, 15, new SplittableRandom(42));
+        assertArrayEquals(first, second);
+    }
+
+    private static Set<Integer> distinct(int[] values) {
+        Set<Integer> set = new HashSet<>();
+        for (int value : values) {
+            set.add(value);
+        }
+        return set;
+    }
+
+    private static List<QuestionView> questions(int count) {
+        List<QuestionView> result = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            result.add(new QuestionView((long) i + 1, "Question " + i, "a", "b", "c", "d", "A", null, "Area",
+                    SKILLS[i % SKILLS.length], i % 5 + 1, DEGREES[i % DEGREES.length]));
+        }
+        return result;
+    }
+}
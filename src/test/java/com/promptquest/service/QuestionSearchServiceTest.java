@@ -0,0 +1,211 @@
+package com.promptquest.service;
+
+import com.promptquest.SqliteSpringBootTest;
+import com.promptquest.dto.ImportSummary;
+import com.promptquest.dto.QuestionSearchHit;
+import com.promptquest.dto.QuestionSearchResult;
+import com.promptquest.entity.Question;
+import com.promptquest.repository.QuestionBulkWriter;
+import com.promptquest.repository.QuestionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The FTS5 index must follow every write path to the questions table, and
+ * user input must only ever be matched as literal (or prefix) terms.
+ */
+class QuestionSearchServiceTest extends SqliteSpringBootTest {
+
+    @Autowired
+    private QuestionSearchService searchService;
+
+    @Autowired
+    private QuestionRepository questionRepository;
+
+    @Autowired
+    private QuestionBulkWriter bulkWriter;
+
+    @Autowired
+    private JsonImportService jsonImportService;
+
+    @BeforeEach
+    void clearQuestions() {
+        questionRepository.deleteAll();
+        assertTrue(searchService.isAvailable());
+    }
+
+    @Test
+    void indexesJpaAndBulkInserts() {
+        questionRepository.save(question("What does a quokka eat?", "Java", 1, "junior"));
+        bulkWriter.insert(List.of(question("Where does a quokka live?", "Java", 2, "mid"),
+                question("Where does a wombat live?", "Java", 2, "mid")));
+
+        assertEquals(2, ids("quokka").size());
+        assertEquals(1, ids("wombat").size());
+    }
+
+    @Test
+    void reindexesUpdatedQuestions() {
+        Question saved = questionRepository.save(question("Explain the axolotl pattern", "Java", 3, "mid"));
+        saved.setQuestion("Explain the platypus pattern");
+        questionRepository.save(saved);
+
+        assertTrue(ids("axolotl").isEmpty());
+        assertEquals(List.of(saved.getId()), ids("platypus"));
+    }
+
+    @Test
+    void removesDeletedQuestions() {
+        Question single = questionRepository.save(question("Meaning of narwhal", "Java", 3, "mid"));
+        List<Question> batch = List.of(question("Batch narwhal one", "Java", 3, "mid"),
+                question("Batch narwhal two", "Java", 3, "mid"));
+        bulkWriter.insert(batch);
+        assertEquals(3, ids("narwhal").size());
+
+        questionRepository.delete(single);
+        assertEquals(2, ids("narwhal").size());
+
+        questionRepository.deleteAllByIdInBatch(List.of(batch.get(0).getId(), batch.get(1).getId()));
+        assertTrue(ids("narwhal").isEmpty());
+    }
+
+    @Test
+    void followsDeltaImports() {
+        jsonImportService.importDelta(json(
+                entry("Capital of Freedonia?", "Ask the pelican"),
+                entry("Capital of Sylvania?", "Ask the flamingo")), "first");
+        assertEquals(1, ids("pelican").size());
+
+        // Same identity with a new explanation is updated in place; the missing question is removed
+        ImportSummary summary = jsonImportService.importDelta(json(
+                entry("Capital of Freedonia?", "Ask the cormorant")), "second");
+
+        assertEquals(1, summary.changed());
+        assertEquals(1, summary.removed());
+        assertTrue(ids("pelican").isEmpty());
+        assertTrue(ids("flamingo").isEmpty());
+        assertEquals(1, ids("cormorant").size());
+    }
+
+    @Test
+    void matchesPrefixTermsOnlyWithStar() {
+        bulkWriter.insert(List.of(question("What is recursion?", "Java", 1, "mid"),
+                question("Is this recursive?", "Java", 1, "mid"),
+                question("What is a loop?", "Java", 1, "mid")));
+
+        assertEquals(2, ids("recurs*").size());
+        assertTrue(ids("recurs").isEmpty());
+        // Prefixes shorter than the prefix indexes still work
+        assertEquals(2, ids("r*").size());
+    }
+
+    @Test
+    void requiresAllTerms() {
+        bulkWriter.insert(List.of(question("Stack and heap", "Java", 1, "mid"),
+                question("Stack only", "Java", 1, "mid")));
+
+        assertEquals(1, ids("stack heap").size());
+        assertEquals(2, ids("stack").size());
+    }
+
+    @Test
+    void treatsQuerySyntaxAsLiteralText() {
+        bulkWriter.insert(List.of(question("Java or Python for scripting?", "Java", 1, "mid"),
+                question("Python for data", "Python", 1, "mid")));
+
+        // OR, NEAR, column filters and stray quotes are not operators
+        assertEquals(1, ids("java OR python").size());
+        assertTrue(ids("NEAR(java python)").isEmpty());
+        assertTrue(ids("question:scripting").isEmpty());
+        assertEquals(1, ids("\"scripting").size());
+        assertEquals(2, ids("py\"thon*").size());
+        assertEquals(2, ids("\"python\"").size());
+    }
+
+    @Test
+    void quotesEveryTerm() {
+        assertEquals("\"a\" AND \"b\"", QuestionSearchService.toMatchExpression("  a   b "));
+        assertEquals("\"recurs\"*", QuestionSearchService.toMatchExpression("recurs*"));
+        assertEquals("\"abc\"*", QuestionSearchService.toMatchExpression("a\"b*c*"));
+        assertEquals("\"OR\" AND \"x\"", QuestionSearchService.toMatchExpression("OR x"));
+        assertThrows(IllegalArgumentException.class, () -> QuestionSearchService.toMatchExpression("\" * \"\""));
+        assertThrows(IllegalArgumentException.class, () -> QuestionSearchService.toMatchExpression(null));
+    }
+
+    @Test
+    void combinesFilters() {
+        bulkWriter.insert(List.of(question("Gecko one", "Java", 1, "junior"),
+                question("Gecko two", "Java", 2, "senior"),
+                question("Gecko three", "SQL", 2, "senior"),
+                question("Gecko four", "SQL", 1, "junior")));
+
+        assertEquals(4, hits("gecko", null, null, null).size());
+        assertEquals(2, hits("gecko", "JAVA", null, null).size());
+        assertEquals(2, hits("gecko", null, 2, null).size());
+        assertEquals(2, hits("gecko", null, null, "Junior").size());
+        assertEquals(1, hits("gecko", "sql", 2, null).size());
+        assertEquals(1, hits("gecko", "sql", null, "junior").size());
+        assertEquals(List.of("Gecko two"), hits("gecko", "java", 2, "senior").stream()
+                .map(QuestionSearchHit::question).toList());
+        assertTrue(hits("gecko", "java", 1, "senior").isEmpty());
+    }
+
+    @Test
+    void ranksQuestionTextAboveExplanation() {
+        Question inExplanation = question("Which animal?", "Java", 1, "mid");
+        inExplanation.setExplanation("The ibis");
+        Question inQuestion = question("Is the ibis a bird?", "Java", 1, "mid");
+        bulkWriter.insert(List.of(inExplanation, inQuestion));
+
+        List<QuestionSearchHit> hits = hits("ibis", null, null, null);
+        assertEquals(List.of(inQuestion.getId(), inExplanation.getId()), hits.stream().map(QuestionSearchHit::id).toList());
+        assertTrue(hits.get(0).score() > hits.get(1).score());
+    }
+
+    @Test
+    void pagesWithHasMore() {
+        bulkWriter.insert(List.of(question("Lemur 1", "Java", 1, "mid"), question("Lemur 2", "Java", 1, "mid"),
+                question("Lemur 3", "Java", 1, "mid")));
+
+        QuestionSearchResult first = searchService.search("lemur", null, null, null, 2, 0);
+        assertEquals(2, first.hits().size());
+        assertTrue(first.hasMore());
+
+        QuestionSearchResult second = searchService.search("lemur", null, null, null, 2, 2);
+        assertEquals(1, second.hits().size());
+        assertFalse(second.hasMore());
+    }
+
+    private List<Long> ids(String query) {
+        return hits(query, null, null, null).stream().map(QuestionSearchHit::id).toList();
+    }
+
+    private List<QuestionSearchHit> hits(String query, String skill, Integer difficulty, String degree) {
+        return searchService.search(query, skill, difficulty, degree, 100, 0).hits();
+    }
+
+    private static Question question(String text, String skill, int difficulty, String degree) {
+        return new Question(text, "a", "b", "c", "d", "A", null, difficulty, "Area", skill, degree);
+    }
+
+    private static String entry(String question, String explanation) {
+        return "{\"question\":\"" + question + "\",\"options\":[{\"key\":\"A\",\"text\":\"a\"},"
+                + "{\"key\":\"B\",\"text\":\"b\"}],\"answer\":\"A\",\"explanation\":\"" + explanation
+                + "\",\"difficulty\":2,\"area\":\"Geography\",\"skill\":\"Geography\",\"degree\":\"junior\"}";
+    }
+
+    private static ByteArrayInputStream json(String... entries) {
+        String document = "{\"questions\":[" + String.join(",", entries) + "]}";
+        return new ByteArrayInputStream(document.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,88 @@
+package com.promptquest.service;
+
+import com.promptquest.dto.QuestionGroupCount;
+import com.promptquest.repository.CatalogStateRepository;
+import com.promptquest.repository.QuestionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Deltas are applied only on top of the data version they follow; anything
+ * else is ignored or reloaded so that no row is counted twice
+ */
+class QuestionStatisticsServiceTest {
+
+    private final QuestionRepository questionRepository = mock(QuestionRepository.class);
+    private final CatalogStateRepository catalogStateRepository = mock(CatalogStateRepository.class);
+    private final QuestionStatisticsService service =
+            new QuestionStatisticsService(mock(PlatformTransactionManager.class));
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(service, "questionRepository", questionRepository);
+        ReflectionTestUtils.setField(service, "catalogStateRepository", catalogStateRepository);
+        stored(5, 10);
+        service.getStatistics();
+    }
+
+    @Test
+    void appliesDeltaOfTheNextVersion() {
+        service.apply(QuestionsChangedEvent.imported(List.of(group(3))), 6);
+
+        assertEquals(13L, total());
+        verify(questionRepository, times(1)).countGroupedBySkillAreaDegreeDifficulty();
+    }
+
+    @Test
+    void ignoresChangesAlreadyLoaded() {
+        // The import committed version 5 before the counters were loaded, its event arrives afterwards
+        service.apply(QuestionsChangedEvent.imported(List.of(group(10))), 5);
+
+        assertEquals(10L, total());
+        verify(questionRepository, times(1)).countGroupedBySkillAreaDegreeDifficulty();
+    }
+
+    @Test
+    void reloadsAfterAGap() {
+        stored(7, 16);
+        service.apply(QuestionsChangedEvent.imported(List.of(group(3))), 7);
+
+        assertEquals(16L, total());
+        // Version 6 came with the reload, so its late event changes nothing
+        service.apply(QuestionsChangedEvent.imported(List.of(group(3))), 6);
+        assertEquals(16L, total());
+    }
+
+    @Test
+    void reloadsWhenTheVersionIsUnknown() {
+        stored(9, 20);
+        service.apply(QuestionsChangedEvent.replaced(List.of(group(4))), -1);
+
+        assertEquals(20L, total());
+        service.apply(QuestionsChangedEvent.clear(), 10);
+        assertEquals(0L, total());
+    }
+
+    private void stored(long dataVersion, long count) {
+        when(catalogStateRepository.getState()).thenReturn(new CatalogStateRepository.State(dataVersion, null));
+        when(questionRepository.countGroupedBySkillAreaDegreeDifficulty()).thenReturn(List.of(group(count)));
+    }
+
+    private long total() {
+        return (long) service.getStatistics().get("totalQuestions");
+    }
+
+    private static QuestionGroupCount group(long count) {
+        return new QuestionGroupCount("Java", "Programming", "mid", 2, count);
+    }
+}
@@ -0,0 +1,187 @@
+package com.promptquest.service;
+
+import com.promptquest.dto.GeneratedTest;
+import com.promptquest.dto.QuestionView;
+import com.promptquest.dto.QuizQuestionView;
+import com.promptquest.dto.TestBlueprint;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Runs against a catalog snapshot built in memory, so these tests need no application context
+ */
+class TestGenerationServiceTest {
+
+    private static final String[] SKILLS = {"Java", "SQL", "Python"};
+    private static final String[] DEGREES = {"junior", "mid", "senior"};
+
+    private final TestGenerationService service = new TestGenerationService();
+    private final List<QuestionView> bank = questions(90);
+
+    @BeforeEach
+    void setUp() {
+        QuestionCatalog catalog = new QuestionCatalog(mock(PlatformTransactionManager.class));
+        ReflectionTestUtils.setField(catalog, "snapshot", new QuestionCatalog.Snapshot(1, bank));
+        ReflectionTestUtils.setField(service, "questionCatalog", catalog);
+    }
+
+    @Test
+    void noQuestionIsUsedByTwoSlots() {
+        TestBlueprint blueprint = new TestBlueprint(List.of(
+                slot("any", null, null, null, null, 60),
+                slot("java", List.of("java"), 2, 4, null, 15),
+                slot("senior", null, null, null, List.of("senior"), 15)), null, 7L);
+
+        GeneratedTest test = service.generate(blueprint);
+
+        assertEquals(90, test.requested());
+        assertEquals(90, test.filled());
+        assertEquals(90, ids(test.questions()).size());
+        Set<Long> seen = new HashSet<>();
+        for (GeneratedTest.SlotResult slot : test.slots()) {
+            assertEquals(0, slot.shortfall());
+            for (Long id : slot.questionIds()) {
+                assertTrue(seen.add(id), () -> "Question " + id + " used twice");
+            }
+        }
+    }
+
+    @Test
+    void slotsOnlyGetMatchingQuestions() {
+        TestBlueprint blueprint = new TestBlueprint(List.of(
+                slot("python", List.of("PYTHON"), 2, 3, List.of("Senior"), 5)), null, 1L);
+
+        GeneratedTest.SlotResult slot = service.generate(blueprint).slots().get(0);
+        assertEquals(5, slot.filled());
+        for (Long id : slot.questionIds()) {
+            QuestionView q = bank.get((int) (id - 1));
+            assertEquals("Python", q.skill());
+            assertTrue(q.difficulty() >= 2 && q.difficulty() <= 3);
+            assertEquals("senior", q.degree());
+        }
+    }
+
+    @Test
+    void excludedQuestionsAreNeverPicked() {
+        List<Long> excluded = new ArrayList<>();
+        for (long id = 1; id <= 45; id++) {
+            excluded.add(id);
+        }
+        TestBlueprint blueprint = new TestBlueprint(List.of(slot("any", null, null, null, null, 90)),
+                excluded, 3L);
+
+        GeneratedTest test = service.generate(blueprint);
+
+        assertEquals(45, test.filled());
+        for (Long id : test.slots().get(0).questionIds()) {
+            assertFalse(excluded.contains(id));
+        }
+        assertEquals(45, test.slots().get(0).shortfall());
+    }
+
+    @Test
+    void reportsShortfallWhenPoolIsTooSmall() {
+        // Skills and degrees cycle in step, so every SQL question is a mid one
+        TestBlueprint blueprint = new TestBlueprint(List.of(
+                slot("sql senior", List.of("sql"), null, null, List.of("senior"), 5),
+                slot("sql", List.of("sql"), null, null, null, 40)), null, 5L);
+
+        GeneratedTest test = service.generate(blueprint);
+
+        GeneratedTest.SlotResult senior = test.slots().get(0);
+        assertEquals(0, senior.available());
+        assertEquals(0, senior.filled());
+        assertEquals(5, senior.shortfall());
+
+        GeneratedTest.SlotResult sql = test.slots().get(1);
+        assertEquals(30, sql.available());
+        assertEquals(30, sql.filled());
+        assertEquals(10, sql.shortfall());
+        assertEquals(45, test.requested());
+        assertEquals(30, test.filled());
+    }
+
+    @Test
+    void narrowSlotsAreFilledBeforeBroadOnes() {
+        // Listed first, the broad slot could take every Python question the narrow slot needs
+        TestBlueprint blueprint = new TestBlueprint(List.of(
+                slot("any", null, null, null, null, 60),
+                slot("python", List.of("python"), null, null, null, 30)), null, 11L);
+
+        GeneratedTest test = service.generate(blueprint);
+
+        assertEquals(30, test.slots().get(1).filled());
+        assertEquals(60, test.slots().get(0).filled());
+    }
+
+    @Test
+    void sameSeedGivesSameTest() {
+        TestBlueprint blueprint = new TestBlueprint(List.of(
+                slot("java", List.of("java"), null, null, null, 10),
+                slot("any", null, null, null, null, 20)), List.of(2L, 3L), 42L);
+
+        assertEquals(ids(service.generate(blueprint).questions()), ids(service.generate(blueprint).questions()));
+    }
+
+    @Test
+    void rejectsSlotCountsWhoseSumOverflows() {
+        TestBlueprint blueprint = new TestBlueprint(List.of(slot(Integer.MAX_VALUE), slot(Integer.MAX_VALUE)),
+                null, null);
+        assertThrows(IllegalArgumentException.class, () -> service.generate(blueprint));
+    }
+
+    @Test
+    void rejectsSingleSlotAboveLimit() {
+        TestBlueprint blueprint = new TestBlueprint(List.of(slot(TestGenerationService.MAX_QUESTIONS + 1)),
+                null, null);
+        assertThrows(IllegalArgumentException.class, () -> service.generate(blueprint));
+    }
+
+    @Test
+    void rejectsTotalAboveLimit() {
+        int half = TestGenerationService.MAX_QUESTIONS / 2 + 1;
+        TestBlueprint blueprint = new TestBlueprint(List.of(slot(half), slot(half)), null, null);
+        assertThrows(IllegalArgumentException.class, () -> service.generate(blueprint));
+    }
+
+    @Test
+    void rejectsNegativeSlotCount() {
+        TestBlueprint blueprint = new TestBlueprint(List.of(slot(-1)), null, null);
+        assertThrows(IllegalArgumentException.class, () -> service.generate(blueprint));
+    }
+
+    private static TestBlueprint.Slot slot(int count) {
+        return slot(null, null, null, null, null, count);
+    }
+
+    private static TestBlueprint.Slot slot(String label, List<String> skills, Integer minDifficulty,
+                                           Integer maxDifficulty, List<String> degrees, int count) {
+        return new TestBlueprint.Slot(label, skills, minDifficulty, maxDifficulty, degrees, count);
+    }
+
+    private static List<Long> ids(List<QuizQuestionView> questions) {
+        return questions.stream().map(QuizQuestionView::id).distinct().toList();
+    }
+
+    private static List<QuestionView> questions(int count) {
+        List<QuestionView> result = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            result.add(new QuestionView((long) i + 1, "Question " + i, "a", "b", "c", "d", "A", null, "Area",
+                    SKILLS[i % SKILLS.length], i % 5 + 1, DEGREES[i % DEGREES.length]));
+        }
+        return result;
+    }
+}